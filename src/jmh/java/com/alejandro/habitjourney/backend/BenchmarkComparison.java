@@ -0,0 +1,159 @@
+package com.alejandro.habitjourney.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara dos resultados JMH en JSON ({@code -rf json}): una línea base grabada en la misma máquina
+ * y la última ejecución. La línea base no se versiona (ver el perfil {@code jmh} del pom), porque los
+ * tiempos de otra máquina no sirven de referencia.
+ * <p>
+ * Para cada benchmark (con sus parámetros) muestra la puntuación de ambos con su error, la variación
+ * y, si se midió con {@code -prof gc}, los bytes reservados por operación. Una variación a peor mayor
+ * que el umbral cuenta como regresión solo si los intervalos de error no se solapan, para no tomar
+ * el ruido por un cambio real. Por eso una línea base cuyo error supera el umbral no puede detectar
+ * regresiones: esos benchmarks se marcan como ruidosos y se avisa de que hay que volver a grabarla.
+ * Termina con código 1 si hay alguna regresión y con 2 si no hay línea base.
+ * <p>
+ * Uso: {@code mvn -Pjmh test-compile exec:exec@compare [-Djmh.baseline.file=...] [-Djmh.result.file=...]
+ * [-Djmh.threshold=10]}.
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    /**
+     * Resultado de un benchmark: puntuación, error, unidad, modo y bytes por operación (o NaN).
+     */
+    record Result(String mode, double score, double error, String unit, double allocation) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BenchmarkComparison <línea base.json> <resultado.json> [umbral %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Path baselineFile = Path.of(args[0]);
+        if (!Files.isRegularFile(baselineFile)) {
+            System.err.printf(Locale.ROOT, "No hay línea base en %s; el repositorio no incluye ninguna.%n"
+                    + "Grábala en esta máquina, sin otra carga: mvn -Pjmh test-compile exec:exec "
+                    + "-Djmh.args=\"-f 3 -wi 5 -i 10 -prof gc\" -Djmh.result.file=jmh-baseline.json%n", baselineFile);
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(baselineFile);
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        System.out.printf(Locale.ROOT, "%-70s %6s %22s %22s %9s %21s  %s%n",
+                "Benchmark", "Modo", "Línea base", "Actual", "Cambio", "B/op (base -> act.)", "");
+        int regressions = 0;
+        int noisy = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null || !before.mode().equals(now.mode()) || !before.unit().equals(now.unit())) {
+                System.out.printf(Locale.ROOT, "%-70s %6s %22s %22s %9s %21s  %s%n", entry.getKey(), now.mode(),
+                        "-", format(now), "-", allocation(null, now), "NUEVO");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            double worsening = before.higherIsBetter() ? -change : change;
+            boolean separated = before.higherIsBetter()
+                    ? now.score() + now.error() < before.score() - before.error()
+                    : now.score() - now.error() > before.score() + before.error();
+            String verdict;
+            if (before.error() > before.score() * threshold / 100) {
+                verdict = "RUIDOSA";
+                noisy++;
+            } else if (worsening > threshold && separated) {
+                verdict = "REGRESIÓN";
+                regressions++;
+            } else if (-worsening > threshold) {
+                verdict = "mejora";
+            } else {
+                verdict = "";
+            }
+            System.out.printf(Locale.ROOT, "%-70s %6s %22s %22s %+8.1f%% %21s  %s%n", entry.getKey(), now.mode(),
+                    format(before), format(now), change, allocation(before, now), verdict);
+        }
+        long missing = baseline.keySet().stream().filter(key -> !current.containsKey(key)).count();
+        if (missing > 0) {
+            System.out.printf(Locale.ROOT, "%d benchmarks de la línea base no se han ejecutado esta vez%n", missing);
+        }
+
+        if (noisy > 0) {
+            System.out.printf(Locale.ROOT, "%d benchmarks tienen en la línea base un error mayor del %.0f%% y no pueden "
+                    + "detectar regresiones; vuelve a grabarla en una máquina estable con más iteraciones%n",
+                    noisy, threshold);
+        }
+        if (regressions > 0) {
+            System.out.printf(Locale.ROOT, "%d regresiones por encima del %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf(Locale.ROOT, "Sin regresiones por encima del %.0f%%%n", threshold);
+    }
+
+    /**
+     * Lee un fichero de resultados JMH, indexado por nombre corto del benchmark y parámetros.
+     */
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            JsonNode primary = run.path("primaryMetric");
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            results.put(key(run), new Result(run.path("mode").asText(),
+                    primary.path("score").asDouble(), errorOf(primary), primary.path("scoreUnit").asText(),
+                    allocation.isMissingNode() ? Double.NaN : allocation.path("score").asDouble()));
+        }
+        return results;
+    }
+
+    private static String key(JsonNode run) {
+        String benchmark = run.path("benchmark").asText();
+        String[] parts = benchmark.split("\\.");
+        StringBuilder key = new StringBuilder(parts.length >= 2
+                ? parts[parts.length - 2] + "." + parts[parts.length - 1] : benchmark);
+        Map<String, String> params = new TreeMap<>();
+        run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        if (!params.isEmpty()) {
+            key.append(params.toString().replace('{', '[').replace('}', ']'));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Error de la puntuación; JMH lo deja en NaN con una sola iteración de medida.
+     */
+    private static double errorOf(JsonNode primary) {
+        double error = primary.path("scoreError").asDouble(Double.NaN);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(Result result) {
+        return String.format(Locale.ROOT, "%.3f ± %.3f %s", result.score(), result.error(), result.unit());
+    }
+
+    private static String allocation(Result before, Result now) {
+        if (Double.isNaN(now.allocation())) {
+            return "";
+        }
+        return before == null || Double.isNaN(before.allocation())
+                ? String.format(Locale.ROOT, "%.0f", now.allocation())
+                : String.format(Locale.ROOT, "%.0f -> %.0f", before.allocation(), now.allocation());
+    }
+}
@@ -0,0 +1,89 @@
+package com.alejandro.habitjourney.backend.common.exception;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import com.alejandro.habitjourney.backend.common.dto.ErrorResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coste de las rutas 404 (usuario inexistente) y 409 (email duplicado): lanzar la excepción de dominio
+ * desde una pila de profundidad realista y traducirla en {@link GlobalExceptionHandler}.
+ * {@code stackfulException} reproduce el coste anterior, con una excepción que captura la traza.
+ * El log del manejador se desactiva para medir la ruta y no la E/S de consola.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "--enable-preview")
+public class ExceptionPathBenchmark {
+
+    /**
+     * Marcos de pila entre el punto que lanza y el manejador (filtros, proxies, controlador, servicio).
+     */
+    @Param({"10", "80"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.ERROR);
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> userNotFound404() {
+        try {
+            throwAt(depth, () -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
+            return null;
+        } catch (UserNotFoundException e) {
+            return handler.handleUserNotFoundException(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> emailExists409() {
+        try {
+            throwAt(depth, () -> new EmailAlreadyExistsException(ErrorMessages.EMAIL_EXISTS));
+            return null;
+        } catch (EmailAlreadyExistsException e) {
+            return handler.handleEmailAlreadyExistsException(e);
+        }
+    }
+
+    @Benchmark
+    public RuntimeException stackfulException() {
+        try {
+            throwAt(depth, () -> new IllegalStateException(ErrorMessages.USER_NOT_FOUND));
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+}
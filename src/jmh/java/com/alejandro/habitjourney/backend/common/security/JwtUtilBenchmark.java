@@ -0,0 +1,89 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.alejandro.habitjourney.backend.user.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ruta de autenticación por JWT: generar el token en el login, validarlo y extraer sus claims en cada
+ * petición, y construir el {@link UserDetailsImpl} que carga {@link JwtUtil#getAuthentication}.
+ * {@code validateTamperedToken} mide el rechazo de un token con la firma alterada.
+ * El log de {@link JwtUtil} se limita a INFO para medir la ruta y no la E/S de consola.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "--enable-preview")
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Authentication authentication;
+    private User user;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(JwtUtil.class)).setLevel(Level.INFO);
+        jwtUtil = new JwtUtil(null, new SecurityMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret",
+                Base64.getEncoder().encodeToString("clave-de-benchmark-de-32-bytes-o-mas!!".getBytes()));
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        jwtUtil.init();
+
+        user = new User(42L, "Jane Doe", "jane.doe@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6mZ6p4y5fJ0R8x5lB8i1hW.", LocalDateTime.now(), 3L, null, 0L);
+        UserDetailsImpl userDetails = UserDetailsImpl.buildUserDetails(user);
+        authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        token = jwtUtil.generateAccessToken(authentication);
+        char last = token.charAt(token.length() - 1);
+        tamperedToken = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return jwtUtil.validateToken(tamperedToken);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildUserDetails() {
+        return UserDetailsImpl.buildUserDetails(user);
+    }
+}
@@ -0,0 +1,144 @@
+package com.alejandro.habitjourney.backend.common.util;
+
+import com.alejandro.habitjourney.backend.auth.dto.RegisterRequestDTO;
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.apache.commons.validator.routines.EmailValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de validar un registro: las utilidades de servicio ({@link ValidationUtils}) y Bean Validation
+ * sobre el DTO, cada una frente a su versión anterior. La versión anterior de las utilidades
+ * ({@code toCharArray}, {@code String.format} y {@link EmailValidator} de commons-validator) y del DTO
+ * ({@code @Email} y {@code @Pattern} con lookaheads) se reproduce aquí.
+ * Ejecución: {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ValidationBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "--enable-preview")
+public class ValidationBenchmark {
+
+    /**
+     * {@code valid}: registro correcto; {@code invalid}: email sin dominio y contraseña sin especiales.
+     */
+    @Param({"valid", "invalid"})
+    private String input;
+
+    private String name;
+    private String email;
+    private String password;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private RegisterRequestDTO request;
+    private LegacyRegisterRequest legacyRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        name = "Juan Pérez";
+        email = "valid".equals(input) ? "juan.perez+habits@ejemplo.com" : "juan.perez@ejemplo";
+        password = "valid".equals(input) ? "Secreta123!" : "Secreta1234";
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = new RegisterRequestDTO(name, email, password);
+        legacyRequest = new LegacyRegisterRequest(name, email, password);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public void legacyUtilities(Blackhole blackhole) {
+        blackhole.consume(legacyValidateEmail(email));
+        blackhole.consume(legacyValidatePassword(password));
+        blackhole.consume(legacyValidateName(name));
+    }
+
+    @Benchmark
+    public void singlePassUtilities(Blackhole blackhole) {
+        blackhole.consume(ValidationUtils.validateEmail(email));
+        blackhole.consume(ValidationUtils.validatePassword(password));
+        blackhole.consume(ValidationUtils.validateName(name));
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<LegacyRegisterRequest>> legacyBeanValidation() {
+        return validator.validate(legacyRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegisterRequestDTO>> singlePassBeanValidation() {
+        return validator.validate(request);
+    }
+
+    private static String legacyValidatePassword(String password) {
+        if (password == null) return ErrorMessages.VALIDATION_PASSWORD_NULL;
+        if (password.length() < 6) return String.format(ErrorMessages.VALIDATION_PASSWORD_MIN_LENGTH, 6);
+        if (password.length() > 32) return String.format(ErrorMessages.VALIDATION_PASSWORD_MAX_LENGTH, 32);
+        boolean hasUpperCase = false;
+        boolean hasLowerCase = false;
+        boolean hasDigit = false;
+        boolean hasSpecialChar = false;
+        for (char c : password.toCharArray()) {
+            if (Character.isUpperCase(c)) hasUpperCase = true;
+            else if (Character.isLowerCase(c)) hasLowerCase = true;
+            else if (Character.isDigit(c)) hasDigit = true;
+            else hasSpecialChar = true;
+        }
+        if (!hasUpperCase) return ErrorMessages.VALIDATION_PASSWORD_UPPERCASE;
+        if (!hasLowerCase) return ErrorMessages.VALIDATION_PASSWORD_LOWERCASE;
+        if (!hasDigit) return ErrorMessages.VALIDATION_PASSWORD_DIGIT;
+        if (!hasSpecialChar) return ErrorMessages.VALIDATION_PASSWORD_SPECIAL_CHAR;
+        return null;
+    }
+
+    private static String legacyValidateEmail(String email) {
+        if (email == null || email.trim().isEmpty()) return ErrorMessages.VALIDATION_EMAIL_EMPTY;
+        if (!EmailValidator.getInstance().isValid(email)) return ErrorMessages.VALIDATION_EMAIL_FORMAT;
+        return null;
+    }
+
+    private static String legacyValidateName(String name) {
+        if (name == null || name.trim().isEmpty()) return ErrorMessages.VALIDATION_NAME_EMPTY;
+        if (name.length() < 2) return String.format(ErrorMessages.VALIDATION_NAME_MIN_LENGTH, 2);
+        return null;
+    }
+
+    /**
+     * Restricciones que tenía {@link RegisterRequestDTO} antes de la validación en una sola pasada.
+     */
+    public record LegacyRegisterRequest(
+            @NotBlank @Size(min = 2, max = 50) String name,
+            @NotBlank @Email String email,
+            @NotBlank
+            @Pattern(regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?]).{6,32}$")
+            String password) {
+    }
+}
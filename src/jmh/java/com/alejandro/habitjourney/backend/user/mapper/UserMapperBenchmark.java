@@ -0,0 +1,57 @@
+package com.alejandro.habitjourney.backend.user.mapper;
+
+import com.alejandro.habitjourney.backend.user.dto.UserDTO;
+import com.alejandro.habitjourney.backend.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Mapeo de entidades a DTOs con la implementación que genera MapStruct: un usuario
+ * ({@code GET /api/users/{id}}) y una página de 20 ({@code GET /api/users}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "--enable-preview")
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private User user;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        user = user(42L);
+        users = LongStream.rangeClosed(1, 20).mapToObj(UserMapperBenchmark::user).toList();
+    }
+
+    private static User user(long id) {
+        return new User(id, "Usuario " + id, "usuario" + id + "@example.com", "hash", LocalDateTime.now(), 0L, null, 0L);
+    }
+
+    @Benchmark
+    public UserDTO userToUserDTO() {
+        return userMapper.userToUserDTO(user);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+}
@@ -7,6 +7,7 @@ import com.alejandro.habitjourney.backend.auth.dto.RegisterResponseDTO;
 import com.alejandro.habitjourney.backend.auth.service.AuthService;
 import com.alejandro.habitjourney.backend.auth.service.AuthService.LoginResult;
 import com.alejandro.habitjourney.backend.common.constant.SuccessMessages;
+import com.alejandro.habitjourney.backend.common.datasource.QueryBudget;
 import com.alejandro.habitjourney.backend.user.dto.UserDTO;
 import com.alejandro.habitjourney.backend.user.mapper.UserMapper;
 import com.alejandro.habitjourney.backend.user.model.User;
@@ -53,6 +54,7 @@ public class AuthController {
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @PostMapping("/register")
+    @QueryBudget(2)
     public ResponseEntity<RegisterResponseDTO> registerUser(@Valid @RequestBody RegisterRequestDTO registerRequestDTO) {
         log.info("Solicitud de registro para usuario: {}", registerRequestDTO.getEmail());
         SecurityContextHolder.clearContext();
@@ -73,6 +75,7 @@ public class AuthController {
      * @return token JWT y datos del usuario
      */
     @PostMapping("/login")
+    @QueryBudget(2)
     @Operation(summary = "Iniciar sesión", description = "Autentica al usuario y devuelve un token JWT.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login exitoso"),
@@ -1,9 +1,9 @@
 package com.alejandro.habitjourney.backend.auth.dto;
 
+import com.alejandro.habitjourney.backend.common.validation.EmailAddress;
+import com.alejandro.habitjourney.backend.common.validation.PasswordPolicy;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -25,13 +25,12 @@ public class RegisterRequestDTO {
     private String name;
 
     @NotBlank(message = "El email es obligatorio")
-    @Email(message = "Debe ser una dirección de email válida")
+    @EmailAddress
     @Schema(description = "Email del usuario (usado como identificador)", example = "usuario@ejemplo.com")
     private String email;
 
     @NotBlank(message = "La contraseña es obligatoria")
-    @Pattern(regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?]).{6,32}$",
-            message = "La contraseña debe tener entre 6 y 32 caracteres, incluyendo al menos una mayúscula, una minúscula, un número y un carácter especial")
+    @PasswordPolicy
     @Schema(
             description = "Contraseña del usuario (mín. 6 caracteres, máx. 32, con mayúsculas, minúsculas, números y caracteres especiales)",
             example = "Pass123!"
@@ -1,8 +1,12 @@
 package com.alejandro.habitjourney.backend.auth.service;
 
+import com.alejandro.habitjourney.backend.common.audit.SecurityAuditEvent;
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.exception.*;
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordIndex;
+import com.alejandro.habitjourney.backend.common.security.DisposableDomainBlocklist;
 import com.alejandro.habitjourney.backend.common.security.JwtUtil;
+import com.alejandro.habitjourney.backend.common.security.UserDetailsImpl;
 import com.alejandro.habitjourney.backend.common.util.ValidationUtils;
 import com.alejandro.habitjourney.backend.auth.dto.LoginRequestDTO;
 import com.alejandro.habitjourney.backend.auth.dto.RegisterRequestDTO;
@@ -13,9 +17,11 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -36,6 +42,9 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BreachedPasswordIndex breachedPasswords;
+    private final DisposableDomainBlocklist disposableDomains;
 
     /**
      * Registra un nuevo usuario después de validar sus datos.
@@ -43,8 +52,8 @@ public class AuthService {
      * @param registerRequestDTO DTO con nombre, email y contraseña
      * @return DTO con mensaje y datos del usuario registrado
      * @throws EmailAlreadyExistsException si el email ya está registrado
-     * @throws InvalidEmailFormatException si el email no cumple con el formato válido
-     * @throws InvalidPasswordException    si la contraseña no cumple con los requisitos
+     * @throws InvalidEmailFormatException si el email no cumple con el formato válido o su dominio es desechable
+     * @throws InvalidPasswordException    si la contraseña no cumple con los requisitos o aparece en filtraciones conocidas
      * @throws InvalidNameException        si el nombre no es válido
      */
     @Transactional
@@ -52,7 +61,7 @@ public class AuthService {
         log.debug("Iniciando proceso de registro para: {}", registerRequestDTO.getEmail());
         SecurityContextHolder.clearContext();
         // Validaciones
-        String emailValidation = ValidationUtils.validateEmail(registerRequestDTO.getEmail());
+        String emailValidation = ValidationUtils.validateEmail(registerRequestDTO.getEmail(), disposableDomains);
         if (emailValidation != null) {
             log.warn("Validación de email fallida: {}", emailValidation);
             throw new InvalidEmailFormatException(emailValidation);
@@ -63,7 +72,7 @@ public class AuthService {
             throw new EmailAlreadyExistsException(ErrorMessages.EMAIL_EXISTS);
         }
 
-        String passwordValidation = ValidationUtils.validatePassword(registerRequestDTO.getPassword());
+        String passwordValidation = ValidationUtils.validatePassword(registerRequestDTO.getPassword(), breachedPasswords);
         if (passwordValidation != null) {
             log.warn("Validación de contraseña fallida para: {}", registerRequestDTO.getEmail());
             throw new InvalidPasswordException(passwordValidation);
@@ -90,6 +99,7 @@ public class AuthService {
 
     /**
      * Autentica un usuario con sus credenciales y genera un token JWT.
+     * Los logins correctos y fallidos se publican como {@link SecurityAuditEvent}.
      *
      * @param loginRequestDTO DTO con email y contraseña
      * @return DTO con token JWT y datos del usuario
@@ -100,21 +110,33 @@ public class AuthService {
 
         boolean exists = userRepository.existsByEmail(loginRequestDTO.getEmail());
         if (!exists) {
+            eventPublisher.publishEvent(SecurityAuditEvent.loginFailed(loginRequestDTO.getEmail()));
             throw new UserNotFoundException(ErrorMessages.USER_NOT_FOUND);
         }
         // Autenticar usuario
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequestDTO.getEmail(), loginRequestDTO.getPassword())
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequestDTO.getEmail(), loginRequestDTO.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            // Sin consulta extra para obtener el ID: el intento queda asociado al hash del email
+            eventPublisher.publishEvent(SecurityAuditEvent.loginFailed(loginRequestDTO.getEmail()));
+            throw e;
+        }
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Buscar usuario
-        User user = userRepository.findByEmail(loginRequestDTO.getEmail())
-                .orElseThrow(() -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
+        // Buscar usuario: normalmente ya lo ha cargado la autenticación
+        User user = loadedUser(authentication);
+        if (user == null) {
+            user = userRepository.findByEmail(loginRequestDTO.getEmail())
+                    .orElseThrow(() -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
+        }
 
         // Generar token
         String token = jwtUtil.generateAccessToken(authentication);
 
+        eventPublisher.publishEvent(SecurityAuditEvent.loginSucceeded(user.getId(), user.getEmail()));
         log.info("Login exitoso para usuario: {}", user.getEmail());
 
         // Retornar respuesta
@@ -123,12 +145,18 @@ public class AuthService {
 
     /**
      * Obtiene el usuario autenticado actualmente en el sistema.
+     * Si la autenticación de la petición ya cargó el usuario (filtro JWT o login) se devuelve esa instancia,
+     * desligada del contexto de persistencia, sin volver a consultar la base de datos.
      *
      * @return Usuario autenticado
      * @throws UserNotFoundException si no se encuentra el usuario en el sistema
      */
     public User getAuthenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User loaded = loadedUser(authentication);
+        if (loaded != null) {
+            return loaded;
+        }
         String email = authentication.getName();
         log.debug("Obteniendo usuario autenticado: {}", email);
 
@@ -136,6 +164,11 @@ public class AuthService {
                 .orElseThrow(() -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
     }
 
+    private static User loadedUser(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl details
+                ? details.getUser() : null;
+    }
+
     // Clase auxiliar interna para devolver el resultado del login
     @Data
     @AllArgsConstructor
@@ -0,0 +1,60 @@
+package com.alejandro.habitjourney.backend.batch.controller;
+
+import com.alejandro.habitjourney.backend.batch.dto.BatchRequestDTO;
+import com.alejandro.habitjourney.backend.batch.dto.BatchResponseDTO;
+import com.alejandro.habitjourney.backend.batch.dto.BatchResultDTO;
+import com.alejandro.habitjourney.backend.batch.service.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST que ejecuta varias operaciones de la API en una sola llamada,
+ * pensado para clientes móviles con conexiones de alta latencia.
+ */
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+@Tag(name = "Lotes", description = "API para ejecutar varias operaciones en un único viaje de ida y vuelta")
+@SecurityRequirement(name = "bearerAuth")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    /**
+     * Ejecuta un lote de sub-peticiones con la autenticación del llamante.
+     *
+     * @param batchRequest Lote de operaciones
+     * @param request Petición HTTP del lote
+     * @param response Respuesta HTTP del lote
+     * @return Respuesta con el resultado de cada operación en el orden recibido
+     */
+    @PostMapping
+    @Operation(summary = "Ejecutar un lote de operaciones",
+            description = "Ejecuta las operaciones indicadas con la autenticación de la petición; "
+                    + "las que no declaran dependencias se ejecutan en paralelo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote ejecutado; cada resultado lleva su propio estado"),
+            @ApiResponse(responseCode = "400", description = "Lote inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado, se requiere autenticación")
+    })
+    public ResponseEntity<BatchResponseDTO> executeBatch(@Valid @RequestBody BatchRequestDTO batchRequest,
+                                                         HttpServletRequest request, HttpServletResponse response) {
+        log.debug("Solicitud de lote con {} operaciones", batchRequest.getOperations().size());
+        List<BatchResultDTO> results = batchService.execute(batchRequest.getOperations(), request, response);
+        return ResponseEntity.ok(new BatchResponseDTO(results));
+    }
+}
@@ -0,0 +1,45 @@
+package com.alejandro.habitjourney.backend.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO que describe una sub-petición dentro de un lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Sub-petición de un lote")
+public class BatchOperationDTO {
+
+    @NotBlank(message = "El identificador de la operación es obligatorio")
+    @Schema(description = "Identificador de la operación dentro del lote", example = "me", required = true)
+    private String id;
+
+    @NotBlank(message = "El método HTTP es obligatorio")
+    @Pattern(regexp = "GET|POST|PUT|DELETE", message = "Método HTTP no soportado")
+    @Schema(description = "Método HTTP", example = "GET", allowableValues = {"GET", "POST", "PUT", "DELETE"}, required = true)
+    private String method;
+
+    @NotBlank(message = "La ruta es obligatoria")
+    @Pattern(regexp = "^/api/.*", message = "La ruta debe pertenecer a la API")
+    @Schema(description = "Ruta de la API, con query string opcional", example = "/api/users/me", required = true)
+    private String path;
+
+    @Schema(description = "Cabeceras adicionales (p. ej. If-None-Match o If-Match)")
+    private Map<String, String> headers;
+
+    @Schema(description = "Cuerpo JSON de la sub-petición")
+    private JsonNode body;
+
+    @Schema(description = "Operaciones anteriores del lote que deben terminar antes que esta", example = "[\"login\"]")
+    private List<String> dependsOn;
+}
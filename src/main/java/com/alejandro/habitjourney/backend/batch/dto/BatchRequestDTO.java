@@ -0,0 +1,25 @@
+package com.alejandro.habitjourney.backend.batch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de entrada del endpoint de lotes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lote de sub-peticiones a ejecutar en una sola llamada")
+public class BatchRequestDTO {
+
+    @NotEmpty(message = "El lote debe contener al menos una operación")
+    @Valid
+    @Schema(description = "Operaciones del lote; las que no dependen de otras se ejecutan en paralelo", required = true)
+    private List<BatchOperationDTO> operations;
+}
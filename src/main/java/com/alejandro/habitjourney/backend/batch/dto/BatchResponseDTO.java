@@ -0,0 +1,21 @@
+package com.alejandro.habitjourney.backend.batch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de salida del endpoint de lotes, con un resultado por operación en el orden de la petición.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultados de un lote de sub-peticiones")
+public class BatchResponseDTO {
+
+    @Schema(description = "Resultados en el mismo orden que las operaciones")
+    private List<BatchResultDTO> results;
+}
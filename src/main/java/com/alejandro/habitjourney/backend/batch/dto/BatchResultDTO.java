@@ -0,0 +1,31 @@
+package com.alejandro.habitjourney.backend.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO con el resultado de una sub-petición del lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de una sub-petición del lote")
+public class BatchResultDTO {
+
+    @Schema(description = "Identificador de la operación", example = "me")
+    private String id;
+
+    @Schema(description = "Código de estado HTTP de la sub-petición", example = "200")
+    private int status;
+
+    @Schema(description = "Cabeceras de la respuesta (p. ej. ETag)")
+    private Map<String, String> headers;
+
+    @Schema(description = "Cuerpo JSON de la respuesta, o null si no tiene")
+    private JsonNode body;
+}
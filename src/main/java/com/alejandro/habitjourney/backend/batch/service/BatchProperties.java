@@ -0,0 +1,34 @@
+package com.alejandro.habitjourney.backend.batch.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del endpoint de lotes ({@code app.batch.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.batch")
+public class BatchProperties {
+
+    /**
+     * Número máximo de operaciones por lote.
+     */
+    private int maxOperations = 20;
+
+    /**
+     * Tiempo máximo para completar todas las operaciones de un lote; las pendientes se devuelven con 504.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * Hilos del pool que ejecuta las operaciones de todos los lotes.
+     */
+    private int threads = 16;
+
+    /**
+     * Operaciones que pueden esperar a un hilo libre; por encima se devuelven con 503.
+     */
+    private int queueCapacity = 200;
+}
@@ -0,0 +1,416 @@
+package com.alejandro.habitjourney.backend.batch.service;
+
+import com.alejandro.habitjourney.backend.batch.dto.BatchOperationDTO;
+import com.alejandro.habitjourney.backend.batch.dto.BatchResultDTO;
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import com.alejandro.habitjourney.backend.common.exception.InvalidBatchRequestException;
+import com.alejandro.habitjourney.backend.common.limit.AdaptiveConcurrencyLimitFilter;
+import com.alejandro.habitjourney.backend.common.security.ScopedSecurityContextFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio que ejecuta lotes de sub-peticiones contra la propia API.
+ * Cada operación se despacha a un {@link DispatcherServlet} propio, construido sobre el mismo contexto de
+ * aplicación (mismos controladores, conversores y manejadores de excepciones), con una petición y una respuesta
+ * en memoria. Antes del servlet recorre los filtros registrados de la aplicación, en su orden, salvo
+ * los de {@link #SKIPPED_FILTERS} y la cadena de Spring Security:
+ * <ul>
+ *     <li>La autenticación JWT se resuelve una sola vez para el lote y su contexto de seguridad se propaga
+ *     a cada operación; {@link ScopedSecurityContextFilter} lo sustituiría por uno vacío. La autorización
+ *     por URL se comprueba operación a operación con las reglas de Spring Security.</li>
+ *     <li>El lote ya ocupa un permiso del limitador de concurrencia en su propio grupo; pedir otro por
+ *     operación desde los hilos del ejecutor podría agotarlo con el propio lote.</li>
+ * </ul>
+ * Sí se aplican el identificador de correlación, el recuento de consultas con su presupuesto, el usuario
+ * en el MDC y, si está activo, Server-Timing, por lo que cada resultado lleva sus propias cabeceras.
+ * Los filtros que Spring Boot registra como beans sin {@link FilterRegistrationBean} (codificación,
+ * observaciones HTTP) tampoco se aplican: las sub-peticiones ya fijan UTF-8 y se miden dentro del lote.
+ * Las operaciones sin dependencias pendientes se ejecutan en paralelo en un pool propio y acotado
+ * ({@code app.batch.threads} y {@code app.batch.queue-capacity}), separado del ejecutor de tareas de la
+ * aplicación para que los lotes no lo agoten; si está lleno, la operación se devuelve con 503. Las que siguen
+ * en curso al agotarse el tiempo del lote se cancelan interrumpiendo su hilo.
+ * <p>
+ * Un lote no puede contener otro: la ruta de cada operación se compara con {@code /api/batch} ya decodificada
+ * y normalizada, y además una sub-petición que llegue al controlador de lotes por cualquier otra ruta se rechaza.
+ */
+@Service
+@Slf4j
+public class BatchService implements DisposableBean {
+
+    private static final String BATCH_PATH = "/api/batch";
+
+    /**
+     * Filtros registrados que las sub-peticiones no recorren (ver la documentación de la clase).
+     */
+    static final Set<Class<? extends Filter>> SKIPPED_FILTERS =
+            Set.of(AdaptiveConcurrencyLimitFilter.class, ScopedSecurityContextFilter.class);
+
+    private final WebApplicationContext applicationContext;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ThreadPoolExecutor workers;
+    private final TaskExecutorAdapter taskExecutor;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties properties;
+    private final ObjectProvider<FilterRegistrationBean<?>> filterRegistrations;
+
+    private volatile DispatcherServlet dispatcherServlet;
+    private volatile List<Filter> filters;
+
+    public BatchService(WebApplicationContext applicationContext,
+                        WebInvocationPrivilegeEvaluator privilegeEvaluator,
+                        ObjectMapper objectMapper,
+                        BatchProperties properties,
+                        ObjectProvider<FilterRegistrationBean<?>> filterRegistrations,
+                        ObjectProvider<TaskDecorator> taskDecorator) {
+        this.applicationContext = applicationContext;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.workers = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("batch-", 0).daemon().factory());
+        this.workers.allowCoreThreadTimeOut(true);
+        this.taskExecutor = new TaskExecutorAdapter(workers);
+        taskDecorator.ifAvailable(taskExecutor::setTaskDecorator);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.filterRegistrations = filterRegistrations;
+    }
+
+    /**
+     * Ejecuta las operaciones de un lote respetando sus dependencias.
+     *
+     * @param operations Operaciones en el orden de la petición.
+     * @param request Petición HTTP del lote.
+     * @param response Respuesta HTTP del lote (no se escribe en ella).
+     * @return Un resultado por operación, en el mismo orden.
+     * @throws InvalidBatchRequestException si el lote es inválido en su conjunto.
+     */
+    public List<BatchResultDTO> execute(List<BatchOperationDTO> operations,
+                                        HttpServletRequest request, HttpServletResponse response) {
+        if (WebUtils.getNativeRequest(request, BatchSubRequest.class) != null) {
+            throw new InvalidBatchRequestException(ErrorMessages.BATCH_NESTED);
+        }
+        validate(operations);
+        SecurityContext context = SecurityContextHolder.getContext();
+        AsyncTaskExecutor executor = new DelegatingSecurityContextAsyncTaskExecutor(taskExecutor, context);
+        Authentication authentication = context.getAuthentication();
+        log.debug("Ejecutando lote de {} operaciones para {}", operations.size(),
+                authentication != null ? authentication.getName() : null);
+
+        Map<String, CompletableFuture<BatchResultDTO>> futures = new LinkedHashMap<>();
+        Map<String, Future<?>> tasks = new ConcurrentHashMap<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        for (BatchOperationDTO operation : operations) {
+            List<CompletableFuture<BatchResultDTO>> dependencies = dependencies(operation).stream()
+                    .map(futures::get).toList();
+            CompletableFuture<BatchResultDTO> future = CompletableFuture
+                    .allOf(dependencies.toArray(CompletableFuture[]::new))
+                    .thenCompose(ignored -> dependencies.stream().anyMatch(dependency -> dependency.join().getStatus() >= 400)
+                            ? CompletableFuture.completedFuture(result(operation.getId(), HttpStatus.FAILED_DEPENDENCY))
+                            : submit(executor, tasks, cancelled, operation, request, response, authentication));
+            futures.put(operation.getId(), future);
+        }
+
+        if (!await(futures.values())) {
+            cancelled.set(true);
+            cancel(futures, tasks);
+        }
+        List<BatchResultDTO> results = new ArrayList<>(operations.size());
+        futures.forEach((id, future) -> results.add(future.isDone() && !future.isCompletedExceptionally()
+                ? future.join() : result(id, HttpStatus.GATEWAY_TIMEOUT)));
+        return results;
+    }
+
+    private void validate(List<BatchOperationDTO> operations) {
+        if (operations.size() > properties.getMaxOperations()) {
+            throw new InvalidBatchRequestException(
+                    String.format(ErrorMessages.BATCH_TOO_MANY_OPERATIONS, properties.getMaxOperations()));
+        }
+        List<String> seen = new ArrayList<>(operations.size());
+        for (BatchOperationDTO operation : operations) {
+            if (seen.contains(operation.getId())) {
+                throw new InvalidBatchRequestException(String.format(ErrorMessages.BATCH_DUPLICATE_ID, operation.getId()));
+            }
+            if (targetsBatch(operation.getPath())) {
+                throw new InvalidBatchRequestException(ErrorMessages.BATCH_NESTED);
+            }
+            for (String dependency : dependencies(operation)) {
+                if (!seen.contains(dependency)) {
+                    throw new InvalidBatchRequestException(
+                            String.format(ErrorMessages.BATCH_UNKNOWN_DEPENDENCY, operation.getId(), dependency));
+                }
+            }
+            seen.add(operation.getId());
+        }
+    }
+
+    /**
+     * Indica si la ruta de una operación apunta al propio endpoint de lotes, una vez decodificada y
+     * normalizada como lo hará el DispatcherServlet: sin query string ni parámetros de matriz, con las
+     * barras repetidas reducidas a una y sin segmentos {@code .} ni {@code ..}.
+     *
+     * @param path Ruta de la operación.
+     * @return true si la operación llamaría a {@code /api/batch}.
+     * @throws InvalidBatchRequestException si la ruta no se puede decodificar.
+     */
+    static boolean targetsBatch(String path) {
+        int query = path.indexOf('?');
+        String decoded;
+        try {
+            decoded = UriUtils.decode(query < 0 ? path : path.substring(0, query), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBatchRequestException(String.format(ErrorMessages.BATCH_INVALID_PATH, path));
+        }
+        String normalized = StringUtils.cleanPath(decoded.replaceAll(";[^/]*", "").replaceAll("/{2,}", "/"));
+        return normalized.equals(BATCH_PATH) || normalized.startsWith(BATCH_PATH + "/");
+    }
+
+    /**
+     * Detiene el pool de lotes; las operaciones en curso se interrumpen.
+     */
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    private CompletableFuture<BatchResultDTO> submit(AsyncTaskExecutor executor, Map<String, Future<?>> tasks,
+                                                     AtomicBoolean cancelled, BatchOperationDTO operation,
+                                                     HttpServletRequest request, HttpServletResponse response,
+                                                     Authentication authentication) {
+        CompletableFuture<BatchResultDTO> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> result.complete(dispatch(operation, request, response, authentication)));
+        } catch (TaskRejectedException e) {
+            log.warn("Pool de lotes lleno; la operación {} se devuelve con 503", operation.getId());
+            return CompletableFuture.completedFuture(result(operation.getId(), HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        tasks.put(operation.getId(), task);
+        if (cancelled.get()) {
+            // Sus dependencias terminaron mientras se cancelaba el lote
+            task.cancel(true);
+        }
+        return result;
+    }
+
+    /**
+     * Espera a que terminen todas las operaciones, como mucho el tiempo del lote.
+     *
+     * @return false si se ha agotado el tiempo o se ha interrumpido la espera.
+     */
+    private boolean await(Iterable<CompletableFuture<BatchResultDTO>> futures) {
+        List<CompletableFuture<BatchResultDTO>> all = new ArrayList<>();
+        futures.forEach(all::add);
+        try {
+            CompletableFuture.allOf(all.toArray(CompletableFuture[]::new))
+                    .get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Lote incompleto tras {}; las operaciones pendientes se cancelan y se devuelven con 504",
+                    properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Cada operación captura sus propios errores; no debería ocurrir
+            log.error("Error inesperado al ejecutar el lote", e.getCause());
+        }
+        return false;
+    }
+
+    /**
+     * Cancela las operaciones sin terminar: las que esperan a sus dependencias ya no se lanzan y las que
+     * están en curso se interrumpen para que no sigan ocupando un hilo y una conexión sin que nadie espere
+     * su resultado.
+     */
+    private void cancel(Map<String, CompletableFuture<BatchResultDTO>> futures, Map<String, Future<?>> tasks) {
+        futures.forEach((id, future) -> {
+            if (future.cancel(true)) {
+                Future<?> task = tasks.get(id);
+                if (task != null) {
+                    task.cancel(true);
+                }
+            }
+        });
+    }
+
+    private BatchResultDTO dispatch(BatchOperationDTO operation, HttpServletRequest request,
+                                    HttpServletResponse response, Authentication authentication) {
+        if (!privilegeEvaluator.isAllowed(request.getContextPath(), operation.getPath(), operation.getMethod(), authentication)) {
+            log.debug("Operación {} del lote denegada: {} {}", operation.getId(), operation.getMethod(), operation.getPath());
+            return result(operation.getId(), HttpStatus.FORBIDDEN);
+        }
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            if (operation.getHeaders() != null) {
+                operation.getHeaders().forEach(headers::set);
+            }
+            headers.remove(HttpHeaders.AUTHORIZATION);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            byte[] body = new byte[0];
+            if (operation.getBody() != null && !operation.getBody().isNull()) {
+                body = objectMapper.writeValueAsBytes(operation.getBody());
+                headers.setContentType(MediaType.APPLICATION_JSON);
+            }
+            BatchSubRequest subRequest = new BatchSubRequest(request, operation.getMethod(), operation.getPath(), headers, body);
+            BatchSubResponse subResponse = new BatchSubResponse(response);
+            DispatcherServlet dispatcher = dispatcherServlet(request.getServletContext());
+            new SubRequestFilterChain(filters, dispatcher).doFilter(subRequest, subResponse);
+            return new BatchResultDTO(operation.getId(), subResponse.getStatus(),
+                    subResponse.capturedHeaders().toSingleValueMap(), parseBody(subResponse));
+        } catch (Exception e) {
+            log.error("Error al ejecutar la operación {} del lote: {} {}", operation.getId(),
+                    operation.getMethod(), operation.getPath(), e);
+            return result(operation.getId(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private DispatcherServlet dispatcherServlet(ServletContext servletContext) throws ServletException {
+        DispatcherServlet dispatcher = this.dispatcherServlet;
+        if (dispatcher == null) {
+            synchronized (this) {
+                dispatcher = this.dispatcherServlet;
+                if (dispatcher == null) {
+                    dispatcher = new DispatcherServlet(applicationContext);
+                    dispatcher.setPublishContext(false);
+                    dispatcher.setPublishEvents(false);
+                    dispatcher.init(new BatchServletConfig(servletContext));
+                    this.filters = subRequestFilters(filterRegistrations.orderedStream().toList());
+                    this.dispatcherServlet = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Filtros que recorren las sub-peticiones: los registrados y activos, en su orden, salvo {@link #SKIPPED_FILTERS}.
+     *
+     * @param registrations Registros de filtros de la aplicación, ya ordenados.
+     * @return Filtros a aplicar a cada operación.
+     */
+    static List<Filter> subRequestFilters(List<? extends FilterRegistrationBean<?>> registrations) {
+        return registrations.stream()
+                .filter(FilterRegistrationBean::isEnabled)
+                .<Filter>map(FilterRegistrationBean::getFilter)
+                .filter(filter -> SKIPPED_FILTERS.stream().noneMatch(skipped -> skipped.isInstance(filter)))
+                .toList();
+    }
+
+    private JsonNode parseBody(BatchSubResponse subResponse) throws Exception {
+        byte[] body = subResponse.capturedBody();
+        if (body.length == 0) {
+            return null;
+        }
+        String contentType = subResponse.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return objectMapper.readTree(body);
+        }
+        return TextNode.valueOf(new String(body, subResponse.getCharacterEncoding()));
+    }
+
+    /**
+     * Cadena de filtros de una sub-petición que termina en el DispatcherServlet del lote.
+     */
+    private static final class SubRequestFilterChain implements FilterChain {
+
+        private final List<Filter> filters;
+        private final DispatcherServlet dispatcher;
+        private int position;
+
+        private SubRequestFilterChain(List<Filter> filters, DispatcherServlet dispatcher) {
+            this.filters = filters;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            if (position < filters.size()) {
+                filters.get(position++).doFilter(request, response, this);
+            } else {
+                dispatcher.service(request, response);
+            }
+        }
+    }
+
+    private record BatchServletConfig(ServletContext servletContext) implements ServletConfig {
+
+        @Override
+        public String getServletName() {
+            return "batchDispatcherServlet";
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return servletContext;
+        }
+
+        @Override
+        public String getInitParameter(String name) {
+            return null;
+        }
+
+        @Override
+        public Enumeration<String> getInitParameterNames() {
+            return Collections.emptyEnumeration();
+        }
+    }
+
+    private static List<String> dependencies(BatchOperationDTO operation) {
+        return operation.getDependsOn() == null ? List.of() : operation.getDependsOn();
+    }
+
+    private static BatchResultDTO result(String id, HttpStatus status) {
+        return new BatchResultDTO(id, status.value(), Map.of(), null);
+    }
+}
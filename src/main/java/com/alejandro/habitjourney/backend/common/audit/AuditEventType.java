@@ -0,0 +1,37 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+/**
+ * Tipos de evento del registro de auditoría de seguridad.
+ * El código es el que se guarda en el registro binario: no debe cambiar ni reutilizarse.
+ */
+public enum AuditEventType {
+
+    LOGIN_SUCCEEDED((short) 1),
+    LOGIN_FAILED((short) 2),
+    PASSWORD_CHANGED((short) 3),
+    USER_DELETED((short) 4);
+
+    private final short code;
+
+    AuditEventType(short code) {
+        this.code = code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    /**
+     * @param code Código guardado en el registro.
+     * @return El tipo correspondiente.
+     * @throws IllegalArgumentException si el código no es de ningún tipo conocido.
+     */
+    public static AuditEventType fromCode(short code) {
+        for (AuditEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Código de evento de auditoría desconocido: " + code);
+    }
+}
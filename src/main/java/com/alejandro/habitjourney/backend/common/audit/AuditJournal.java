@@ -0,0 +1,318 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Registro de auditoría de seguridad en segmentos de solo-anexado proyectados en memoria ({@link AuditSegment}).
+ * <p>
+ * Los hilos de petición solo encolan el evento ({@link #append}) y nunca esperan: con la cola llena
+ * el evento se descarta y se cuenta en {@code audit.journal.dropped}. Un único hilo escritor vacía la
+ * cola en el segmento activo y fuerza a disco una vez por grupo (group commit); tras un forzado espera
+ * hasta {@code commit-interval} antes del siguiente para agrupar más eventos. Al llenarse el segmento
+ * se abre otro, y la compactación periódica elimina los eventos más antiguos que la retención
+ * borrando o reescribiendo segmentos cerrados.
+ * <p>
+ * El directorio se bloquea para uso exclusivo de esta instancia.
+ */
+public class AuditJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJournal.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{10})\\.seg");
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long commitIntervalNanos;
+    private final Duration retention;
+    private final BlockingQueue<SecurityAuditEvent> queue;
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final Thread writer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Timer commits;
+
+    private volatile AuditSegment active;
+    private volatile boolean running = true;
+    private long nextSequence;
+
+    /**
+     * Abre el directorio, recupera los segmentos existentes y arranca el hilo escritor.
+     *
+     * @param properties Propiedades del registro.
+     * @param meterRegistry Registro de métricas.
+     * @throws UncheckedIOException si no se puede abrir el directorio o ya lo usa otra instancia.
+     */
+    public AuditJournal(AuditJournalProperties properties, MeterRegistry meterRegistry) {
+        this.directory = properties.getDirectory();
+        this.segmentSize = properties.getSegmentSize().toBytes();
+        this.commitIntervalNanos = properties.getCommitInterval().toNanos();
+        this.retention = properties.getRetention();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        try {
+            Files.createDirectories(directory);
+            this.lockChannel = FileChannel.open(directory.resolve(".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.lock = tryLock(lockChannel);
+            if (lock == null) {
+                lockChannel.close();
+                throw new IOException("El directorio de auditoría ya está en uso: " + directory);
+            }
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.written = Counter.builder("audit.journal.events")
+                .description("Eventos de auditoría escritos")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.journal.dropped")
+                .description("Eventos de auditoría descartados por cola llena o error de escritura")
+                .register(meterRegistry);
+        this.commits = Timer.builder("audit.journal.commit")
+                .description("Duración de cada forzado a disco de un grupo de eventos")
+                .register(meterRegistry);
+        Gauge.builder("audit.journal.queue", queue, BlockingQueue::size)
+                .description("Eventos de auditoría pendientes de escribir")
+                .register(meterRegistry);
+        Gauge.builder("audit.journal.segments", segments, List::size)
+                .description("Segmentos del registro de auditoría")
+                .register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("audit-journal-writer").daemon().start(this::writeLoop);
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            segments.add(AuditSegment.open(file));
+        }
+        if (!files.isEmpty()) {
+            Matcher matcher = SEGMENT_NAME.matcher(files.getLast().getFileName().toString());
+            matcher.matches();
+            nextSequence = Long.parseLong(matcher.group(1)) + 1;
+        }
+        AuditSegment last = segments.isEmpty() ? null : segments.getLast();
+        active = last != null && !last.isFull() ? last : roll();
+        log.info("Registro de auditoría abierto en {}: {} segmentos", directory, segments.size());
+    }
+
+    private AuditSegment roll() throws IOException {
+        AuditSegment segment = AuditSegment.create(
+                directory.resolve("audit-%010d.seg".formatted(nextSequence++)), segmentSize);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Recibe los eventos de auditoría publicados por los servicios. Los publicados dentro de una transacción
+     * solo se registran si esta confirma, para no auditar un borrado o un cambio de contraseña revertido;
+     * los publicados fuera de una transacción (como los logins) se registran en el momento.
+     *
+     * @param event El evento.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuditEvent(SecurityAuditEvent event) {
+        append(event);
+    }
+
+    /**
+     * Encola un evento sin bloquear.
+     *
+     * @param event El evento.
+     * @return false si se ha descartado porque la cola está llena o el registro está cerrado.
+     */
+    public boolean append(SecurityAuditEvent event) {
+        if (running && queue.offer(event)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void writeLoop() {
+        List<SecurityAuditEvent> batch = new ArrayList<>(MAX_BATCH);
+        long lastCommit = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                SecurityAuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+                long wait = lastCommit + commitIntervalNanos - System.nanoTime();
+                if (running && wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    queue.drainTo(batch, MAX_BATCH);
+                    write(batch);
+                }
+                long start = System.nanoTime();
+                active.force();
+                lastCommit = System.nanoTime();
+                commits.record(lastCommit - start, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Error en el escritor del registro de auditoría", e);
+            }
+        }
+    }
+
+    private void write(List<SecurityAuditEvent> batch) {
+        for (SecurityAuditEvent event : batch) {
+            try {
+                if (!active.append(event)) {
+                    active.force();
+                    active = roll();
+                    active.append(event);
+                }
+                written.increment();
+            } catch (IOException e) {
+                log.error("No se pudo abrir un nuevo segmento de auditoría en {}", directory, e);
+                dropped.increment();
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Busca eventos por usuario y rango de tiempo, en orden de escritura.
+     * Solo se leen los segmentos cuyo rango de timestamps se solapa con el pedido.
+     * Los logins fallidos no llevan ID de usuario; se encuentran por el email.
+     *
+     * @param userId ID del usuario, o null.
+     * @param email Email del usuario, o null. Sin usuario ni email se devuelven todos los eventos.
+     * @param from Inicio del rango (incluido), o null para desde el principio.
+     * @param to Fin del rango (excluido), o null para hasta ahora.
+     * @param limit Número máximo de eventos devueltos.
+     * @return Los eventos encontrados.
+     */
+    public List<SecurityAuditEvent> scan(Long userId, String email, Instant from, Instant to, int limit) {
+        long subjectHash = SecurityAuditEvent.subjectHash(email);
+        boolean all = userId == null && email == null;
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        List<SecurityAuditEvent> result = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            if (result.size() >= limit) {
+                break;
+            }
+            segment.scan(fromMillis, toMillis, event -> {
+                if (result.size() < limit && (all || (userId != null && event.userId() == userId)
+                        || (email != null && event.subjectHash() == subjectHash))) {
+                    result.add(event);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Compacta los segmentos cerrados: borra los que solo contienen eventos fuera de la retención
+     * y reescribe los que los mezclan con eventos vigentes. El segmento activo no se toca.
+     */
+    @Scheduled(fixedDelayString = "${app.audit.compaction-interval:1h}")
+    public void compact() {
+        long cutoff = Instant.now().minus(retention).toEpochMilli();
+        AuditSegment current = active;
+        for (AuditSegment segment : segments) {
+            if (segment == current || segment.minTimestamp() >= cutoff) {
+                continue;
+            }
+            try {
+                if (segment.maxTimestamp() < cutoff) {
+                    segments.remove(segment);
+                    segment.close();
+                    Files.deleteIfExists(segment.path());
+                } else {
+                    segments.replaceAll(existing -> existing == segment ? rewrite(segment, cutoff) : existing);
+                    segment.close();
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.error("No se pudo compactar el segmento de auditoría {}", segment.path(), e);
+            }
+        }
+    }
+
+    private AuditSegment rewrite(AuditSegment segment, long cutoff) {
+        Path temp = segment.path().resolveSibling(segment.path().getFileName() + ".compact");
+        try {
+            Files.deleteIfExists(temp);
+            List<SecurityAuditEvent> kept = new ArrayList<>();
+            segment.scan(cutoff, Long.MAX_VALUE, kept::add);
+            AuditSegment compacted = AuditSegment.create(temp,
+                    AuditSegment.HEADER_SIZE + (long) kept.size() * AuditSegment.RECORD_SIZE);
+            kept.forEach(compacted::append);
+            compacted.force();
+            compacted.close();
+            Files.move(temp, segment.path(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Segmento de auditoría {} compactado: {} de {} eventos conservados",
+                    segment.path().getFileName(), kept.size(), segment.count());
+            return AuditSegment.open(segment.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Detiene el escritor tras vaciar la cola, fuerza el segmento activo y libera el directorio.
+     */
+    public void close() throws IOException, InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        active.force();
+        for (AuditSegment segment : segments) {
+            segment.close();
+        }
+        lock.release();
+        lockChannel.close();
+    }
+}
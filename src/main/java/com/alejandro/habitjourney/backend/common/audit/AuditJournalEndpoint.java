@@ -0,0 +1,45 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Endpoint de Actuator {@code securityaudit} para consultar el registro de auditoría por usuario
+ * (ID o email) y rango de tiempo. Como el resto de endpoints de gestión, exige el rol ADMIN si se expone por web.
+ */
+@Endpoint(id = "securityaudit")
+public class AuditJournalEndpoint {
+
+    private static final int DEFAULT_LIMIT = 1000;
+
+    private final AuditJournal journal;
+
+    /**
+     * @param journal Registro de auditoría.
+     */
+    public AuditJournalEndpoint(AuditJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * @param userId ID del usuario.
+     * @param email Email del usuario; incluye los logins fallidos. Sin usuario ni email se devuelven todos.
+     * @param from Inicio del rango (incluido).
+     * @param to Fin del rango (excluido).
+     * @param limit Máximo de eventos devueltos (1000 por defecto).
+     * @return Los eventos en orden de escritura.
+     */
+    @ReadOperation
+    public List<SecurityAuditEvent> events(@Nullable Long userId, @Nullable String email,
+                                           @Nullable OffsetDateTime from, @Nullable OffsetDateTime to,
+                                           @Nullable Integer limit) {
+        return journal.scan(userId, email,
+                from != null ? from.toInstant() : null,
+                to != null ? to.toInstant() : null,
+                limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
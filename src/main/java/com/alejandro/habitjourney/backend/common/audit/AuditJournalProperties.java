@@ -0,0 +1,51 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Propiedades del registro de auditoría de seguridad ({@code app.audit.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditJournalProperties {
+
+    /**
+     * Si se guardan los eventos de auditoría.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directorio de los segmentos; lo usa en exclusiva una única instancia.
+     */
+    private Path directory = Path.of("data", "audit");
+
+    /**
+     * Tamaño de cada segmento; al llenarse se abre uno nuevo.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Capacidad de la cola de escritura; con la cola llena los eventos se descartan y se cuentan.
+     */
+    private int queueCapacity = 65536;
+
+    /**
+     * Espera máxima del escritor para agrupar eventos antes de forzarlos a disco.
+     */
+    private Duration commitInterval = Duration.ofMillis(50);
+
+    /**
+     * Antigüedad a partir de la cual la compactación elimina los eventos.
+     */
+    private Duration retention = Duration.ofDays(365);
+
+    /**
+     * Intervalo entre compactaciones.
+     */
+    private Duration compactionInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,195 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Segmento del registro de auditoría: un fichero proyectado en memoria con una cabecera de 16 bytes
+ * y registros de tamaño fijo.
+ * <pre>
+ * cabecera: magic (int) | versión (short) | tamaño de registro (short) | creación en ms (long)
+ * registro: timestamp en ms (long) | userId (long) | subjectHash (long) | tipo (short) | reservado (short) | CRC32 (int)
+ * </pre>
+ * Solo el hilo escritor añade registros; los lectores leen sobre un duplicado del buffer hasta el
+ * número de registros publicado, que es volátil. Al reabrir, los registros válidos se cuentan
+ * hasta el primero vacío o con el CRC incorrecto (una escritura a medias antes de una caída).
+ */
+final class AuditSegment {
+
+    static final int MAGIC = 0x41554431;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private volatile int count;
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    private AuditSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /**
+     * Crea un segmento vacío de {@code size} bytes.
+     */
+    static AuditSegment create(Path path, long size) throws IOException {
+        int records = (int) Math.max(1, (Math.min(size, Integer.MAX_VALUE) - HEADER_SIZE) / RECORD_SIZE);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) records * RECORD_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, (short) RECORD_SIZE);
+        buffer.putLong(8, System.currentTimeMillis());
+        return new AuditSegment(path, channel, buffer);
+    }
+
+    /**
+     * Abre un segmento existente y recupera sus registros válidos.
+     *
+     * @throws IOException si el fichero no es un segmento de auditoría.
+     */
+    static AuditSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                    || buffer.getShort(4) != VERSION || buffer.getShort(6) != RECORD_SIZE) {
+                throw new IOException("No es un segmento de auditoría válido: " + path);
+            }
+            AuditSegment segment = new AuditSegment(path, channel, buffer);
+            segment.recover();
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void recover() {
+        int valid = 0;
+        while (valid < capacity) {
+            int offset = offset(valid);
+            if (buffer.getLong(offset) == 0 || buffer.getInt(offset + 28) != crc(buffer, offset)) {
+                break;
+            }
+            track(buffer.getLong(offset));
+            valid++;
+        }
+        count = valid;
+    }
+
+    /**
+     * Escribe un registro. Solo lo llama el hilo escritor.
+     *
+     * @return false si el segmento está lleno.
+     */
+    boolean append(SecurityAuditEvent event) {
+        int index = count;
+        if (index >= capacity) {
+            return false;
+        }
+        int offset = offset(index);
+        long timestamp = event.timestamp().toEpochMilli();
+        buffer.putLong(offset, timestamp);
+        buffer.putLong(offset + 8, event.userId());
+        buffer.putLong(offset + 16, event.subjectHash());
+        buffer.putShort(offset + 24, event.type().code());
+        buffer.putShort(offset + 26, (short) 0);
+        buffer.putInt(offset + 28, crc(buffer, offset));
+        track(timestamp);
+        count = index + 1;
+        return true;
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas; una llamada confirma todo el grupo escrito desde la anterior.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Recorre los registros publicados con timestamp en {@code [from, to)}.
+     */
+    void scan(long from, long to, Consumer<SecurityAuditEvent> consumer) {
+        if (!overlaps(from, to)) {
+            return;
+        }
+        ByteBuffer view = buffer.duplicate();
+        int published = count;
+        for (int i = 0; i < published; i++) {
+            int offset = offset(i);
+            long timestamp = view.getLong(offset);
+            if (timestamp >= from && timestamp < to) {
+                consumer.accept(read(view, offset));
+            }
+        }
+    }
+
+    boolean overlaps(long from, long to) {
+        return count > 0 && minTimestamp < to && maxTimestamp >= from;
+    }
+
+    private static SecurityAuditEvent read(ByteBuffer view, int offset) {
+        return new SecurityAuditEvent(AuditEventType.fromCode(view.getShort(offset + 24)),
+                view.getLong(offset + 8), view.getLong(offset + 16), Instant.ofEpochMilli(view.getLong(offset)));
+    }
+
+    private void track(long timestamp) {
+        if (timestamp < minTimestamp) {
+            minTimestamp = timestamp;
+        }
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+        }
+    }
+
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static int crc(ByteBuffer buffer, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, 28));
+        return (int) crc.getValue();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    long minTimestamp() {
+        return minTimestamp;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+}
@@ -0,0 +1,51 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Evento de auditoría de seguridad. Los servicios lo publican como evento de aplicación
+ * y {@link AuditJournal} lo guarda; también es el resultado de las consultas al registro.
+ *
+ * @param type Tipo de evento.
+ * @param userId ID del usuario afectado, o 0 si no se conoce (logins fallidos).
+ * @param subjectHash Hash de 64 bits del email normalizado, para relacionar intentos sin guardar el email.
+ * @param timestamp Momento del evento.
+ */
+public record SecurityAuditEvent(AuditEventType type, long userId, long subjectHash, Instant timestamp) {
+
+    public static SecurityAuditEvent loginSucceeded(long userId, String email) {
+        return new SecurityAuditEvent(AuditEventType.LOGIN_SUCCEEDED, userId, subjectHash(email), Instant.now());
+    }
+
+    public static SecurityAuditEvent loginFailed(String email) {
+        return new SecurityAuditEvent(AuditEventType.LOGIN_FAILED, 0, subjectHash(email), Instant.now());
+    }
+
+    public static SecurityAuditEvent passwordChanged(long userId) {
+        return new SecurityAuditEvent(AuditEventType.PASSWORD_CHANGED, userId, 0, Instant.now());
+    }
+
+    public static SecurityAuditEvent userDeleted(long userId) {
+        return new SecurityAuditEvent(AuditEventType.USER_DELETED, userId, 0, Instant.now());
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits del email en minúsculas.
+     *
+     * @param email Email, puede ser null.
+     * @return El hash, o 0 si no hay email.
+     */
+    public static long subjectHash(String email) {
+        if (email == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
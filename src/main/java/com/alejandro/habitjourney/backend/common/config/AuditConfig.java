@@ -0,0 +1,32 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.audit.AuditJournal;
+import com.alejandro.habitjourney.backend.common.audit.AuditJournalEndpoint;
+import com.alejandro.habitjourney.backend.common.audit.AuditJournalProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registro de auditoría de seguridad. {@code AuthService} y {@code UserService} publican
+ * {@code SecurityAuditEvent} como eventos de aplicación y {@link AuditJournal} los guarda
+ * sin bloquear la petición. Se desactiva con {@code app.audit.enabled=false}; los eventos se siguen
+ * publicando pero nadie los recoge.
+ */
+@Configuration
+@EnableConfigurationProperties(AuditJournalProperties.class)
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfig {
+
+    @Bean(destroyMethod = "close")
+    public AuditJournal auditJournal(AuditJournalProperties properties, MeterRegistry meterRegistry) {
+        return new AuditJournal(properties, meterRegistry);
+    }
+
+    @Bean
+    public AuditJournalEndpoint auditJournalEndpoint(AuditJournal auditJournal) {
+        return new AuditJournalEndpoint(auditJournal);
+    }
+}
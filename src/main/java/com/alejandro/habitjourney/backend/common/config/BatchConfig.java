@@ -0,0 +1,13 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.batch.service.BatchProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra las propiedades del endpoint de lotes ({@code app.batch.*}).
+ */
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+}
@@ -0,0 +1,43 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binarios negociables por la cabecera Accept ({@code application/cbor} y
+ * {@code application/x-jackson-smile}) para clientes móviles.
+ * Los mappers se crean con el {@code Jackson2ObjectMapperBuilder} de Spring Boot, así que comparten
+ * módulos y propiedades con el de JSON y cualquier DTO sirve sin código por endpoint.
+ * Al declararse como beans sustituyen a los convertidores por defecto de la misma clase en su posición,
+ * detrás del de JSON, que sigue siendo el formato por defecto.
+ */
+@Configuration
+public class BinaryContentConfig {
+
+    /**
+     * Convertidor CBOR (RFC 8949).
+     *
+     * @param builder Builder de Jackson configurado por Spring Boot (prototipo).
+     * @return El convertidor CBOR.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Convertidor Smile, el formato binario nativo de Jackson.
+     *
+     * @param builder Builder de Jackson configurado por Spring Boot (prototipo).
+     * @return El convertidor Smile.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
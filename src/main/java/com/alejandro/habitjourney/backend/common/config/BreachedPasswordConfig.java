@@ -0,0 +1,40 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordIndex;
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Índice de contraseñas filtradas que consultan el registro y el cambio de contraseña.
+ * Sin {@code app.security.breached-passwords.file} el índice está vacío y no rechaza nada;
+ * con un fichero configurado que no se puede abrir la aplicación no arranca.
+ */
+@Configuration
+@EnableConfigurationProperties(BreachedPasswordProperties.class)
+@Slf4j
+public class BreachedPasswordConfig {
+
+    @Bean(destroyMethod = "close")
+    public BreachedPasswordIndex breachedPasswordIndex(BreachedPasswordProperties properties) {
+        if (!StringUtils.hasText(properties.getFile())) {
+            log.info("Sin fichero de contraseñas filtradas: no se comprobarán");
+            return BreachedPasswordIndex.empty();
+        }
+        Path file = Path.of(properties.getFile());
+        try {
+            BreachedPasswordIndex index = BreachedPasswordIndex.open(file);
+            log.info("Índice de contraseñas filtradas abierto: {} hashes en {}", index.size(), file);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el fichero de contraseñas filtradas " + file, e);
+        }
+    }
+}
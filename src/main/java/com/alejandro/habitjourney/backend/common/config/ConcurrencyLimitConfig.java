@@ -0,0 +1,39 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.limit.AdaptiveConcurrencyLimitFilter;
+import com.alejandro.habitjourney.backend.common.limit.ConcurrencyLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra el limitador adaptativo de concurrencia por delante de la cadena de Spring Security.
+ * Se desactiva con {@code app.concurrency-limit.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Registro del filtro; se ejecuta antes que cualquier filtro de seguridad.
+     *
+     * @param properties Propiedades del limitador.
+     * @param objectMapper Mapper para las respuestas 503.
+     * @param meterRegistry Registro de métricas.
+     * @return El registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilter(
+            ConcurrencyLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new AdaptiveConcurrencyLimitFilter(properties, objectMapper, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.datasource.ConnectionHoldDataSource;
+import com.alejandro.habitjourney.backend.common.datasource.ConnectionHoldProperties;
+import com.alejandro.habitjourney.backend.common.datasource.ConnectionHoldTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Seguimiento del tiempo de retención de conexiones del DataSource principal.
+ * Junto con {@code spring.jpa.open-in-view=false}, que devuelve la conexión al terminar la transacción
+ * del servicio en lugar de al escribir la respuesta, permite dimensionar el pool por el tiempo real de uso.
+ * Se desactiva con {@code app.datasource.hold.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(ConnectionHoldProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.hold", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionHoldConfig {
+
+    @Bean
+    public ConnectionHoldTracker connectionHoldTracker(ConnectionHoldProperties properties, MeterRegistry meterRegistry) {
+        return new ConnectionHoldTracker(properties, meterRegistry);
+    }
+
+    /**
+     * Envuelve el DataSource principal; es estático para registrarse antes de que se cree,
+     * y el seguimiento se resuelve de forma perezosa.
+     *
+     * @param tracker Proveedor del seguimiento.
+     * @return El post-procesador del DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor connectionHoldPostProcessor(ObjectProvider<ConnectionHoldTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new ConnectionHoldDataSource(dataSource, tracker.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.security.DisposableDomainBlocklist;
+import com.alejandro.habitjourney.backend.common.security.DisposableDomainProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+
+/**
+ * Lista de dominios de email desechables que consulta el registro. Sin
+ * {@code app.security.disposable-domains.file} la lista está vacía; con un fichero configurado que no
+ * se puede leer la aplicación no arranca, y los cambios posteriores se recargan en caliente.
+ */
+@Configuration
+@EnableConfigurationProperties(DisposableDomainProperties.class)
+public class DisposableDomainConfig {
+
+    @Bean(destroyMethod = "close")
+    public DisposableDomainBlocklist disposableDomainBlocklist(DisposableDomainProperties properties,
+                                                               MeterRegistry meterRegistry) {
+        Path file = StringUtils.hasText(properties.getFile()) ? Path.of(properties.getFile()) : null;
+        return new DisposableDomainBlocklist(file, properties.getReloadInterval(), meterRegistry);
+    }
+}
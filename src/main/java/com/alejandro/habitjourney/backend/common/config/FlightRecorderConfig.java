@@ -0,0 +1,32 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.jfr.FlightRecorderEndpoint;
+import com.alejandro.habitjourney.backend.common.jfr.FlightRecorderProperties;
+import com.alejandro.habitjourney.backend.common.jfr.RepositoryCallPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Eventos JFR propios y endpoint {@code jfr} para grabar bajo demanda.
+ * Los eventos de JWT y de hash de contraseñas se emiten directamente desde
+ * {@code JwtAuthenticationFilter} y {@code TimedPasswordEncoder}.
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+
+    /**
+     * Post-procesador que engancha los eventos de repositorio; es estático para registrarse
+     * antes que el resto de beans.
+     */
+    @Bean
+    public static RepositoryCallPostProcessor repositoryCallPostProcessor() {
+        return new RepositoryCallPostProcessor();
+    }
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(FlightRecorderProperties flightRecorderProperties) {
+        return new FlightRecorderEndpoint(flightRecorderProperties);
+    }
+}
@@ -0,0 +1,54 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.graphql.GraphQlLimitsProperties;
+import com.alejandro.habitjourney.backend.common.graphql.ListArgumentSizeValidation;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.fieldvalidation.FieldValidationInstrumentation;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Límites de la API GraphQL.
+ * Spring Boot añade estas instrumentaciones al motor GraphQL, que rechaza las consultas demasiado profundas,
+ * costosas o con listas de argumentos demasiado largas antes de ejecutar ningún resolver. Los tiempos por resolver los registra la instrumentación
+ * de observabilidad de Spring for GraphQL (métrica {@code graphql.datafetcher}, etiquetada por campo).
+ */
+@Configuration
+@EnableConfigurationProperties(GraphQlLimitsProperties.class)
+public class GraphQlConfig {
+
+    /**
+     * Límite de profundidad de las consultas.
+     *
+     * @param properties Límites configurados.
+     * @return La instrumentación de profundidad máxima.
+     */
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(GraphQlLimitsProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.getMaxDepth());
+    }
+
+    /**
+     * Límite de complejidad de las consultas.
+     *
+     * @param properties Límites configurados.
+     * @return La instrumentación de complejidad máxima.
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(GraphQlLimitsProperties properties) {
+        return new MaxQueryComplexityInstrumentation(properties.getMaxComplexity());
+    }
+
+    /**
+     * Límite de tamaño de los argumentos de tipo lista.
+     *
+     * @param properties Límites configurados.
+     * @return La instrumentación de validación de argumentos.
+     */
+    @Bean
+    public FieldValidationInstrumentation listArgumentSizeInstrumentation(GraphQlLimitsProperties properties) {
+        return new FieldValidationInstrumentation(new ListArgumentSizeValidation(properties.getMaxListSize()));
+    }
+}
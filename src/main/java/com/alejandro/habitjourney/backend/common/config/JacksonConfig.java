@@ -1,22 +1,31 @@
 package com.alejandro.habitjourney.backend.common.config;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
 
+/**
+ * Ajustes del ObjectMapper de la aplicación.
+ * El mapper lo construye Spring Boot con su {@code Jackson2ObjectMapperBuilder}, de modo que se conservan
+ * las propiedades {@code spring.jackson.*} y los módulos registrados (JSR-310, nombres de parámetros...);
+ * aquí solo se añade Blackbird, que sustituye la reflexión por accesores generados con LambdaMetafactory
+ * al (de)serializar los DTOs.
+ */
 @Configuration
 public class JacksonConfig {
 
+    /**
+     * Customizer que añade el módulo Blackbird y mantiene las fechas como texto.
+     *
+     * @return El customizer del builder de Jackson.
+     */
     @Bean
-    @Primary
-    public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        return mapper;
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> builder
+                .modulesToInstall(modules -> modules.add(new BlackbirdModule()))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
-}
\ No newline at end of file
+}
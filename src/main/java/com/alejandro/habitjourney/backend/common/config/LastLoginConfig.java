@@ -0,0 +1,39 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.datasource.ShardTopology;
+import com.alejandro.habitjourney.backend.user.service.LastLoginProperties;
+import com.alejandro.habitjourney.backend.user.service.LastLoginTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Registro diferido del último login. Los volcados van al DataSource principal o, con particionado,
+ * a cada shard directamente. Se desactiva con {@code app.last-login.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(LastLoginProperties.class)
+@ConditionalOnProperty(prefix = "app.last-login", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LastLoginConfig {
+
+    /**
+     * Al depender del DataSource, el tracker se cierra (y vuelca lo pendiente) antes que los pools.
+     */
+    @Bean(destroyMethod = "close")
+    public LastLoginTracker lastLoginTracker(DataSource dataSource, ObjectProvider<ShardTopology> shardTopology,
+                                             LastLoginProperties properties, MeterRegistry meterRegistry) {
+        ShardTopology topology = shardTopology.getIfAvailable();
+        List<JdbcTemplate> targets = topology == null
+                ? List.of(new JdbcTemplate(dataSource))
+                : IntStream.range(0, topology.size()).mapToObj(topology::jdbc).toList();
+        return new LastLoginTracker(targets, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,89 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.alejandro.habitjourney.backend.common.logging.CorrelationIdFilter;
+import com.alejandro.habitjourney.backend.common.logging.DebugLogSampler;
+import com.alejandro.habitjourney.backend.common.logging.DebugSamplingEndpoint;
+import com.alejandro.habitjourney.backend.common.logging.MdcTaskDecorator;
+import com.alejandro.habitjourney.backend.common.logging.UserMdcFilter;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Contexto de los logs estructurados: id de correlación y usuario en el MDC, propagación del MDC
+ * a los ejecutores de tareas y muestreo de logs de depuración por petición con su endpoint
+ * {@code debugsampling}. El appender asíncrono se define en {@code logback-spring.xml}.
+ */
+@Configuration
+public class LoggingConfig implements DisposableBean {
+
+    private final DebugLogSampler debugLogSampler;
+
+    public LoggingConfig(@Value("${app.logging.debug-sampling.rate:0}") double rate) {
+        this.debugLogSampler = new DebugLogSampler(rate);
+        this.debugLogSampler.start();
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            loggerContext.addTurboFilter(debugLogSampler);
+        }
+    }
+
+    @Bean
+    public DebugLogSampler debugLogSampler() {
+        return debugLogSampler;
+    }
+
+    /**
+     * Registro del filtro de correlación; va el primero para que todo lo demás se loguee con el id.
+     *
+     * @return El registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<CorrelationIdFilter> correlationIdFilter() {
+        FilterRegistrationBean<CorrelationIdFilter> registration = new FilterRegistrationBean<>(
+                new CorrelationIdFilter(debugLogSampler));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+        return registration;
+    }
+
+    /**
+     * Registro del filtro del usuario; va detrás de Spring Security, que es quien lo autentica.
+     *
+     * @return El registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<UserMdcFilter> userMdcFilter() {
+        FilterRegistrationBean<UserMdcFilter> registration = new FilterRegistrationBean<>(
+                new UserMdcFilter(debugLogSampler));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    /**
+     * Spring Boot aplica este decorador al {@code applicationTaskExecutor}.
+     *
+     * @return El decorador que propaga el MDC.
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+
+    @Bean
+    public DebugSamplingEndpoint debugSamplingEndpoint() {
+        return new DebugSamplingEndpoint(debugLogSampler);
+    }
+
+    @Override
+    public void destroy() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            loggerContext.getTurboFilterList().remove(debugLogSampler);
+        }
+        debugLogSampler.stop();
+    }
+}
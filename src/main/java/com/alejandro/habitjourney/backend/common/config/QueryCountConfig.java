@@ -0,0 +1,68 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.datasource.QueryBudgetInterceptor;
+import com.alejandro.habitjourney.backend.common.datasource.QueryCountFilter;
+import com.alejandro.habitjourney.backend.common.datasource.QueryCountProperties;
+import com.alejandro.habitjourney.backend.common.datasource.QueryCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Contador de sentencias SQL por petición: envuelve el DataSource principal en
+ * {@link QueryCountingDataSource}, abre las estadísticas en un filtro previo a Spring Security
+ * y aplica los {@code @QueryBudget} de los handlers. Se desactiva con {@code app.query-count.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryCountProperties.class)
+@ConditionalOnProperty(prefix = "app.query-count", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountConfig implements WebMvcConfigurer {
+
+    /**
+     * Envuelve el DataSource principal; es estático para registrarse antes de que se cree.
+     *
+     * @return El post-procesador del DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor queryCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new QueryCountingDataSource(dataSource);
+            }
+        };
+    }
+
+    /**
+     * Registro del filtro; va por delante de Spring Security para contar también la carga del usuario del JWT.
+     *
+     * @param properties Propiedades del contador.
+     * @param meterRegistry Registro de métricas.
+     * @return El registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryCountProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+                new QueryCountFilter(meterRegistry, properties.isStrict()));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 4);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor());
+    }
+}
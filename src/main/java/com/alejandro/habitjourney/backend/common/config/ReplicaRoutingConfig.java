@@ -0,0 +1,113 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.datasource.ReplicaLagMonitor;
+import com.alejandro.habitjourney.backend.common.datasource.ReplicaRoutingDataSource;
+import com.alejandro.habitjourney.backend.common.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del enrutado de lecturas hacia réplicas.
+ * Sustituye el DataSource autoconfigurado por un proxy perezoso sobre
+ * {@link ReplicaRoutingDataSource}, de modo que las transacciones marcadas con
+ * {@code @Transactional(readOnly = true)} se sirven desde las réplicas y el resto desde el primario.
+ * Solo se activa con {@code app.datasource.routing.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Pool del primario, construido a partir de las propiedades estándar {@code spring.datasource.*}.
+     *
+     * @param properties Propiedades del DataSource de Spring Boot.
+     * @param meterRegistry Registro para las métricas de HikariCP.
+     * @return El pool del primario.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY_POOL);
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+
+    /**
+     * Monitor de retraso que crea y vigila los pools de réplica configurados.
+     *
+     * @param properties Propiedades del enrutado.
+     * @param meterRegistry Registro para las métricas de las réplicas.
+     * @return El monitor de réplicas.
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        List<ReplicaLagMonitor.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica config = properties.getReplicas().get(i);
+            String name = "replica-" + i;
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(config.getUrl());
+            pool.setUsername(config.getUsername());
+            pool.setPassword(config.getPassword());
+            if (config.getDriverClassName() != null) {
+                pool.setDriverClassName(config.getDriverClassName());
+            }
+            pool.setMaximumPoolSize(config.getMaximumPoolSize());
+            pool.setConnectionTimeout(config.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(meterRegistry);
+            replicas.add(new ReplicaLagMonitor.Replica(name, pool));
+        }
+        return new ReplicaLagMonitor(replicas, properties.getLagQuery(), properties.getMaxLag(), meterRegistry);
+    }
+
+    /**
+     * DataSource principal de la aplicación.
+     * El proxy perezoso retrasa la obtención de la conexión física hasta la primera sentencia,
+     * cuando el indicador de solo lectura de la transacción ya está disponible.
+     *
+     * @param primaryDataSource Pool del primario.
+     * @param replicaLagMonitor Monitor de réplicas.
+     * @param meterRegistry Registro para las métricas de enrutado.
+     * @return El DataSource enrutado.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaLagMonitor.replicas(), replicaLagMonitor, meterRegistry);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Libera la conexión al terminar cada transacción.
+     * Con open-session-in-view Hibernate retendría la conexión de la primera transacción
+     * durante toda la petición, y una escritura posterior acabaría en la réplica.
+     *
+     * @return El customizer de propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
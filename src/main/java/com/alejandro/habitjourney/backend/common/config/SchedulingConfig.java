@@ -0,0 +1,13 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita la ejecución de tareas programadas con {@code @Scheduled}
+ * (comprobaciones periódicas de infraestructura, vaciados en segundo plano, etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
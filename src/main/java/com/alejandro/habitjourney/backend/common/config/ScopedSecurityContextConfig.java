@@ -0,0 +1,64 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.security.ScopedSecurityContextFilter;
+import com.alejandro.habitjourney.backend.common.security.ScopedValueSecurityContextHolderStrategy;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+/**
+ * Sustituye el almacenamiento ThreadLocal del contexto de seguridad por un {@link ScopedValue}
+ * enlazado por petición. Pensado para el modo de hilos virtuales; se activa con
+ * {@code app.security.context-strategy=scoped} y requiere arrancar la JVM con {@code --enable-preview}.
+ * La estrategia global anterior se restaura al cerrar el contexto, para no afectar a otros contextos
+ * de la misma JVM (por ejemplo, en las pruebas).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.security", name = "context-strategy", havingValue = "scoped")
+public class ScopedSecurityContextConfig implements DisposableBean {
+
+    private SecurityContextHolderStrategy previousStrategy;
+    private SecurityContextHolderStrategy installedStrategy;
+
+    /**
+     * Estrategia del contexto de seguridad. Spring Security la toma del contexto de aplicación
+     * y se instala también como estrategia global para el acceso estático desde servicios y filtros.
+     *
+     * @return La estrategia basada en ScopedValue.
+     */
+    @Bean
+    public SecurityContextHolderStrategy securityContextHolderStrategy() {
+        previousStrategy = SecurityContextHolder.getContextHolderStrategy();
+        installedStrategy = new ScopedValueSecurityContextHolderStrategy(previousStrategy);
+        SecurityContextHolder.setContextHolderStrategy(installedStrategy);
+        return installedStrategy;
+    }
+
+    /**
+     * Restaura la estrategia global anterior, salvo que otro contexto haya instalado ya la suya.
+     */
+    @Override
+    public void destroy() {
+        if (installedStrategy != null && SecurityContextHolder.getContextHolderStrategy() == installedStrategy) {
+            SecurityContextHolder.setContextHolderStrategy(previousStrategy);
+        }
+    }
+
+    /**
+     * Registra el filtro que enlaza el ámbito justo antes de la cadena de Spring Security.
+     *
+     * @return El registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<ScopedSecurityContextFilter> scopedSecurityContextFilter() {
+        FilterRegistrationBean<ScopedSecurityContextFilter> registration =
+                new FilterRegistrationBean<>(new ScopedSecurityContextFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
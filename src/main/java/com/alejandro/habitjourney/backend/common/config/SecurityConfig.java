@@ -1,7 +1,10 @@
 package com.alejandro.habitjourney.backend.common.config;
 
 import com.alejandro.habitjourney.backend.common.security.JwtAuthenticationFilter;
+import com.alejandro.habitjourney.backend.common.security.SecurityMetrics;
+import com.alejandro.habitjourney.backend.common.security.TimedPasswordEncoder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -41,16 +44,18 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationEntryPoint authEntryPointJwt;
     private final AccessDeniedHandler customAccessDeniedHandler;
+    private final SecurityMetrics securityMetrics;
 
     /**
      * Define el Bean para el codificador de contraseñas.
-     * Se utiliza BCryptPasswordEncoder, que es un algoritmo seguro para hashear contraseñas.
+     * Se utiliza BCryptPasswordEncoder, que es un algoritmo seguro para hashear contraseñas,
+     * envuelto para medir la duración de cada hash.
      *
      * @return El PasswordEncoder configurado.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), securityMetrics);
     }
 
     /**
@@ -84,7 +89,9 @@ public class SecurityConfig {
     /**
      * Configura la cadena de filtros de seguridad HTTP.
      * Define reglas CSRF, CORS, gestión de sesiones, reglas de autorización
-     * e integra el filtro JWT.
+     * e integra el filtro JWT. Los endpoints de Actuator health y prometheus quedan abiertos para
+     * los sondeos y el scraping; en producción deben publicarse solo en la red interna.
+     * El resto de endpoints de Actuator que se expongan por web exigen el rol ADMIN.
      *
      * @param http El objeto HttpSecurity a configurar.
      * @return La cadena de filtros de seguridad construida.
@@ -109,6 +116,8 @@ public class SecurityConfig {
                                         "/swagger-ui.html",
                                         "/swagger-resources/**",
                                         "/configuration/ui").permitAll()
+                                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                                 .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -127,8 +136,9 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With",
+                "If-Match", "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
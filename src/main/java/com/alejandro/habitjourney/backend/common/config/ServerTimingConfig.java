@@ -0,0 +1,30 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.security.ServerTimingFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra el filtro de la cabecera {@code Server-Timing}. Solo para depuración:
+ * se activa con {@code app.security.server-timing.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.security.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    /**
+     * Registro del filtro; va por delante del limitador de concurrencia y de Spring Security
+     * para que el total incluya todas las fases.
+     *
+     * @return El registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
+        return registration;
+    }
+}
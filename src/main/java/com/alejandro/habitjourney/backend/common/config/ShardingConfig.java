@@ -0,0 +1,146 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.datasource.EmailShardDirectory;
+import com.alejandro.habitjourney.backend.common.datasource.ShardRoutingDataSource;
+import com.alejandro.habitjourney.backend.common.datasource.ShardTopology;
+import com.alejandro.habitjourney.backend.common.datasource.ShardedUserRepositoryInterceptor;
+import com.alejandro.habitjourney.backend.common.datasource.ShardedUserRepositoryPostProcessor;
+import com.alejandro.habitjourney.backend.common.datasource.ShardingProperties;
+import com.alejandro.habitjourney.backend.common.datasource.ShardsEndpoint;
+import com.alejandro.habitjourney.backend.common.datasource.UserShardLocks;
+import com.alejandro.habitjourney.backend.common.datasource.UserShardRebalancer;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del almacén de usuarios particionado en varios shards.
+ * Crea un pool por shard, prepara el esquema y la identidad intercalada, carga el directorio
+ * email → shard y engancha el enrutado al proxy de {@code UserRepository}.
+ * Solo se activa con {@code app.sharding.enabled=true}; con una única base de datos
+ * la aplicación sigue usando el DataSource autoconfigurado sin ningún coste añadido.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Pools de los shards ya inicializados.
+     *
+     * @param properties Propiedades del particionado.
+     * @param resourceLoader Cargador de los scripts de esquema.
+     * @param meterRegistry Registro para las métricas de HikariCP.
+     * @param replicaRoutingEnabled Indica si el enrutado a réplicas está activo (incompatible).
+     * @return La topología de shards.
+     */
+    @Bean
+    public ShardTopology shardTopology(ShardingProperties properties, ResourceLoader resourceLoader,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.datasource.routing.enabled:false}") boolean replicaRoutingEnabled) {
+        if (replicaRoutingEnabled) {
+            throw new IllegalStateException("El particionado y el enrutado a réplicas no pueden activarse a la vez");
+        }
+        List<DataSource> pools = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard config = properties.getShards().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + i);
+            pool.setJdbcUrl(config.getUrl());
+            pool.setUsername(config.getUsername());
+            pool.setPassword(config.getPassword());
+            if (config.getDriverClassName() != null) {
+                pool.setDriverClassName(config.getDriverClassName());
+            }
+            pool.setMaximumPoolSize(config.getMaximumPoolSize());
+            pool.setConnectionTimeout(config.getConnectionTimeout().toMillis());
+            pool.setMetricRegistry(meterRegistry);
+            pools.add(pool);
+        }
+        ShardTopology topology = new ShardTopology(pools);
+        topology.initialize(properties, resourceLoader);
+        return topology;
+    }
+
+    /**
+     * Directorio email → shard, cargado desde todos los shards al arrancar.
+     */
+    @Bean
+    public EmailShardDirectory emailShardDirectory(ShardTopology shardTopology) {
+        EmailShardDirectory directory = new EmailShardDirectory(shardTopology);
+        directory.reload();
+        return directory;
+    }
+
+    @Bean
+    public UserShardLocks userShardLocks() {
+        return new UserShardLocks();
+    }
+
+    @Bean
+    public UserShardRebalancer userShardRebalancer(ShardTopology shardTopology, EmailShardDirectory emailShardDirectory,
+                                                   UserShardLocks userShardLocks) {
+        return new UserShardRebalancer(shardTopology, emailShardDirectory, userShardLocks);
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(UserShardRebalancer userShardRebalancer, EmailShardDirectory emailShardDirectory) {
+        return new ShardsEndpoint(userShardRebalancer, emailShardDirectory);
+    }
+
+    @Bean
+    public ShardedUserRepositoryInterceptor shardedUserRepositoryInterceptor(ShardTopology shardTopology,
+                                                                             EmailShardDirectory emailShardDirectory,
+                                                                             UserShardLocks userShardLocks) {
+        return new ShardedUserRepositoryInterceptor(shardTopology, emailShardDirectory, userShardLocks);
+    }
+
+    /**
+     * Post-procesador que engancha el interceptor al repositorio; es estático para registrarse
+     * antes que el resto de beans de esta configuración.
+     */
+    @Bean
+    public static ShardedUserRepositoryPostProcessor shardedUserRepositoryPostProcessor(
+            ObjectProvider<ShardedUserRepositoryInterceptor> interceptor) {
+        return new ShardedUserRepositoryPostProcessor(interceptor);
+    }
+
+    /**
+     * DataSource principal: proxy perezoso sobre el shard fijado en cada operación del repositorio.
+     *
+     * @param shardTopology Topología de shards.
+     * @return El DataSource enrutado.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardTopology shardTopology) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardTopology));
+    }
+
+    /**
+     * Libera la conexión al terminar cada transacción para que open-session-in-view
+     * no reutilice la conexión de un shard en operaciones posteriores sobre otro.
+     *
+     * @return El customizer de propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
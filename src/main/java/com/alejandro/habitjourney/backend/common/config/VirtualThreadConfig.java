@@ -0,0 +1,51 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.datasource.ConnectionPermitDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Ajustes del modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}).
+ * Spring Boot ya ejecuta con hilos virtuales las peticiones de Tomcat y los ejecutores de
+ * {@code @Async} y {@code @Scheduled}; aquí se protege el DataSource principal con
+ * {@link ConnectionPermitDataSource} para que la concurrencia ilimitada no desborde la base de datos.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Envuelve el DataSource principal en el limitador de conexiones.
+     * Los permisos por defecto coinciden con el tamaño máximo del pool de HikariCP.
+     *
+     * @param environment Entorno para leer los límites configurados.
+     * @param meterRegistry Registro para las métricas del limitador.
+     * @return El post-procesador del DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor(Environment environment,
+                                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                int permits = environment.getProperty("app.datasource.permits.max", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                Duration timeout = environment.getProperty("app.datasource.permits.timeout", Duration.class,
+                        Duration.ofSeconds(30));
+                return new ConnectionPermitDataSource(dataSource, permits, timeout, meterRegistry.getObject());
+            }
+        };
+    }
+}
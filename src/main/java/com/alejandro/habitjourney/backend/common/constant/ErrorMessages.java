@@ -8,6 +8,7 @@ public class ErrorMessages {
 
     public static final String VALIDATION_EMAIL_EMPTY = "El email no puede estar vacío";
     public static final String VALIDATION_EMAIL_FORMAT = "El formato del correo electrónico no es válido";
+    public static final String VALIDATION_EMAIL_DISPOSABLE = "No se admiten direcciones de correo electrónico desechables";
     public static final String VALIDATION_PASSWORD_NULL = "La contraseña no puede ser nula";
     public static final String VALIDATION_PASSWORD_MIN_LENGTH = "La contraseña debe tener al menos %d caracteres";
     public static final String VALIDATION_PASSWORD_MAX_LENGTH = "La contraseña no puede tener más de %d caracteres";
@@ -15,6 +16,7 @@ public class ErrorMessages {
     public static final String VALIDATION_PASSWORD_LOWERCASE = "La contraseña debe contener al menos una minúscula";
     public static final String VALIDATION_PASSWORD_DIGIT = "La contraseña debe contener al menos un dígito";
     public static final String VALIDATION_PASSWORD_SPECIAL_CHAR = "La contraseña debe contener al menos un carácter especial";
+    public static final String VALIDATION_PASSWORD_BREACHED = "La contraseña aparece en filtraciones de datos conocidas; elige otra";
     public static final String VALIDATION_NAME_EMPTY = "El nombre no puede estar vacío";
     public static final String VALIDATION_NAME_MIN_LENGTH = "El nombre debe tener al menos %d caracteres";
 
@@ -36,11 +38,20 @@ public class ErrorMessages {
     public static final String TITLE_UNAUTHORIZED= "Acceso no autorizado";
     public static final String TITLE_INTERNAL_SERVER_ERROR= "Error interno";
     public static final String TITLE_FORBIDDEN = "Forbidden";
+    public static final String TITLE_SERVICE_UNAVAILABLE = "Servicio no disponible";
+    public static final String TITLE_PRECONDITION_FAILED = "Precondición fallida";
 
     public static final String MESSAGE_AUTHENTICATION_REQUIRED = "Se requiere autenticación para acceder a este recurso.";
     public static final String MESSAGE_INVALID_TOKEN = "Token de autenticación inválido o ausente.";
     public static final String MESSAGE_ACCESS_DENIED = "No tiene permisos suficientes para acceder a este recurso.";
     public static final String AUTHENTICATION_ERROR = "Error de autenticación";
+    public static final String MESSAGE_VERSION_MISMATCH = "El recurso ha sido modificado por otra petición. Vuelva a obtenerlo e inténtelo de nuevo.";
+    public static final String BATCH_TOO_MANY_OPERATIONS = "El lote no puede contener más de %d operaciones";
+    public static final String BATCH_DUPLICATE_ID = "Identificador de operación repetido en el lote: %s";
+    public static final String BATCH_UNKNOWN_DEPENDENCY = "La operación %s depende de %s, que no aparece antes en el lote";
+    public static final String BATCH_NESTED = "Un lote no puede contener llamadas a /api/batch";
+    public static final String BATCH_INVALID_PATH = "Ruta con codificación no válida en el lote: %s";
+    public static final String MESSAGE_SERVER_OVERLOADED = "El servidor está saturado. Inténtelo de nuevo en unos segundos.";
 
     public static final String JWT_SECRET_DECODE_ERROR = "Error al decodificar la clave secreta JWT. Asegúrese de que 'jwt.secret' es una cadena Base64 válida.";
     public static final String JWT_SECRET_INVALID = "Error de configuración JWT: Clave secreta no válida.";
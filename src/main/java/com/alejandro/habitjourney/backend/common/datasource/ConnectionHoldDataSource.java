@@ -0,0 +1,34 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@link DataSource} que pasa cada conexión por {@link ConnectionHoldTracker} para medir su retención.
+ */
+public class ConnectionHoldDataSource extends DelegatingDataSource {
+
+    private final ConnectionHoldTracker tracker;
+
+    /**
+     * @param target DataSource real.
+     * @param tracker Seguimiento de retenciones.
+     */
+    public ConnectionHoldDataSource(DataSource target, ConnectionHoldTracker tracker) {
+        super(target);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracker.track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracker.track(super.getConnection(username, password));
+    }
+}
@@ -0,0 +1,40 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del seguimiento de tiempo de retención de conexiones ({@code app.datasource.hold.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.hold")
+public class ConnectionHoldProperties {
+
+    /**
+     * Activa el seguimiento.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Retención a partir de la cual se avisa al cerrar la conexión.
+     */
+    private Duration longHoldThreshold = Duration.ofSeconds(2);
+
+    /**
+     * Retención a partir de la cual una conexión aún abierta se considera una posible fuga.
+     */
+    private Duration leakThreshold = Duration.ofSeconds(30);
+
+    /**
+     * Intervalo de la comprobación de posibles fugas.
+     */
+    private Duration checkInterval = Duration.ofSeconds(10);
+
+    /**
+     * Captura la traza de quien obtiene cada conexión para incluirla en los avisos.
+     * Cuesta una traza por conexión, así que conviene activarlo solo para diagnosticar.
+     */
+    private boolean captureStack = false;
+}
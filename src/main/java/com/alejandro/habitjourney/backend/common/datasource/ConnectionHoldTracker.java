@@ -0,0 +1,150 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mide cuánto tiempo se retiene cada conexión, desde que se obtiene hasta su {@code close()}.
+ * Publica {@code datasource.connection.hold}, avisa de las retenciones largas al cerrar
+ * ({@code datasource.connection.long-holds}) y, en una comprobación periódica, de las conexiones
+ * que siguen abiertas más allá del umbral de fuga ({@code datasource.connection.leak-suspects}).
+ * Con {@code capture-stack} los avisos incluyen la traza de quien obtuvo la conexión.
+ */
+public class ConnectionHoldTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionHoldTracker.class);
+
+    private final Set<Hold> open = ConcurrentHashMap.newKeySet();
+    private final long longHoldNanos;
+    private final long leakNanos;
+    private final boolean captureStack;
+    private final Timer holdTimer;
+    private final Counter longHolds;
+    private final Counter leakSuspects;
+
+    /**
+     * @param properties Umbrales del seguimiento.
+     * @param meterRegistry Registro de métricas.
+     */
+    public ConnectionHoldTracker(ConnectionHoldProperties properties, MeterRegistry meterRegistry) {
+        this.longHoldNanos = properties.getLongHoldThreshold().toNanos();
+        this.leakNanos = properties.getLeakThreshold().toNanos();
+        this.captureStack = properties.isCaptureStack();
+        this.holdTimer = Timer.builder("datasource.connection.hold")
+                .description("Tiempo desde que se obtiene una conexión hasta que se cierra")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.longHolds = Counter.builder("datasource.connection.long-holds")
+                .description("Conexiones retenidas más del umbral de aviso")
+                .register(meterRegistry);
+        this.leakSuspects = Counter.builder("datasource.connection.leak-suspects")
+                .description("Conexiones abiertas más del umbral de fuga")
+                .register(meterRegistry);
+        Gauge.builder("datasource.connection.held", open, Set::size)
+                .description("Conexiones obtenidas y aún sin cerrar")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Envuelve una conexión recién obtenida para medir su retención.
+     *
+     * @param connection Conexión real.
+     * @return La conexión envuelta.
+     */
+    public Connection track(Connection connection) {
+        Hold hold = new Hold(System.nanoTime(), Thread.currentThread().getName(),
+                captureStack ? new Throwable("Conexión obtenida aquí") : null);
+        open.add(hold);
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            released(hold);
+                        }
+                    }
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    /**
+     * Avisa una vez por cada conexión abierta más allá del umbral de fuga.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.hold.check-interval:10s}")
+    public void checkLeaks() {
+        long now = System.nanoTime();
+        for (Hold hold : open) {
+            long held = now - hold.startNanos();
+            if (held > leakNanos && hold.reported().compareAndSet(false, true)) {
+                leakSuspects.increment();
+                logger.warn("Posible fuga de conexión: abierta desde hace {} por el hilo {}",
+                        Duration.ofNanos(held), hold.thread(), hold.acquiredAt());
+            }
+        }
+    }
+
+    private void released(Hold hold) {
+        open.remove(hold);
+        long held = System.nanoTime() - hold.startNanos();
+        holdTimer.record(held, TimeUnit.NANOSECONDS);
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.connectionReleased(held);
+        }
+        if (held > longHoldNanos) {
+            longHolds.increment();
+            logger.warn("Conexión retenida {} por el hilo {}", Duration.ofNanos(held), hold.thread(), hold.acquiredAt());
+        }
+    }
+
+    /**
+     * Conexión abierta; se compara por identidad.
+     */
+    private record Hold(long startNanos, String thread, Throwable acquiredAt, AtomicBoolean reported) {
+
+        Hold(long startNanos, String thread, Throwable acquiredAt) {
+            this(startNanos, thread, acquiredAt, new AtomicBoolean());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
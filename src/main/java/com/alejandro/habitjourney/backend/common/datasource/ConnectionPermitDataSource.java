@@ -0,0 +1,114 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link DataSource} que limita con un semáforo justo el número de conexiones en uso a la vez.
+ * Con hilos virtuales no hay un pool de hilos que acote la concurrencia, así que miles de peticiones
+ * podrían competir por el pool de HikariCP; el semáforo las pone en cola (FIFO y sin bloquear
+ * hilos de plataforma) y el permiso se devuelve al cerrar la conexión.
+ */
+public class ConnectionPermitDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long timeoutNanos;
+
+    /**
+     * Crea el limitador sobre el DataSource indicado.
+     *
+     * @param target DataSource real.
+     * @param maxPermits Número máximo de conexiones simultáneas.
+     * @param timeout Tiempo máximo de espera por un permiso.
+     * @param meterRegistry Registro para las métricas del semáforo.
+     */
+    public ConnectionPermitDataSource(DataSource target, int maxPermits, Duration timeout, MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxPermits, true);
+        this.timeoutNanos = timeout.toNanos();
+        Gauge.builder("datasource.permits.available", permits, Semaphore::availablePermits)
+                .description("Permisos de conexión libres")
+                .register(meterRegistry);
+        Gauge.builder("datasource.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Hilos esperando un permiso de conexión")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Tiempo de espera agotado esperando un permiso de conexión");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando un permiso de conexión", e);
+        }
+    }
+
+    /**
+     * Envuelve la conexión para devolver el permiso en el primer {@code close()}.
+     */
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
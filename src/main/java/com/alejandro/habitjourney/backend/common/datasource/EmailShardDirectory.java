@@ -0,0 +1,226 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Directorio compacto en memoria que resuelve en qué shard vive cada usuario.
+ * Los emails se guardan como hash de 64 bits en una tabla de direccionamiento abierto
+ * ({@code long[]} + {@code byte[]}), unos 9 bytes por usuario sin objetos por entrada.
+ * Los ids que no residen en su shard natural (usuarios movidos) se registran aparte.
+ * El directorio se reconstruye al arrancar leyendo todos los shards.
+ * <p>
+ * Cada instancia tiene el suyo y no ve las altas ni los traslados hechos por otras, así que es solo
+ * una pista: {@link ShardedUserRepositoryInterceptor} comprueba cada resolución en el shard y, si falla,
+ * busca en el resto y corrige el directorio con {@link #register}.
+ */
+public class EmailShardDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailShardDirectory.class);
+    private static final long EMPTY = 0L;
+    private static final byte TOMBSTONE = -1;
+
+    private final ShardTopology topology;
+    private final Map<Long, Integer> relocatedIds = new ConcurrentHashMap<>();
+    private final StampedLock lock = new StampedLock();
+
+    private long[] keys;
+    private byte[] shards;
+    private int used;
+
+    /**
+     * Crea un directorio vacío para la topología indicada.
+     *
+     * @param topology Topología de shards.
+     */
+    public EmailShardDirectory(ShardTopology topology) {
+        this.topology = topology;
+        this.keys = new long[1024];
+        this.shards = new byte[1024];
+    }
+
+    /**
+     * Reconstruye el directorio recorriendo la tabla de usuarios de todos los shards.
+     */
+    public void reload() {
+        long stamp = lock.writeLock();
+        try {
+            keys = new long[1024];
+            shards = new byte[1024];
+            used = 0;
+            relocatedIds.clear();
+            for (int shard = 0; shard < topology.size(); shard++) {
+                int current = shard;
+                topology.jdbc(shard).query("SELECT id, email FROM users", rs -> {
+                    long id = rs.getLong(1);
+                    insert(hash(rs.getString(2)), current);
+                    if (topology.homeShard(id) != current) {
+                        relocatedIds.put(id, current);
+                    }
+                });
+            }
+            logger.info("Directorio de shards cargado: {} usuarios, {} reubicados", used, relocatedIds.size());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Shard donde reside el usuario con el email indicado.
+     *
+     * @param email Email del usuario.
+     * @return Número de shard o -1 si el email no está registrado.
+     */
+    public int shardForEmail(String email) {
+        long key = hash(email);
+        long stamp = lock.tryOptimisticRead();
+        long[] currentKeys = keys;
+        byte[] currentShards = shards;
+        int shard = currentKeys.length == currentShards.length ? find(currentKeys, currentShards, key) : -1;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                shard = find(keys, shards, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Shard donde reside el usuario con el id indicado.
+     *
+     * @param id Id del usuario.
+     * @return Número de shard.
+     */
+    public int shardForId(long id) {
+        Integer relocated = relocatedIds.get(id);
+        return relocated != null ? relocated : topology.homeShard(id);
+    }
+
+    /**
+     * Registra (o actualiza) la ubicación de un usuario.
+     *
+     * @param id Id del usuario.
+     * @param email Email del usuario.
+     * @param shard Shard donde reside.
+     */
+    public void register(long id, String email, int shard) {
+        long stamp = lock.writeLock();
+        try {
+            insert(hash(email), shard);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (topology.homeShard(id) != shard) {
+            relocatedIds.put(id, shard);
+        } else {
+            relocatedIds.remove(id);
+        }
+    }
+
+    /**
+     * Elimina un usuario del directorio.
+     *
+     * @param id Id del usuario.
+     * @param email Email del usuario.
+     */
+    public void remove(long id, String email) {
+        long stamp = lock.writeLock();
+        try {
+            long key = hash(email);
+            int mask = keys.length - 1;
+            for (int slot = (int) mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    shards[slot] = TOMBSTONE;
+                    break;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        relocatedIds.remove(id);
+    }
+
+    /**
+     * Hash de 64 bits de un email (FNV-1a con mezcla final), nunca cero.
+     *
+     * @param email Email a resumir.
+     * @return Hash del email.
+     */
+    public static long hash(String email) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < email.length(); i++) {
+            h ^= email.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = mix(h);
+        return h == EMPTY ? 1L : h;
+    }
+
+    private static int find(long[] keys, byte[] shards, long key) {
+        int mask = keys.length - 1;
+        for (int slot = (int) mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long candidate = keys[slot];
+            if (candidate == EMPTY) {
+                return -1;
+            }
+            if (candidate == key) {
+                return shards[slot];
+            }
+        }
+    }
+
+    private void insert(long key, int shard) {
+        if ((used + 1) * 2L > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            used++;
+        }
+        keys[slot] = key;
+        shards[slot] = (byte) shard;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        byte[] oldShards = shards;
+        long[] newKeys = new long[oldKeys.length * 2];
+        byte[] newShards = new byte[oldKeys.length * 2];
+        int mask = newKeys.length - 1;
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldShards[i] != TOMBSTONE) {
+                int slot = (int) mix(oldKeys[i]) & mask;
+                while (newKeys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = oldKeys[i];
+                newShards[slot] = oldShards[i];
+                live++;
+            }
+        }
+        keys = newKeys;
+        shards = newShards;
+        used = live;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
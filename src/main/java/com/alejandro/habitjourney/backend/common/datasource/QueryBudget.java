@@ -0,0 +1,23 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de sentencias SQL que puede ejecutar una petición atendida por el handler anotado,
+ * contando también las de los filtros (la carga del usuario del JWT incluida).
+ * En producción superarlo solo se registra; con {@code app.query-count.strict=true} la petición falla.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * @return Máximo de sentencias por petición.
+     */
+    int value();
+}
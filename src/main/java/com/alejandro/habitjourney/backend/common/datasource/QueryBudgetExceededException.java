@@ -0,0 +1,17 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+/**
+ * Una petición ha ejecutado más sentencias SQL de las que declara su {@link QueryBudget}.
+ * Solo se lanza en modo estricto ({@code app.query-count.strict=true}), pensado para los tests.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    /**
+     * @param owner Handler que declara el presupuesto.
+     * @param budget Presupuesto declarado.
+     * @param statements Sentencias ejecutadas hasta ahora.
+     */
+    public QueryBudgetExceededException(String owner, int budget, int statements) {
+        super("Presupuesto de consultas superado en " + owner + ": " + statements + " sentencias, máximo " + budget);
+    }
+}
@@ -0,0 +1,88 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.alejandro.habitjourney.backend.common.util.BeforeCommitResponseWrapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abre un {@link QueryStats} por petición, devuelve el número de sentencias en la cabecera
+ * {@code X-Query-Count} y publica por ruta las métricas {@code http.server.queries},
+ * {@code http.server.query.rows}, {@code http.server.query.time}, {@code http.server.connection.hold}
+ * y {@code http.server.query.budget.exceeded}.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Query-Count";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean strict;
+
+    /**
+     * @param meterRegistry Registro de métricas.
+     * @param strict Si superar un {@link QueryBudget} debe hacer fallar la petición.
+     */
+    public QueryCountFilter(MeterRegistry meterRegistry, boolean strict) {
+        this.meterRegistry = meterRegistry;
+        this.strict = strict;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin(strict);
+        BeforeCommitResponseWrapper wrapper = new BeforeCommitResponseWrapper(response,
+                () -> response.setHeader(HEADER, Integer.toString(stats.getStatements())));
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.beforeCommit();
+            QueryStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.queries")
+                .description("Sentencias SQL por petición")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.query.rows")
+                .description("Filas leídas o modificadas por petición")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("http.server.query.time")
+                .description("Tiempo en base de datos por petición")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("http.server.connection.hold")
+                .description("Tiempo que la petición retiene conexiones JDBC")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+        if (stats.isOverBudget()) {
+            meterRegistry.counter("http.server.query.budget.exceeded", "uri", uri).increment();
+            logger.warn("Presupuesto de consultas superado en {}: {} sentencias, máximo {}",
+                    stats.getBudgetOwner(), stats.getStatements(), stats.getBudget());
+        }
+    }
+}
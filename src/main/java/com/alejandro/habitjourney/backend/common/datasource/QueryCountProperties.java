@@ -0,0 +1,22 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades del contador de sentencias SQL por petición ({@code app.query-count.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.query-count")
+public class QueryCountProperties {
+
+    /**
+     * Activa el contador, la cabecera X-Query-Count y las métricas por ruta.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Hace fallar las peticiones que superan su {@link QueryBudget} en lugar de solo registrarlo.
+     */
+    private boolean strict = false;
+}
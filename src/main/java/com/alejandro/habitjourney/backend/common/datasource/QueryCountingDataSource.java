@@ -0,0 +1,127 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@link DataSource} que anota en {@link QueryStats} cada sentencia ejecutada, su duración y las filas
+ * leídas ({@code ResultSet.next()}) o modificadas. Las conexiones obtenidas fuera de una petición
+ * se devuelven sin envolver, así que el coste solo lo pagan las peticiones HTTP.
+ * Un {@code executeBatch} cuenta como una sentencia: es un único viaje a la base de datos.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    /**
+     * @param target DataSource real.
+     */
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return result instanceof Statement statement && isStatementFactory(method)
+                    ? statement(statement, method.getReturnType(), stats)
+                    : result;
+        });
+    }
+
+    private static Object statement(Statement statement, Class<?> type, QueryStats stats) {
+        Class<?> iface = type == CallableStatement.class ? CallableStatement.class
+                : type == PreparedStatement.class ? PreparedStatement.class : Statement.class;
+        return proxy(iface, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result = invoke(statement, method, args);
+                stats.statementExecuted(System.nanoTime() - start);
+                return counted(result, stats);
+            }
+            if (name.equals("getResultSet")) {
+                return counted(invoke(statement, method, args), stats);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object counted(Object result, QueryStats stats) {
+        if (result instanceof ResultSet resultSet) {
+            return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+                Object value = invoke(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(value)) {
+                    stats.rowsAffected(1);
+                }
+                return value;
+            });
+        }
+        if (result instanceof Integer count) {
+            stats.rowsAffected(count);
+        } else if (result instanceof Long count) {
+            stats.rowsAffected(count);
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                stats.rowsAffected(count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                stats.rowsAffected(count);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isStatementFactory(Method method) {
+        String name = method.getName();
+        return name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> iface, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{iface}, (proxy, method, args) -> {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                return proxy;
+            }
+            return handler.invoke(proxy, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+/**
+ * Sentencias SQL, filas leídas o modificadas, tiempo en base de datos y tiempo de retención de conexiones
+ * de la petición HTTP en curso.
+ * Lo abre {@link QueryCountFilter} por petición y lo alimenta {@link QueryCountingDataSource};
+ * fuera de una petición (tareas programadas, hilos en segundo plano) no hay estadísticas y no se cuenta nada.
+ * <p>
+ * Si el handler declara un {@link QueryBudget} y el modo estricto está activo, la sentencia que
+ * lo supera falla con {@link QueryBudgetExceededException}; así los tests de integración detectan
+ * las regresiones N+1 en la propia petición.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final boolean strict;
+    private int statements;
+    private long rows;
+    private long nanos;
+    private long connectionHoldNanos;
+    private int budget = -1;
+    private String budgetOwner;
+
+    private QueryStats(boolean strict) {
+        this.strict = strict;
+    }
+
+    /**
+     * Abre las estadísticas de la petición en el hilo actual.
+     *
+     * @param strict Si superar el presupuesto debe hacer fallar la sentencia.
+     * @return Las estadísticas abiertas.
+     */
+    static QueryStats begin(boolean strict) {
+        QueryStats stats = new QueryStats(strict);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Cierra las estadísticas del hilo actual.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return Las estadísticas de la petición en curso, o null fuera de una petición.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Fija el presupuesto de sentencias de la petición; cuenta también las ya ejecutadas
+     * (por ejemplo, la carga del usuario en el filtro JWT).
+     *
+     * @param budget Máximo de sentencias.
+     * @param owner Handler que lo declara, para los mensajes.
+     */
+    public void limitTo(int budget, String owner) {
+        this.budget = budget;
+        this.budgetOwner = owner;
+        checkBudget();
+    }
+
+    void statementExecuted(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        checkBudget();
+    }
+
+    void rowsAffected(long count) {
+        if (count > 0) {
+            rows += count;
+        }
+    }
+
+    void connectionReleased(long heldNanos) {
+        connectionHoldNanos += heldNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return Suma del tiempo que la petición ha retenido conexiones, según {@link ConnectionHoldTracker}.
+     */
+    public long getConnectionHoldNanos() {
+        return connectionHoldNanos;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public String getBudgetOwner() {
+        return budgetOwner;
+    }
+
+    /**
+     * @return true si hay presupuesto y se ha superado.
+     */
+    public boolean isOverBudget() {
+        return budget >= 0 && statements > budget;
+    }
+
+    private void checkBudget() {
+        if (strict && isOverBudget()) {
+            throw new QueryBudgetExceededException(budgetOwner, budget, statements);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vigila el retraso de replicación de cada réplica y decide cuáles pueden atender lecturas.
+ * Una réplica se considera sana si la consulta de retraso responde y el valor obtenido
+ * no supera el máximo configurado; en cualquier otro caso las lecturas vuelven al primario.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * Crea el monitor para los pools de réplica indicados.
+     *
+     * @param replicas Pools de réplica indexados por nombre.
+     * @param lagQuery Consulta que devuelve el retraso en milisegundos.
+     * @param maxLag Retraso máximo tolerado.
+     * @param meterRegistry Registro donde se publican el retraso y el estado de cada réplica.
+     */
+    public ReplicaLagMonitor(List<Replica> replicas, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis)
+                    .tag("pool", replica.name())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Mide el retraso de todas las réplicas y actualiza su estado.
+     * Se ejecuta periódicamente y también puede invocarse manualmente.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.routing.lag-check-interval:5s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                long lag = rs.next() ? rs.getLong(1) : Long.MAX_VALUE;
+                replica.lagMillis = lag;
+                boolean healthy = lag <= maxLagMillis;
+                if (replica.healthy != healthy) {
+                    logger.warn("Réplica {} {} (retraso: {} ms, máximo: {} ms)",
+                            replica.name(), healthy ? "disponible de nuevo" : "excluida por retraso", lag, maxLagMillis);
+                }
+                replica.healthy = healthy;
+            } catch (SQLException e) {
+                markUnavailable(replica, e);
+            }
+        }
+    }
+
+    /**
+     * Devuelve los pools de réplica vigilados.
+     *
+     * @return Lista inmutable de réplicas.
+     */
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Devuelve la siguiente réplica sana siguiendo un reparto round-robin.
+     *
+     * @return La réplica elegida o null si ninguna está disponible.
+     */
+    public Replica nextHealthyReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marca una réplica como no disponible hasta la siguiente comprobación correcta.
+     *
+     * @param replica La réplica que ha fallado.
+     * @param cause El error que provocó la exclusión.
+     */
+    public void markUnavailable(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            logger.warn("Réplica {} excluida por error de conexión: {}", replica.name(), cause.getMessage());
+        }
+        replica.healthy = false;
+        replica.lagMillis = -1;
+    }
+
+    /**
+     * Cierra los pools de réplica al detener la aplicación.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Pool de réplica junto con su último estado conocido.
+     * Arranca como no disponible hasta que la primera comprobación confirma su retraso.
+     */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long lagMillis() {
+            return lagMillis;
+        }
+    }
+}
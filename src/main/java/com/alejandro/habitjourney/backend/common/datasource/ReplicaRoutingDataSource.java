@@ -0,0 +1,120 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link DataSource} que envía las transacciones de solo lectura a las réplicas
+ * y el resto del trabajo al primario.
+ * La decisión se toma al pedir la conexión física, por lo que debe envolverse en un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} para que
+ * el indicador de solo lectura de la transacción ya esté fijado en ese momento.
+ * Si no hay réplicas sanas, o la réplica elegida falla al conectar, se recurre al primario.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    public static final String PRIMARY_POOL = "primary";
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryConnections;
+    private final Counter lagFallbacks;
+    private final Counter errorFallbacks;
+    private final Map<String, Counter> replicaConnections = new HashMap<>();
+
+    /**
+     * Crea el DataSource de enrutado.
+     *
+     * @param primary Pool del primario, usado para escrituras y como respaldo.
+     * @param replicas Pools de réplica vigilados por el monitor.
+     * @param lagMonitor Monitor que decide qué réplicas pueden atender lecturas.
+     * @param meterRegistry Registro donde se publican las métricas por pool.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaLagMonitor.Replica> replicas,
+                                    ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = connectionCounter(meterRegistry, PRIMARY_POOL);
+        this.lagFallbacks = fallbackCounter(meterRegistry, "lag");
+        this.errorFallbacks = fallbackCounter(meterRegistry, "error");
+        for (ReplicaLagMonitor.Replica replica : replicas) {
+            replicaConnections.put(replica.name(), connectionCounter(meterRegistry, replica.name()));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * Igual que {@link #getConnection()}, pero abre la conexión del pool elegido con las credenciales
+     * indicadas. Los pools de HikariCP no lo admiten y responden {@link SQLFeatureNotSupportedException}.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primaryConnection(opener);
+        }
+        ReplicaLagMonitor.Replica replica = lagMonitor.nextHealthyReplica();
+        if (replica == null) {
+            lagFallbacks.increment();
+            return primaryConnection(opener);
+        }
+        try {
+            Connection connection = opener.open(replica.dataSource());
+            replicaConnections.get(replica.name()).increment();
+            return connection;
+        } catch (SQLFeatureNotSupportedException e) {
+            // El pool no admite credenciales explícitas (HikariCP): no es un fallo de la réplica
+            throw e;
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(replica, e);
+            errorFallbacks.increment();
+            return primaryConnection(opener);
+        }
+    }
+
+    private Connection primaryConnection(ConnectionOpener opener) throws SQLException {
+        Connection connection = opener.open(primary);
+        primaryConnections.increment();
+        return connection;
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Conexiones entregadas por el enrutado de réplicas")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("datasource.routing.fallbacks")
+                .description("Lecturas desviadas al primario")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Forma de pedir la conexión al pool elegido: con sus credenciales o con unas explícitas.
+     */
+    @FunctionalInterface
+    private interface ConnectionOpener {
+
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
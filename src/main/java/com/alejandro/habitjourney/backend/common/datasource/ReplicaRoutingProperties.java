@@ -0,0 +1,59 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades de configuración del enrutado de lecturas hacia réplicas.
+ * Se enlazan desde el prefijo {@code app.datasource.routing} y describen
+ * los pools de réplica, el retraso máximo tolerado y la consulta usada para medirlo.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    /**
+     * Activa el enrutado de transacciones de solo lectura hacia las réplicas.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Retraso de replicación máximo tolerado antes de desviar las lecturas al primario.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Intervalo entre comprobaciones del retraso de cada réplica.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Consulta que devuelve el retraso de la réplica en milisegundos.
+     * Por defecto usa las funciones de recuperación de PostgreSQL.
+     */
+    private String lagQuery = "SELECT CASE WHEN pg_is_in_recovery() "
+            + "THEN COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0) "
+            + "ELSE 0 END";
+
+    /**
+     * Pools de réplica disponibles para lecturas.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Datos de conexión de una réplica concreta.
+     */
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,77 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Contexto del shard activo en el hilo actual.
+ * Dentro de una transacción el shard queda fijado hasta que esta termina, ya que la conexión
+ * física se obtiene una sola vez; fuera de ella solo dura lo que la operación invocada.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final Object TRANSACTION_KEY = ShardContext.class;
+
+    private ShardContext() {
+    }
+
+    /**
+     * Devuelve el shard activo en el hilo actual.
+     *
+     * @return El número de shard o null si no hay ninguno fijado.
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Ejecuta una operación sobre el shard indicado.
+     * Si hay una transacción activa, el shard se fija para el resto de la transacción
+     * y se rechaza cualquier intento de cambiarlo.
+     *
+     * @param shard Número de shard.
+     * @param operation Operación a ejecutar.
+     * @return El resultado de la operación.
+     * @throws IllegalStateException si la transacción actual ya está ligada a otro shard.
+     */
+    public static <T> T callOn(int shard, ShardOperation<T> operation) throws Throwable {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Integer bound = (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+            if (bound == null) {
+                TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, shard);
+                CURRENT.set(shard);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                        CURRENT.remove();
+                    }
+                });
+            } else if (bound != shard) {
+                throw new IllegalStateException(
+                        "Operación entre shards dentro de una misma transacción (" + bound + " -> " + shard + ")");
+            }
+            return operation.call();
+        }
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return operation.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Operación ejecutada sobre un shard; puede propagar cualquier excepción de la invocación original.
+     */
+    @FunctionalInterface
+    public interface ShardOperation<T> {
+        T call() throws Throwable;
+    }
+}
@@ -0,0 +1,46 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@link javax.sql.DataSource} que entrega conexiones del shard fijado en {@link ShardContext}.
+ * Sin shard fijado (arranque, validación de esquema, consultas de infraestructura) usa el shard 0.
+ * Debe envolverse en un {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * para que la conexión física se pida cuando el repositorio ya ha elegido shard.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource {
+
+    private final ShardTopology topology;
+
+    /**
+     * Crea el DataSource de enrutado sobre la topología indicada.
+     *
+     * @param topology Topología de shards.
+     */
+    public ShardRoutingDataSource(ShardTopology topology) {
+        this.topology = topology;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return currentShard().getConnection();
+    }
+
+    /**
+     * Igual que {@link #getConnection()}, pero con credenciales explícitas. Los pools de HikariCP no lo
+     * admiten y responden {@link java.sql.SQLFeatureNotSupportedException}.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return currentShard().getConnection(username, password);
+    }
+
+    private DataSource currentShard() {
+        Integer shard = ShardContext.current();
+        return topology.dataSource(shard != null ? shard : 0);
+    }
+}
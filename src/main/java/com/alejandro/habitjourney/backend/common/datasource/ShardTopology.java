@@ -0,0 +1,118 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Topología del almacén de usuarios particionado: pools de cada shard y reglas de reparto.
+ * Los usuarios nuevos se asignan por hash del email y cada shard genera ids intercalados,
+ * de modo que el shard "natural" de un id es {@code (id - 1) % N}.
+ */
+public class ShardTopology implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardTopology.class);
+
+    private final List<DataSource> shards;
+    private final List<JdbcTemplate> templates;
+
+    /**
+     * Crea la topología a partir de los pools de cada shard.
+     *
+     * @param shards Pools de los shards, en orden.
+     */
+    public ShardTopology(List<DataSource> shards) {
+        if (shards.size() < 2) {
+            throw new IllegalStateException("El modo particionado requiere al menos dos shards");
+        }
+        this.shards = List.copyOf(shards);
+        this.templates = this.shards.stream().map(JdbcTemplate::new).toList();
+    }
+
+    /**
+     * Prepara cada shard: ejecuta los scripts de esquema configurados y,
+     * si se solicita, alinea la columna identidad para generar ids intercalados.
+     *
+     * @param properties Propiedades del particionado.
+     * @param resourceLoader Cargador para resolver los scripts de esquema.
+     */
+    public void initialize(ShardingProperties properties, ResourceLoader resourceLoader) {
+        for (int shard = 0; shard < size(); shard++) {
+            if (!properties.getSchemaLocations().isEmpty()) {
+                ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+                properties.getSchemaLocations().forEach(location -> populator.addScript(resourceLoader.getResource(location)));
+                populator.execute(shards.get(shard));
+            }
+            if (properties.isAlignIdentity()) {
+                long max = jdbc(shard).queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+                long start = nextIdForShard(max, shard);
+                jdbc(shard).execute(properties.getIdentityAlignmentSql()
+                        .replace("{increment}", Integer.toString(size()))
+                        .replace("{start}", Long.toString(start)));
+                logger.info("Shard {}: identidad alineada (inicio {}, incremento {})", shard, start, size());
+            }
+        }
+    }
+
+    /**
+     * Número de shards.
+     */
+    public int size() {
+        return shards.size();
+    }
+
+    /**
+     * Pool del shard indicado.
+     */
+    public DataSource dataSource(int shard) {
+        return shards.get(shard);
+    }
+
+    /**
+     * JdbcTemplate sobre el pool del shard indicado, para operaciones fuera de JPA.
+     */
+    public JdbcTemplate jdbc(int shard) {
+        return templates.get(shard);
+    }
+
+    /**
+     * Shard natural de un id generado con identidad intercalada.
+     *
+     * @param id Id del usuario.
+     * @return Número de shard.
+     */
+    public int homeShard(long id) {
+        return (int) Math.floorMod(id - 1, (long) size());
+    }
+
+    /**
+     * Shard asignado a un usuario nuevo según el hash de su email.
+     *
+     * @param emailHash Hash del email calculado por {@link EmailShardDirectory#hash(String)}.
+     * @return Número de shard.
+     */
+    public int shardForNewUser(long emailHash) {
+        return (int) Math.floorMod(emailHash, (long) size());
+    }
+
+    /**
+     * Primer id mayor que {@code max} cuyo shard natural es {@code shard}.
+     */
+    long nextIdForShard(long max, int shard) {
+        return max + 1 + Math.floorMod(shard - max, (long) size());
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
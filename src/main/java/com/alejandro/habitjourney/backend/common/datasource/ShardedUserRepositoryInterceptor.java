@@ -0,0 +1,471 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.alejandro.habitjourney.backend.user.model.User;
+import com.alejandro.habitjourney.backend.user.repository.UserRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Interceptor que enruta las operaciones de {@link UserRepository} al shard que corresponde a cada usuario.
+ * <p>
+ * {@link EmailShardDirectory} es una pista local de cada instancia: otra instancia puede registrar o
+ * trasladar usuarios sin que este directorio se entere. Por eso toda resolución se comprueba en el shard
+ * indicado y, si el usuario no está allí (o el directorio no lo conoce), se busca en el resto de shards
+ * y se corrige el directorio. Dentro de una transacción el primer shard consultado queda fijado, así que
+ * la ubicación se comprueba antes con una consulta directa al shard, fuera de la transacción, y la búsqueda
+ * solo se lanza en el shard correcto. Los usuarios nuevos se colocan por hash del email, así que dos altas
+ * simultáneas del mismo email en instancias distintas acaban en el mismo shard y las frena su restricción
+ * de unicidad.
+ * <p>
+ * Cada método del repositorio tiene una ruta explícita en {@link #ROUTES}; el interceptor no arranca si
+ * falta alguna, de modo que un método nuevo en el repositorio falla en las pruebas y no en producción.
+ * Los cambios en el directorio se aplican tras el commit para no publicar usuarios que acaban en rollback.
+ */
+public class ShardedUserRepositoryInterceptor implements MethodInterceptor {
+
+    private static final String EMAIL_BY_ID_SQL = "SELECT email FROM users WHERE id = ?";
+    private static final String ID_BY_EMAIL_SQL = "SELECT id FROM users WHERE email = ?";
+
+    /**
+     * Ruta de cada método de {@link UserRepository}, por nombre y tipos de parámetros.
+     */
+    private static final Map<String, Route> ROUTES = Map.ofEntries(
+            Map.entry("findByEmail(String)", ShardedUserRepositoryInterceptor::findByEmail),
+            Map.entry("existsByEmail(String)", (self, invocation) -> self.locateEmail((String) invocation.getArguments()[0], -1) >= 0),
+            Map.entry("findById(Object)", ShardedUserRepositoryInterceptor::findById),
+            Map.entry("existsById(Object)", (self, invocation) -> {
+                long id = (Long) invocation.getArguments()[0];
+                return self.locks.withReadLock(id, () -> self.locateId(id) != null);
+            }),
+            // Las referencias perezosas no consultan la base de datos: se fían del directorio
+            Map.entry("getReferenceById(Object)", ShardedUserRepositoryInterceptor::reference),
+            Map.entry("getById(Object)", ShardedUserRepositoryInterceptor::reference),
+            Map.entry("getOne(Object)", ShardedUserRepositoryInterceptor::reference),
+            Map.entry("save(Object)", (self, invocation) -> self.save((User) invocation.getArguments()[0], invocation)),
+            Map.entry("saveAndFlush(Object)", (self, invocation) -> self.save((User) invocation.getArguments()[0], invocation)),
+            Map.entry("saveAll(Iterable)", (self, invocation) -> eachUser(invocation, UserRepository::save)),
+            Map.entry("saveAllAndFlush(Iterable)", (self, invocation) -> eachUser(invocation, UserRepository::saveAndFlush)),
+            Map.entry("deleteById(Object)", (self, invocation) -> self.delete((Long) invocation.getArguments()[0], invocation)),
+            Map.entry("delete(Object)", (self, invocation) -> self.delete(((User) invocation.getArguments()[0]).getId(), invocation)),
+            Map.entry("deleteAll(Iterable)", (self, invocation) -> eachUser(invocation, ShardedUserRepositoryInterceptor::deleteUser)),
+            Map.entry("deleteInBatch(Iterable)", (self, invocation) -> eachUser(invocation, ShardedUserRepositoryInterceptor::deleteUser)),
+            Map.entry("deleteAllInBatch(Iterable)", (self, invocation) -> eachUser(invocation, ShardedUserRepositoryInterceptor::deleteUser)),
+            Map.entry("deleteAllById(Iterable)", ShardedUserRepositoryInterceptor::eachId),
+            Map.entry("deleteAllByIdInBatch(Iterable)", ShardedUserRepositoryInterceptor::eachId),
+            Map.entry("deleteAll()", ShardedUserRepositoryInterceptor::broadcast),
+            Map.entry("deleteAllInBatch()", ShardedUserRepositoryInterceptor::broadcast),
+            Map.entry("flush()", (self, invocation) -> invocation.proceed()),
+            Map.entry("count()", (self, invocation) -> sum(self.scatter(invocation, invocation.getArguments()))),
+            Map.entry("findAll()", (self, invocation) -> concat(self.scatter(invocation, invocation.getArguments()))),
+            Map.entry("findAll(Sort)", (self, invocation) -> sorted(
+                    concat(self.scatter(invocation, invocation.getArguments())), (Sort) invocation.getArguments()[0])),
+            Map.entry("findAll(Pageable)", (self, invocation) -> self.page(invocation, 0)),
+            Map.entry("findAllById(Iterable)", (self, invocation) -> self.findAllById((Iterable<?>) invocation.getArguments()[0], invocation)),
+            Map.entry("findOne(Example)", (self, invocation) -> self.scatter(invocation, invocation.getArguments()).stream()
+                    .map(partial -> (Optional<?>) partial)
+                    .filter(Optional::isPresent)
+                    .findFirst()
+                    .orElse(Optional.empty())),
+            Map.entry("exists(Example)", (self, invocation) -> self.scatter(invocation, invocation.getArguments()).contains(Boolean.TRUE)),
+            Map.entry("count(Example)", (self, invocation) -> sum(self.scatter(invocation, invocation.getArguments()))),
+            Map.entry("findAll(Example)", (self, invocation) -> concat(self.scatter(invocation, invocation.getArguments()))),
+            Map.entry("findAll(Example,Sort)", (self, invocation) -> sorted(
+                    concat(self.scatter(invocation, invocation.getArguments())), (Sort) invocation.getArguments()[1])),
+            Map.entry("findAll(Example,Pageable)", (self, invocation) -> self.page(invocation, 1)),
+            // La consulta fluida combina proyección, orden y paginación en una sola consulta por shard
+            Map.entry("findBy(Example,Function)", (self, invocation) -> {
+                throw new UnsupportedOperationException(
+                        "findBy(Example, Function) no puede combinar resultados de varios shards; usa findAll(Example, Pageable)");
+            }));
+
+    private final ShardTopology topology;
+    private final EmailShardDirectory directory;
+    private final UserShardLocks locks;
+    private final Map<Method, Route> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Crea el interceptor.
+     *
+     * @param topology Topología de shards.
+     * @param directory Directorio email → shard.
+     * @param locks Cerrojos por usuario compartidos con el rebalanceador.
+     * @throws IllegalStateException si algún método de {@link UserRepository} no tiene ruta.
+     */
+    public ShardedUserRepositoryInterceptor(ShardTopology topology, EmailShardDirectory directory, UserShardLocks locks) {
+        List<String> unrouted = unroutedMethods(UserRepository.class);
+        if (!unrouted.isEmpty()) {
+            throw new IllegalStateException("Métodos de UserRepository sin ruta en el almacén particionado: " + unrouted);
+        }
+        this.topology = topology;
+        this.directory = directory;
+        this.locks = locks;
+    }
+
+    /**
+     * Métodos abstractos del repositorio que no tienen ruta.
+     *
+     * @param repositoryType Interfaz del repositorio.
+     * @return Firmas sin ruta; vacío si todas la tienen.
+     */
+    static List<String> unroutedMethods(Class<?> repositoryType) {
+        return Arrays.stream(repositoryType.getMethods())
+                .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .map(ShardedUserRepositoryInterceptor::signature)
+                .filter(signature -> !ROUTES.containsKey(signature))
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (ReflectionUtils.isObjectMethod(method) || method.isDefault()) {
+            return invocation.proceed();
+        }
+        Route route = resolved.computeIfAbsent(method, key -> {
+            Route found = ROUTES.get(signature(key));
+            if (found == null) {
+                throw new IllegalStateException("Método sin ruta en el almacén particionado: " + key);
+            }
+            return found;
+        });
+        return route.route(this, invocation);
+    }
+
+    private Object findByEmail(MethodInvocation invocation) throws Throwable {
+        String email = (String) invocation.getArguments()[0];
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            int shard = locateEmail(email, -1);
+            return shard < 0 ? Optional.empty() : ShardContext.callOn(shard, clone(invocation)::proceed);
+        }
+        int hint = directory.shardForEmail(email);
+        if (hint >= 0) {
+            Optional<?> found = (Optional<?>) ShardContext.callOn(hint, clone(invocation)::proceed);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        int shard = locateEmail(email, hint);
+        return shard < 0 ? Optional.empty() : ShardContext.callOn(shard, clone(invocation)::proceed);
+    }
+
+    private Object findById(MethodInvocation invocation) throws Throwable {
+        long id = (Long) invocation.getArguments()[0];
+        return locks.withReadLock(id, () -> {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                Location location = locateId(id);
+                return location == null ? Optional.empty() : ShardContext.callOn(location.shard(), clone(invocation)::proceed);
+            }
+            int hint = directory.shardForId(id);
+            Optional<?> found = (Optional<?>) ShardContext.callOn(hint, clone(invocation)::proceed);
+            if (found.isPresent()) {
+                return found;
+            }
+            Location location = locateId(id);
+            return location == null ? Optional.empty() : ShardContext.callOn(location.shard(), clone(invocation)::proceed);
+        });
+    }
+
+    private Object reference(MethodInvocation invocation) throws Throwable {
+        long id = (Long) invocation.getArguments()[0];
+        return locks.withReadLock(id, () -> ShardContext.callOn(directory.shardForId(id), invocation::proceed));
+    }
+
+    private Object save(User user, MethodInvocation invocation) throws Throwable {
+        if (user.getId() == null) {
+            int shard = topology.shardForNewUser(EmailShardDirectory.hash(user.getEmail()));
+            User saved = (User) ShardContext.callOn(shard, invocation::proceed);
+            afterCommit(() -> directory.register(saved.getId(), saved.getEmail(), shard));
+            return saved;
+        }
+        long id = user.getId();
+        return locks.withReadLock(id, () -> {
+            // Se comprueba dónde está la fila: guardarla en un shard que no la tiene crearía un duplicado
+            Location location = locateId(id);
+            int shard = location != null ? location.shard() : directory.shardForId(id);
+            User saved = (User) ShardContext.callOn(shard, invocation::proceed);
+            if (location != null && !location.email().equals(saved.getEmail())) {
+                afterCommit(() -> {
+                    directory.remove(id, location.email());
+                    directory.register(id, saved.getEmail(), shard);
+                });
+            }
+            return saved;
+        });
+    }
+
+    private Object delete(Long id, MethodInvocation invocation) throws Throwable {
+        if (id == null) {
+            return invocation.proceed();
+        }
+        return locks.withReadLock(id, () -> {
+            Location location = locateId(id);
+            Object result = ShardContext.callOn(location != null ? location.shard() : directory.shardForId(id),
+                    invocation::proceed);
+            if (location != null) {
+                afterCommit(() -> directory.remove(id, location.email()));
+            }
+            return result;
+        });
+    }
+
+    private List<Object> findAllById(Iterable<?> ids, MethodInvocation invocation) throws Throwable {
+        Map<Integer, List<Object>> byShard = new LinkedHashMap<>();
+        for (Object id : ids) {
+            byShard.computeIfAbsent(directory.shardForId((Long) id), shard -> new ArrayList<>()).add(id);
+        }
+        if (byShard.size() > 1) {
+            requireNoTransaction(invocation);
+        }
+        List<Object> result = new ArrayList<>();
+        for (Map.Entry<Integer, List<Object>> entry : byShard.entrySet()) {
+            MethodInvocation clone = ((ProxyMethodInvocation) invocation).invocableClone(entry.getValue());
+            result.addAll((List<?>) ShardContext.callOn(entry.getKey(), clone::proceed));
+        }
+        return result;
+    }
+
+    /**
+     * Página global: pide a cada shard sus primeras {@code offset + tamaño} filas con el mismo orden,
+     * las mezcla y recorta la página pedida.
+     */
+    private Page<Object> page(MethodInvocation invocation, int pageableIndex) throws Throwable {
+        Object[] arguments = invocation.getArguments().clone();
+        Pageable pageable = (Pageable) arguments[pageableIndex];
+        if (pageable.isUnpaged()) {
+            List<Object> all = new ArrayList<>();
+            for (Object partial : scatter(invocation, arguments)) {
+                all.addAll(((Page<?>) partial).getContent());
+            }
+            return new PageImpl<>(sorted(all, pageable.getSort()), pageable, all.size());
+        }
+        arguments[pageableIndex] = PageRequest.of(0,
+                Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), pageable.getSort());
+        List<Object> merged = new ArrayList<>();
+        long total = 0;
+        for (Object partial : scatter(invocation, arguments)) {
+            Page<?> shardPage = (Page<?>) partial;
+            merged.addAll(shardPage.getContent());
+            total += shardPage.getTotalElements();
+        }
+        List<Object> content = sorted(merged, pageable.getSort());
+        int from = (int) Math.min(pageable.getOffset(), content.size());
+        int to = Math.min(from + pageable.getPageSize(), content.size());
+        return new PageImpl<>(new ArrayList<>(content.subList(from, to)), pageable, total);
+    }
+
+    private Object broadcast(MethodInvocation invocation) throws Throwable {
+        scatter(invocation, invocation.getArguments());
+        return null;
+    }
+
+    /**
+     * Ejecuta la invocación en cada shard con los argumentos indicados y devuelve los resultados por shard.
+     */
+    private List<Object> scatter(MethodInvocation invocation, Object[] arguments) throws Throwable {
+        requireNoTransaction(invocation);
+        List<Object> result = new ArrayList<>();
+        for (int shard = 0; shard < topology.size(); shard++) {
+            MethodInvocation clone = ((ProxyMethodInvocation) invocation).invocableClone(arguments);
+            result.add(ShardContext.callOn(shard, clone::proceed));
+        }
+        return result;
+    }
+
+    /**
+     * Shard donde está realmente el email: busca en todos los shards salvo {@code skip} y corrige el directorio.
+     *
+     * @return Número de shard o -1 si ningún shard lo tiene.
+     */
+    private int locateEmail(String email, int skip) {
+        int hint = directory.shardForEmail(email);
+        if (hint >= 0 && hint != skip && idOnShard(hint, email) != null) {
+            return hint;
+        }
+        for (int shard = 0; shard < topology.size(); shard++) {
+            if (shard == hint || shard == skip) {
+                continue;
+            }
+            Long id = idOnShard(shard, email);
+            if (id != null) {
+                directory.register(id, email, shard);
+                return shard;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Shard y email actuales de un usuario: primero el shard del directorio y, si no está allí, el resto.
+     *
+     * @return La ubicación, o null si ningún shard tiene el id.
+     */
+    private Location locateId(long id) {
+        int hint = directory.shardForId(id);
+        String email = emailOnShard(hint, id);
+        if (email != null) {
+            return new Location(hint, email);
+        }
+        for (int shard = 0; shard < topology.size(); shard++) {
+            if (shard == hint) {
+                continue;
+            }
+            email = emailOnShard(shard, id);
+            if (email != null) {
+                directory.register(id, email, shard);
+                return new Location(shard, email);
+            }
+        }
+        return null;
+    }
+
+    private Long idOnShard(int shard, String email) {
+        return topology.jdbc(shard).query(ID_BY_EMAIL_SQL, rs -> rs.next() ? rs.getLong(1) : null, email);
+    }
+
+    private String emailOnShard(int shard, long id) {
+        return topology.jdbc(shard).query(EMAIL_BY_ID_SQL, rs -> rs.next() ? rs.getString(1) : null, id);
+    }
+
+    /**
+     * Aplica la operación a cada usuario a través del proxy, para que cada uno se enrute por separado.
+     */
+    private static List<User> eachUser(MethodInvocation invocation, UserOperation operation) {
+        UserRepository repository = (UserRepository) ((ProxyMethodInvocation) invocation).getProxy();
+        List<User> result = new ArrayList<>();
+        for (Object user : (Iterable<?>) invocation.getArguments()[0]) {
+            User saved = operation.apply(repository, (User) user);
+            if (saved != null) {
+                result.add(saved);
+            }
+        }
+        return result;
+    }
+
+    private static Object eachId(ShardedUserRepositoryInterceptor self, MethodInvocation invocation) {
+        UserRepository repository = (UserRepository) ((ProxyMethodInvocation) invocation).getProxy();
+        for (Object id : (Iterable<?>) invocation.getArguments()[0]) {
+            repository.deleteById((Long) id);
+        }
+        return null;
+    }
+
+    private static User deleteUser(UserRepository repository, User user) {
+        repository.delete(user);
+        return null;
+    }
+
+    private static List<Object> concat(List<Object> partials) {
+        List<Object> result = new ArrayList<>();
+        for (Object partial : partials) {
+            ((Iterable<?>) partial).forEach(result::add);
+        }
+        return result;
+    }
+
+    private static long sum(List<Object> partials) {
+        long total = 0;
+        for (Object partial : partials) {
+            total += (Long) partial;
+        }
+        return total;
+    }
+
+    /**
+     * Ordena en memoria los resultados combinados según el mismo {@link Sort} que se pidió a cada shard.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> sorted(List<Object> entities, Sort sort) {
+        if (sort.isUnsorted()) {
+            return entities;
+        }
+        Comparator<Object> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable<Object>> values = order.isAscending()
+                    ? Comparator.nullsLast(Comparator.<Comparable<Object>>naturalOrder())
+                    : Comparator.nullsLast(Comparator.<Comparable<Object>>reverseOrder());
+            comparator = comparator.thenComparing(entity -> {
+                Object value = new BeanWrapperImpl(entity).getPropertyValue(order.getProperty());
+                return (Comparable<Object>) (order.isIgnoreCase() && value instanceof String text
+                        ? text.toLowerCase(Locale.ROOT) : value);
+            }, values);
+        }
+        entities.sort(comparator);
+        return entities;
+    }
+
+    private static MethodInvocation clone(MethodInvocation invocation) {
+        return ((ProxyMethodInvocation) invocation).invocableClone();
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static void requireNoTransaction(MethodInvocation invocation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("La operación " + invocation.getMethod().getName()
+                    + " recorre todos los shards y no puede ejecutarse dentro de una transacción");
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Ubicación comprobada de un usuario.
+     */
+    private record Location(int shard, String email) {
+    }
+
+    /**
+     * Enrutado de un método del repositorio.
+     */
+    @FunctionalInterface
+    private interface Route {
+
+        Object route(ShardedUserRepositoryInterceptor self, MethodInvocation invocation) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface UserOperation {
+
+        User apply(UserRepository repository, User user);
+    }
+}
@@ -0,0 +1,34 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.alejandro.habitjourney.backend.user.repository.UserRepository;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Añade {@link ShardedUserRepositoryInterceptor} al principio de la cadena del proxy de {@link UserRepository},
+ * antes de la gestión de transacciones de Spring Data, para que el shard quede fijado
+ * antes de que se pida la conexión.
+ */
+public class ShardedUserRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ShardedUserRepositoryInterceptor> interceptor;
+
+    /**
+     * Crea el post-procesador; el interceptor se resuelve de forma perezosa para no
+     * adelantar la creación de los pools.
+     *
+     * @param interceptor Proveedor del interceptor.
+     */
+    public ShardedUserRepositoryPostProcessor(ObjectProvider<ShardedUserRepositoryInterceptor> interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof UserRepository && bean instanceof Advised advised) {
+            advised.addAdvice(0, interceptor.getObject());
+        }
+        return bean;
+    }
+}
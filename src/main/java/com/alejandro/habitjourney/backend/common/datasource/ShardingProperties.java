@@ -0,0 +1,56 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades de configuración del almacén de usuarios particionado.
+ * Se enlazan desde el prefijo {@code app.sharding}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    /**
+     * Activa el reparto de usuarios entre varias bases de datos.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Scripts SQL opcionales que se ejecutan en cada shard al arrancar (p. ej. creación del esquema).
+     */
+    private List<String> schemaLocations = new ArrayList<>();
+
+    /**
+     * Ajusta al arrancar la columna identidad de cada shard para que genere ids intercalados
+     * (shard {@code s} de {@code N} genera ids con {@code (id - 1) % N == s}).
+     */
+    private boolean alignIdentity = true;
+
+    /**
+     * Sentencia de ajuste de la identidad; admite los marcadores {@code {increment}} y {@code {start}}.
+     */
+    private String identityAlignmentSql = "ALTER TABLE users ALTER COLUMN id SET INCREMENT BY {increment} RESTART WITH {start}";
+
+    /**
+     * Conexiones de cada shard, en orden: la posición en la lista es el número de shard.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Datos de conexión de un shard.
+     */
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+    }
+}
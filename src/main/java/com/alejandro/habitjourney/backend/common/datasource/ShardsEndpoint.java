@@ -0,0 +1,57 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator {@code shards} para inspeccionar el reparto de usuarios y trasladarlos entre shards.
+ * No se expone por web salvo que se añada explícitamente a {@code management.endpoints.web.exposure.include},
+ * lo que solo debería hacerse en un puerto de gestión no accesible desde fuera.
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final UserShardRebalancer rebalancer;
+    private final EmailShardDirectory directory;
+
+    /**
+     * Crea el endpoint.
+     *
+     * @param rebalancer Herramienta de rebalanceo.
+     * @param directory Directorio email → shard.
+     */
+    public ShardsEndpoint(UserShardRebalancer rebalancer, EmailShardDirectory directory) {
+        this.rebalancer = rebalancer;
+        this.directory = directory;
+    }
+
+    /**
+     * Número de usuarios por shard.
+     */
+    @ReadOperation
+    public Map<Integer, Long> sizes() {
+        return rebalancer.shardSizes();
+    }
+
+    /**
+     * Traslada un usuario a otro shard, o recarga el directorio si no se indica usuario
+     * (necesario en el resto de instancias tras un traslado).
+     *
+     * @param userId Id del usuario a trasladar.
+     * @param targetShard Shard destino.
+     * @return El reparto resultante.
+     */
+    @WriteOperation
+    public Map<Integer, Long> move(@Nullable Long userId, @Nullable Integer targetShard) {
+        if (userId == null || targetShard == null) {
+            directory.reload();
+        } else {
+            rebalancer.move(userId, targetShard);
+        }
+        return rebalancer.shardSizes();
+    }
+}
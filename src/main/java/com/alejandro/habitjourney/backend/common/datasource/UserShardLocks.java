@@ -0,0 +1,72 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cerrojos por usuario (repartidos en franjas) que coordinan el acceso normal con los traslados entre shards.
+ * Las operaciones del repositorio toman el cerrojo de lectura, hasta el final de la transacción si la hay;
+ * un traslado toma el de escritura y espera a que terminen las transacciones en curso sobre ese usuario.
+ */
+public class UserShardLocks {
+
+    private static final int STRIPES = 64;
+
+    private final ReadWriteLock[] locks = new ReadWriteLock[STRIPES];
+
+    public UserShardLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Ejecuta una operación con el cerrojo de lectura del usuario.
+     * Dentro de una transacción el cerrojo se libera al completarse esta.
+     *
+     * @param userId Id del usuario.
+     * @param operation Operación a ejecutar.
+     * @return El resultado de la operación.
+     */
+    public <T> T withReadLock(long userId, ShardContext.ShardOperation<T> operation) throws Throwable {
+        ReadWriteLock lock = lockFor(userId);
+        lock.readLock().lock();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.readLock().unlock();
+                }
+            });
+            return operation.call();
+        }
+        try {
+            return operation.call();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta una operación con el cerrojo de escritura del usuario.
+     *
+     * @param userId Id del usuario.
+     * @param operation Operación a ejecutar.
+     */
+    public void withWriteLock(long userId, Runnable operation) {
+        ReadWriteLock lock = lockFor(userId);
+        lock.writeLock().lock();
+        try {
+            operation.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ReadWriteLock lockFor(long userId) {
+        return locks[(int) Math.floorMod(Long.hashCode(userId), (long) STRIPES)];
+    }
+}
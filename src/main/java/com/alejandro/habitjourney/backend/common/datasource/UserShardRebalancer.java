@@ -0,0 +1,101 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import com.alejandro.habitjourney.backend.common.exception.UserNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.EmptyResultDataAccessException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Herramienta de rebalanceo que traslada usuarios entre shards sin detener el servicio.
+ * El traslado copia la fila al shard destino, actualiza el directorio y borra la fila de origen
+ * mientras mantiene el cerrojo de escritura del usuario, de modo que ninguna transacción
+ * sobre ese usuario ve un estado intermedio.
+ */
+public class UserShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserShardRebalancer.class);
+
+    private final ShardTopology topology;
+    private final EmailShardDirectory directory;
+    private final UserShardLocks locks;
+
+    /**
+     * Crea el rebalanceador.
+     *
+     * @param topology Topología de shards.
+     * @param directory Directorio email → shard.
+     * @param locks Cerrojos por usuario compartidos con el repositorio.
+     */
+    public UserShardRebalancer(ShardTopology topology, EmailShardDirectory directory, UserShardLocks locks) {
+        this.topology = topology;
+        this.directory = directory;
+        this.locks = locks;
+    }
+
+    /**
+     * Traslada un usuario al shard indicado.
+     *
+     * @param userId Id del usuario.
+     * @param targetShard Shard destino.
+     * @throws UserNotFoundException si el usuario no existe en su shard actual.
+     * @throws IllegalArgumentException si el shard destino no existe.
+     */
+    public void move(long userId, int targetShard) {
+        if (targetShard < 0 || targetShard >= topology.size()) {
+            throw new IllegalArgumentException("Shard destino inexistente: " + targetShard);
+        }
+        locks.withWriteLock(userId, () -> {
+            int sourceShard = directory.shardForId(userId);
+            if (sourceShard == targetShard) {
+                return;
+            }
+            Map<String, Object> row;
+            try {
+                row = topology.jdbc(sourceShard).queryForMap("SELECT * FROM users WHERE id = ?", userId);
+            } catch (EmptyResultDataAccessException e) {
+                throw new UserNotFoundException(ErrorMessages.USER_NOT_FOUND);
+            }
+            String email = findEmail(row);
+            List<String> columns = new ArrayList<>(row.keySet());
+            String sql = "INSERT INTO users (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+            topology.jdbc(targetShard).update(sql, row.values().toArray());
+            directory.register(userId, email, targetShard);
+            try {
+                topology.jdbc(sourceShard).update("DELETE FROM users WHERE id = ?", userId);
+            } catch (RuntimeException e) {
+                directory.register(userId, email, sourceShard);
+                topology.jdbc(targetShard).update("DELETE FROM users WHERE id = ?", userId);
+                throw e;
+            }
+            logger.info("Usuario {} trasladado del shard {} al shard {}", userId, sourceShard, targetShard);
+        });
+    }
+
+    /**
+     * Número de usuarios en cada shard.
+     *
+     * @return Mapa shard → número de filas.
+     */
+    public Map<Integer, Long> shardSizes() {
+        Map<Integer, Long> sizes = new LinkedHashMap<>();
+        for (int shard = 0; shard < topology.size(); shard++) {
+            sizes.put(shard, topology.jdbc(shard).queryForObject("SELECT COUNT(*) FROM users", Long.class));
+        }
+        return sizes;
+    }
+
+    private static String findEmail(Map<String, Object> row) {
+        return row.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase("email"))
+                .map(entry -> (String) entry.getValue())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("La tabla users no tiene columna email"));
+    }
+}
@@ -0,0 +1,20 @@
+package com.alejandro.habitjourney.backend.common.exception;
+
+/**
+ * Clase base de las excepciones de dominio: resultados de negocio esperados
+ * (usuario inexistente, email duplicado, datos inválidos) que se traducen a una respuesta HTTP
+ * y no indican un fallo del programa.
+ * No capturan la traza de la pila ni admiten excepciones suprimidas, lo que las hace casi
+ * tan baratas como un valor de retorno; los fallos reales siguen usando excepciones normales.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    /**
+     * Construye la excepción de dominio con el mensaje especificado y sin traza.
+     *
+     * @param message El mensaje detallado de la excepción.
+     */
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -4,7 +4,7 @@ package com.alejandro.habitjourney.backend.common.exception;
  * Excepción lanzada cuando se intenta crear un recurso (ej. un usuario)
  * con un email que ya existe en el sistema.
  */
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainException {
 
     /**
      * Construye una nueva EmailAlreadyExistsException con el mensaje especificado.
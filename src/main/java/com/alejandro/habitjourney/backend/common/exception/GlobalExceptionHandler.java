@@ -3,7 +3,9 @@ package com.alejandro.habitjourney.backend.common.exception;
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.dto.ErrorResponse;
 import com.alejandro.habitjourney.backend.common.dto.ValidationErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -17,11 +19,23 @@ import java.time.LocalDateTime;
  * Manejador global de excepciones para la API.
  * Captura excepciones lanzadas por los controladores y servicios y las mapea
  * a respuestas HTTP estandarizadas utilizando los DTOs de respuesta de error.
+ * Las excepciones de dominio ({@link DomainException}) son resultados esperados y se registran
+ * solo con su mensaje; las no controladas se registran con la traza completa.
+ * Cada rama incrementa el contador {@code api.exceptions}, etiquetado por excepción y estado HTTP.
  */
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param meterRegistry Registro de métricas para los contadores de excepciones.
+     */
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Maneja la excepción {@link EmailAlreadyExistsException} mapeándola a una respuesta 409 Conflict.
      *
@@ -30,22 +44,25 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(EmailAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex) {
-        log.warn("Manejo de handleEmailAlreadyExistsException:" + ex.getMessage());
+        log.warn("Manejo de handleEmailAlreadyExistsException: {}", ex.getMessage());
         ErrorResponse errorResponse = buildErrorResponse(HttpStatus.CONFLICT, ErrorMessages.TITLE_CONFLICT, ex.getMessage());
+        count(ex, HttpStatus.CONFLICT);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
     /**
      * Maneja la excepción {@link InvalidPasswordException} mapeándola a una respuesta 400 Bad Request.
-     * (Asumimos que esta excepción se lanza para problemas de formato o requisitos de contraseña).
+     * El detalle es el mensaje de la excepción, que indica el requisito incumplido (por ejemplo, que la
+     * contraseña aparece en filtraciones conocidas) para que el cliente sepa cómo corregirla.
      *
      * @param ex La excepción InvalidPasswordException lanzada.
      * @return ResponseEntity con estado 400 y cuerpo ErrorResponse.
      */
     @ExceptionHandler(InvalidPasswordException.class)
     public ResponseEntity<ErrorResponse> handleInvalidPasswordException(InvalidPasswordException ex) {
-        log.warn("Manejo de handleInvalidPasswordException:" + ex.getMessage());
-        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ErrorMessages.TITLE_BAD_REQUEST, ErrorMessages.INVALID_PASSWORD);
+        log.warn("Manejo de handleInvalidPasswordException: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ErrorMessages.TITLE_BAD_REQUEST, ex.getMessage());
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -57,8 +74,9 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(InvalidNameException.class)
     public ResponseEntity<ErrorResponse> handleInvalidNameException(InvalidNameException ex) {
-        log.warn("Manejo de handleInvalidNameException:" + ex.getMessage());
+        log.warn("Manejo de handleInvalidNameException: {}", ex.getMessage());
         ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ErrorMessages.TITLE_BAD_REQUEST, ErrorMessages.INVALID_NAME);
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -70,21 +88,67 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFoundException(UserNotFoundException ex) {
-        log.warn("Manejo de handleUserNotFoundException:" + ex.getMessage());
+        log.warn("Manejo de handleUserNotFoundException: {}", ex.getMessage());
         ErrorResponse errorResponse = buildErrorResponse(HttpStatus.NOT_FOUND, ErrorMessages.TITLE_RESOURCE_NOT_FOUND, ErrorMessages.USER_NOT_FOUND);
+        count(ex, HttpStatus.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Maneja la excepción {@link PreconditionFailedException} mapeándola a una respuesta 412 Precondition Failed.
+     *
+     * @param ex La excepción PreconditionFailedException lanzada.
+     * @return ResponseEntity con estado 412 y cuerpo ErrorResponse.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        log.warn("Manejo de handlePreconditionFailedException: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.PRECONDITION_FAILED, ErrorMessages.TITLE_PRECONDITION_FAILED, ex.getMessage());
+        count(ex, HttpStatus.PRECONDITION_FAILED);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Maneja la excepción {@link OptimisticLockingFailureException} (actualización concurrente detectada
+     * por la columna de versión al hacer flush) mapeándola a una respuesta 409 Conflict.
+     *
+     * @param ex La excepción OptimisticLockingFailureException lanzada.
+     * @return ResponseEntity con estado 409 y cuerpo ErrorResponse.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Manejo de handleOptimisticLockingFailureException: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.CONFLICT, ErrorMessages.TITLE_CONFLICT, ErrorMessages.MESSAGE_VERSION_MISMATCH);
+        count(ex, HttpStatus.CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Maneja la excepción {@link InvalidBatchRequestException} mapeándola a una respuesta 400 Bad Request.
+     *
+     * @param ex La excepción InvalidBatchRequestException lanzada.
+     * @return ResponseEntity con estado 400 y cuerpo ErrorResponse.
+     */
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatchRequestException(InvalidBatchRequestException ex) {
+        log.warn("Manejo de handleInvalidBatchRequestException: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ErrorMessages.TITLE_BAD_REQUEST, ex.getMessage());
+        count(ex, HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Maneja la excepción {@link InvalidEmailFormatException} mapeándola a una respuesta 400 Bad Request.
+     * El detalle es el mensaje de la excepción, que distingue un formato incorrecto de un dominio desechable.
      *
      * @param ex La excepción InvalidEmailFormatException lanzada.
      * @return ResponseEntity con estado 400 y cuerpo ErrorResponse.
      */
     @ExceptionHandler(InvalidEmailFormatException.class)
     public ResponseEntity<ErrorResponse> handleInvalidEmailFormatException(InvalidEmailFormatException ex) {
-        log.warn("Manejo de handleInvalidEmailFormatException:" + ex.getMessage());
-        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ErrorMessages.TITLE_BAD_REQUEST, ErrorMessages.VALIDATION_EMAIL_FORMAT);
+        log.warn("Manejo de handleInvalidEmailFormatException: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ErrorMessages.TITLE_BAD_REQUEST, ex.getMessage());
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -97,8 +161,9 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex) {
-        log.warn("Manejo de handleBadCredentialsException:" + ex.getMessage());
+        log.warn("Manejo de handleBadCredentialsException: {}", ex.getMessage());
         ErrorResponse errorResponse = buildErrorResponse(HttpStatus.UNAUTHORIZED, ErrorMessages.TITLE_UNAUTHORIZED, ErrorMessages.INVALID_CREDENTIALS);
+        count(ex, HttpStatus.UNAUTHORIZED);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
 
@@ -111,7 +176,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.warn("Manejo de handleValidationExceptions:" + ex.getMessage());
+        log.warn("Manejo de handleValidationExceptions: {}", ex.getMessage());
         ValidationErrorResponse errorResponse = new ValidationErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 ErrorMessages.TITLE_VALIDATION_ERROR,
@@ -123,6 +188,7 @@ public class GlobalExceptionHandler {
                 errorResponse.addValidationError(fieldError.getField(), fieldError.getDefaultMessage())
         );
 
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -134,11 +200,24 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        log.warn("Manejo de handleGenericException:" + ex.getMessage());
+        log.error("Manejo de handleGenericException: {}", ex.getMessage(), ex);
         ErrorResponse errorResponse = buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ErrorMessages.TITLE_INTERNAL_SERVER_ERROR, ErrorMessages.GENERIC_ERROR);
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    /**
+     * Incrementa el contador de la rama que ha manejado la excepción.
+     *
+     * @param ex La excepción manejada.
+     * @param status Estado HTTP devuelto.
+     */
+    private void count(Exception ex, HttpStatus status) {
+        meterRegistry.counter("api.exceptions",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
+
     /**
      * Método auxiliar para construir objetos {@link ErrorResponse}.
      *
@@ -0,0 +1,17 @@
+package com.alejandro.habitjourney.backend.common.exception;
+
+/**
+ * Excepción lanzada cuando un lote de operaciones es inválido en su conjunto
+ * (identificadores repetidos, dependencias desconocidas, demasiadas operaciones...).
+ */
+public class InvalidBatchRequestException extends DomainException {
+
+    /**
+     * Construye una nueva InvalidBatchRequestException con el mensaje especificado.
+     *
+     * @param message El mensaje detallado de la excepción.
+     */
+    public InvalidBatchRequestException(String message) {
+        super(message);
+    }
+}
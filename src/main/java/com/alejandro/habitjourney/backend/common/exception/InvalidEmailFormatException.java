@@ -4,7 +4,7 @@ package com.alejandro.habitjourney.backend.common.exception;
  * Excepción lanzada cuando un formato de email proporcionado no es válido
  * según las reglas de validación de la aplicación.
  */
-public class InvalidEmailFormatException extends RuntimeException {
+public class InvalidEmailFormatException extends DomainException {
 
     /**
      * Construye una nueva InvalidEmailFormatException con el mensaje especificado.
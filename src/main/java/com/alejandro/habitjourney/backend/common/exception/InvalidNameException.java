@@ -4,7 +4,7 @@ package com.alejandro.habitjourney.backend.common.exception;
  * Excepción lanzada cuando un nombre proporcionado (ej. nombre de usuario)
  * no cumple con los criterios de validación de la aplicación.
  */
-public class InvalidNameException extends RuntimeException {
+public class InvalidNameException extends DomainException {
 
     /**
      * Construye una nueva InvalidNameException con el mensaje especificado.
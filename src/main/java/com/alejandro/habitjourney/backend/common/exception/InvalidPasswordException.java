@@ -4,7 +4,7 @@ package com.alejandro.habitjourney.backend.common.exception;
  * Excepción lanzada cuando una contraseña proporcionada no cumple
  * con los criterios de formato o complejidad de la aplicación.
  */
-public class InvalidPasswordException extends RuntimeException {
+public class InvalidPasswordException extends DomainException {
 
     /**
      * Construye una nueva InvalidPasswordException con el mensaje especificado.
@@ -0,0 +1,17 @@
+package com.alejandro.habitjourney.backend.common.exception;
+
+/**
+ * Excepción lanzada cuando la versión indicada por el cliente (cabecera If-Match)
+ * ya no coincide con la versión actual del recurso.
+ */
+public class PreconditionFailedException extends DomainException {
+
+    /**
+     * Construye una nueva PreconditionFailedException con el mensaje especificado.
+     *
+     * @param message El mensaje detallado de la excepción.
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
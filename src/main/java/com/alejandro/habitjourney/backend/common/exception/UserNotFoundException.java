@@ -4,7 +4,7 @@ package com.alejandro.habitjourney.backend.common.exception;
  * Excepción lanzada cuando un usuario no puede ser encontrado
  * basándose en los criterios proporcionados (ej. ID, email).
  */
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends DomainException {
 
     /**
      * Construye una nueva UserNotFoundException con el mensaje especificado.
@@ -0,0 +1,27 @@
+package com.alejandro.habitjourney.backend.common.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Límites de coste de las consultas GraphQL ({@code app.graphql.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.graphql")
+public class GraphQlLimitsProperties {
+
+    /**
+     * Profundidad máxima de anidamiento de una consulta.
+     */
+    private int maxDepth = 8;
+
+    /**
+     * Complejidad máxima de una consulta; cada campo cuenta 1 por defecto.
+     */
+    private int maxComplexity = 100;
+
+    /**
+     * Número máximo de elementos de un argumento de tipo lista, como los IDs de {@code users}.
+     */
+    private int maxListSize = 100;
+}
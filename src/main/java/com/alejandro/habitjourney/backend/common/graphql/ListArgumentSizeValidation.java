@@ -0,0 +1,43 @@
+package com.alejandro.habitjourney.backend.common.graphql;
+
+import graphql.GraphQLError;
+import graphql.execution.instrumentation.fieldvalidation.FieldAndArguments;
+import graphql.execution.instrumentation.fieldvalidation.FieldValidation;
+import graphql.execution.instrumentation.fieldvalidation.FieldValidationEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rechaza las consultas con argumentos de tipo lista más largos que el máximo configurado, como
+ * {@code users(ids: [...])}. Se evalúa con los valores ya resueltos (incluidas las variables) antes de
+ * ejecutar ningún resolver, y cada argumento excedido produce un error de validación.
+ */
+public class ListArgumentSizeValidation implements FieldValidation {
+
+    private final int maxSize;
+
+    /**
+     * @param maxSize Número máximo de elementos por argumento.
+     */
+    public ListArgumentSizeValidation(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public List<GraphQLError> validateFields(FieldValidationEnvironment environment) {
+        List<GraphQLError> errors = new ArrayList<>();
+        for (FieldAndArguments field : environment.getFields()) {
+            for (Map.Entry<String, Object> argument : field.getArgumentValuesByName().entrySet()) {
+                if (argument.getValue() instanceof Collection<?> values && values.size() > maxSize) {
+                    errors.add(environment.mkError(String.format(
+                            "El argumento '%s' de '%s' admite como máximo %d elementos y se han recibido %d",
+                            argument.getKey(), field.getField().getName(), maxSize, values.size()), field));
+                }
+            }
+        }
+        return errors;
+    }
+}
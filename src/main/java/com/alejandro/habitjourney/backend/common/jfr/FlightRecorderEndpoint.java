@@ -0,0 +1,189 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Endpoint de Actuator {@code jfr} para arrancar, volcar y parar grabaciones de JDK Flight Recorder
+ * en caliente, sin herramientas externas. Los ficheros se escriben en {@code app.jfr.dump-directory}
+ * del propio nodo.
+ * Como {@code shards}, no se expone por web salvo que se añada a {@code management.endpoints.web.exposure.include},
+ * y en ese caso exige el rol ADMIN.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+    private static final Pattern UNSAFE_FILE_NAME_CHARACTERS = Pattern.compile("[^A-Za-z0-9_-]");
+    private static final int MAX_FILE_NAME_PART = 64;
+
+    private final FlightRecorderProperties properties;
+
+    /**
+     * Crea el endpoint.
+     *
+     * @param properties Propiedades de las grabaciones.
+     */
+    public FlightRecorderEndpoint(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Grabaciones existentes en la JVM.
+     */
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(recording -> RecordingDescriptor.of(recording, null))
+                .toList();
+    }
+
+    /**
+     * Arranca una grabación; si ya hay una en curso con ese nombre, la devuelve sin tocarla.
+     *
+     * @param name Nombre de la grabación.
+     * @param settings Configuración JFR ({@code default} o {@code profile}); por defecto la de las propiedades.
+     * @param duration Duración máxima; sin ella, graba hasta que se pare.
+     * @return La grabación.
+     */
+    @WriteOperation
+    public RecordingDescriptor start(String name, @Nullable String settings, @Nullable Duration duration) {
+        Recording existing = find(name);
+        if (existing != null && existing.getState() == RecordingState.RUNNING) {
+            return RecordingDescriptor.of(existing, null);
+        }
+        Recording recording = new Recording(configuration(settings != null ? settings : properties.getSettings()));
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+        logger.info("Grabación JFR '{}' iniciada", name);
+        return RecordingDescriptor.of(recording, null);
+    }
+
+    /**
+     * Vuelca a disco lo grabado hasta ahora sin parar la grabación.
+     *
+     * @param name Nombre de la grabación.
+     * @return La grabación con la ruta del fichero, o null si no existe.
+     */
+    @WriteOperation
+    public RecordingDescriptor dump(@Selector String name) {
+        Recording recording = find(name);
+        if (recording == null) {
+            return null;
+        }
+        Path file = dumpTo(recording);
+        return RecordingDescriptor.of(recording, file);
+    }
+
+    /**
+     * Para la grabación, la vuelca a disco y libera sus datos.
+     *
+     * @param name Nombre de la grabación.
+     * @return La grabación con la ruta del fichero, o null si no existe.
+     */
+    @DeleteOperation
+    public RecordingDescriptor stop(@Selector String name) {
+        Recording recording = find(name);
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Path file = dumpTo(recording);
+        RecordingDescriptor descriptor = RecordingDescriptor.of(recording, file);
+        recording.close();
+        logger.info("Grabación JFR '{}' parada y volcada en {}", name, file);
+        return descriptor;
+    }
+
+    /**
+     * Vuelca la grabación en el directorio de volcados. El nombre de la grabación lo elige quien llama al
+     * endpoint, así que el fichero se nombra con el id asignado por la JVM y solo los caracteres seguros del
+     * nombre; además se comprueba que la ruta resultante no salga del directorio.
+     */
+    private Path dumpTo(Recording recording) {
+        Path directory = properties.getDumpDirectory().toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName(recording)).normalize();
+        if (!file.startsWith(directory) || file.equals(directory)) {
+            throw new IllegalArgumentException("Ruta de volcado JFR fuera de " + directory + ": " + file);
+        }
+        try {
+            Files.createDirectories(directory);
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String fileName(Recording recording) {
+        String name = UNSAFE_FILE_NAME_CHARACTERS.matcher(recording.getName()).replaceAll("_");
+        if (name.length() > MAX_FILE_NAME_PART) {
+            name = name.substring(0, MAX_FILE_NAME_PART);
+        }
+        return "recording-" + recording.getId() + "-" + name + "-" + Instant.now().toEpochMilli() + ".jfr";
+    }
+
+    private static Recording find(String name) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getName().equals(name))
+                .reduce((first, second) -> second)
+                .orElse(null);
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Configuración JFR desconocida: " + name, e);
+        }
+    }
+
+    /**
+     * Vista serializable de una grabación.
+     *
+     * @param id Id asignado por la JVM.
+     * @param name Nombre.
+     * @param state Estado.
+     * @param startTime Inicio, o null si no ha arrancado.
+     * @param duration Duración máxima configurada, o null.
+     * @param size Bytes grabados.
+     * @param file Fichero del último volcado de esta operación, o null.
+     */
+    public record RecordingDescriptor(long id, String name, RecordingState state, Instant startTime,
+                                      Duration duration, long size, String file) {
+
+        static RecordingDescriptor of(Recording recording, @Nullable Path file) {
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState(),
+                    recording.getStartTime(), recording.getDuration(), recording.getSize(),
+                    file != null ? file.toString() : null);
+        }
+    }
+}
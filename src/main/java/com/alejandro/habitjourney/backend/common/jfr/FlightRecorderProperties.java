@@ -0,0 +1,36 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Propiedades de las grabaciones JFR bajo demanda ({@code app.jfr.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.jfr")
+public class FlightRecorderProperties {
+
+    /**
+     * Directorio donde se vuelcan las grabaciones.
+     */
+    private Path dumpDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+    /**
+     * Configuración JFR por defecto: {@code default} (~1% de sobrecarga) o {@code profile}.
+     */
+    private String settings = "default";
+
+    /**
+     * Antigüedad máxima de los datos que conserva una grabación en curso.
+     */
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    /**
+     * Tamaño máximo de los datos que conserva una grabación en curso.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+}
@@ -0,0 +1,28 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de la verificación del JWT en {@code JwtAuthenticationFilter}: firma, expiración
+ * y carga del usuario. La duración es la del propio evento.
+ */
+@Name("habitjourney.JwtVerification")
+@Label("JWT Verification")
+@Category({"HabitJourney", "Security"})
+@Description("Verificación del token JWT de una petición")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("User Id")
+    @Description("Id del usuario autenticado, 0 si el token se rechazó")
+    public long userId;
+
+    @Label("Outcome")
+    @Description("valid, invalid o rejected")
+    public String outcome;
+}
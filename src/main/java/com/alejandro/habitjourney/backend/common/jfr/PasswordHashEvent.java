@@ -0,0 +1,31 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de cada cálculo de hash de contraseña (registro, login y cambio de contraseña).
+ */
+@Name("habitjourney.PasswordHash")
+@Label("Password Hash")
+@Category({"HabitJourney", "Security"})
+@Description("Cálculo de un hash BCrypt")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("User Id")
+    @Description("Id del usuario autenticado en la petición, 0 si no hay ninguno (registro y login)")
+    public long userId;
+
+    @Label("Operation")
+    @Description("encode o matches")
+    public String operation;
+
+    @Label("Outcome")
+    @Description("encoded, matched o mismatched")
+    public String outcome;
+}
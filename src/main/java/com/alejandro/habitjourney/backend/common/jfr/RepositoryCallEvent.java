@@ -0,0 +1,31 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de cada llamada a {@code UserRepository}, incluida la transacción y la conexión
+ * que abra la propia llamada.
+ */
+@Name("habitjourney.RepositoryCall")
+@Label("Repository Call")
+@Category({"HabitJourney", "Persistence"})
+@Description("Llamada a un método de UserRepository")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("User Id")
+    @Description("Id del usuario afectado si se conoce por los argumentos o el resultado, 0 en otro caso")
+    public long userId;
+
+    @Label("Outcome")
+    @Description("ok, empty o el nombre simple de la excepción")
+    public String outcome;
+}
@@ -0,0 +1,60 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import com.alejandro.habitjourney.backend.user.model.User;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Optional;
+
+/**
+ * Interceptor que emite un {@link RepositoryCallEvent} por cada llamada al repositorio de usuarios.
+ * Los campos solo se calculan si JFR va a guardar el evento, así que sin grabación activa
+ * el coste es el de comprobar {@link RepositoryCallEvent#shouldCommit()}.
+ */
+public class RepositoryCallInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (ReflectionUtils.isObjectMethod(invocation.getMethod())) {
+            return invocation.proceed();
+        }
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = invocation.getMethod().getName();
+                event.userId = userId(invocation.getArguments(), result);
+                event.outcome = failure != null ? failure.getClass().getSimpleName()
+                        : isEmpty(result) ? "empty" : "ok";
+                event.commit();
+            }
+        }
+    }
+
+    private static long userId(Object[] args, Object result) {
+        if (args.length == 1) {
+            if (args[0] instanceof Long id) {
+                return id;
+            }
+            if (args[0] instanceof User user && user.getId() != null) {
+                return user.getId();
+            }
+        }
+        Object value = result instanceof Optional<?> optional ? optional.orElse(null) : result;
+        return value instanceof User user && user.getId() != null ? user.getId() : 0;
+    }
+
+    private static boolean isEmpty(Object result) {
+        return result instanceof Optional<?> optional && optional.isEmpty();
+    }
+}
@@ -0,0 +1,20 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import com.alejandro.habitjourney.backend.user.repository.UserRepository;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Añade {@link RepositoryCallInterceptor} al principio de la cadena del proxy de {@link UserRepository},
+ * de modo que cada evento cubra también la transacción y la obtención de la conexión.
+ */
+public class RepositoryCallPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof UserRepository && bean instanceof Advised advised) {
+            advised.addAdvice(0, new RepositoryCallInterceptor());
+        }
+        return bean;
+    }
+}
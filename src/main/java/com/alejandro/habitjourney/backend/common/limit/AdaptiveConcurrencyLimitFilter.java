@@ -0,0 +1,113 @@
+package com.alejandro.habitjourney.backend.common.limit;
+
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import com.alejandro.habitjourney.backend.common.util.PreSerializedErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtro que aplica un {@link GradientConcurrencyLimit} independiente a cada grupo de rutas
+ * (autenticación, usuarios...). Se ejecuta antes de Spring Security, así que una petición rechazada
+ * no llega a validar el JWT, pedir una conexión ni calcular un hash BCrypt: recibe un 503 con
+ * {@code Retry-After} de inmediato.
+ * Publica las métricas {@code http.concurrency.limit}, {@code http.concurrency.inflight}
+ * y {@code http.concurrency.rejected} etiquetadas por grupo.
+ */
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimitFilter.class);
+
+    private final List<Group> groups = new ArrayList<>();
+    private final PreSerializedErrorResponse overloaded;
+    private final String retryAfter;
+
+    /**
+     * Crea el filtro con un límite por grupo configurado.
+     *
+     * @param properties Propiedades del limitador.
+     * @param objectMapper Mapper para el cuerpo de las respuestas 503.
+     * @param meterRegistry Registro de métricas.
+     */
+    public AdaptiveConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+                                          MeterRegistry meterRegistry) {
+        this.overloaded = new PreSerializedErrorResponse(objectMapper, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ErrorMessages.TITLE_SERVICE_UNAVAILABLE, ErrorMessages.MESSAGE_SERVER_OVERLOADED);
+        this.retryAfter = Long.toString(Math.max(1, properties.getRetryAfter().toSeconds()));
+        for (Map.Entry<String, List<String>> entry : properties.getGroups().entrySet()) {
+            GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+            Gauge.builder("http.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                    .description("Límite actual de peticiones simultáneas")
+                    .tag("group", entry.getKey())
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.inflight", limit, GradientConcurrencyLimit::getInFlight)
+                    .description("Peticiones en curso")
+                    .tag("group", entry.getKey())
+                    .register(meterRegistry);
+            Counter rejected = Counter.builder("http.concurrency.rejected")
+                    .description("Peticiones rechazadas por el limitador")
+                    .tag("group", entry.getKey())
+                    .register(meterRegistry);
+            groups.add(new Group(entry.getKey(), entry.getValue(), limit, rejected));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Group group = resolve(request.getServletPath());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!group.limit().tryAcquire()) {
+            group.rejected().increment();
+            logger.debug("Petición rechazada por el limitador ({}): límite {}", group.name(), group.limit().getLimit());
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            group.limit().release(System.nanoTime() - start, completed);
+        }
+    }
+
+    private Group resolve(String path) {
+        for (Group group : groups) {
+            for (String prefix : group.prefixes()) {
+                if (path.startsWith(prefix)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        overloaded.writeTo(response);
+    }
+
+    private record Group(String name, List<String> prefixes, GradientConcurrencyLimit limit, Counter rejected) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.alejandro.habitjourney.backend.common.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propiedades del limitador adaptativo de concurrencia ({@code app.concurrency-limit.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Activa el limitador.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Límite inicial de peticiones simultáneas por grupo.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Límite mínimo; nunca se baja de este valor.
+     */
+    private int minLimit = 4;
+
+    /**
+     * Límite máximo; nunca se sube de este valor.
+     */
+    private int maxLimit = 200;
+
+    /**
+     * Peso de cada nuevo cálculo en el límite (0-1); valores bajos suavizan las oscilaciones.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Cuánto puede crecer la latencia reciente respecto a la histórica antes de reducir el límite.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Número aproximado de muestras que forman la latencia histórica de referencia.
+     */
+    private int longWindow = 600;
+
+    /**
+     * Valor de la cabecera Retry-After en las respuestas 503.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Grupos de rutas con límite propio: nombre → prefijos de ruta.
+     */
+    private Map<String, List<String>> groups = new LinkedHashMap<>(Map.of(
+            "auth", List.of("/api/auth/"),
+            "users", List.of("/api/users/"),
+            "batch", List.of("/api/batch"),
+            "graphql", List.of("/graphql")));
+}
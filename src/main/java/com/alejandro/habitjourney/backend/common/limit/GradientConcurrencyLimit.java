@@ -0,0 +1,105 @@
+package com.alejandro.habitjourney.backend.common.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia adaptativo basado en el gradiente de latencia.
+ * Compara la latencia reciente (media exponencial corta) con la histórica (media larga):
+ * mientras se mantienen parecidas el límite crece en {@code sqrt(límite)}; cuando la reciente
+ * se dispara (por ejemplo, la base de datos se ralentiza) el límite se reduce proporcionalmente,
+ * de modo que el exceso se rechaza en lugar de acumularse en cola.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double SHORT_WEIGHT = 0.1;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longWeight;
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * Crea el límite a partir de la configuración.
+     *
+     * @param properties Propiedades del limitador.
+     */
+    public GradientConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        this.limit = properties.getInitialLimit();
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.smoothing = properties.getSmoothing();
+        this.rttTolerance = properties.getRttTolerance();
+        this.longWeight = 1.0 / properties.getLongWindow();
+    }
+
+    /**
+     * Intenta reservar un hueco para una petición.
+     *
+     * @return true si la petición puede continuar; false si debe rechazarse.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Libera el hueco de una petición y, si procede, usa su latencia para recalcular el límite.
+     * Si otro hilo está recalculando, la muestra se descarta en lugar de esperar.
+     *
+     * @param rttNanos Latencia de la petición en nanosegundos.
+     * @param sample false para peticiones fallidas, que no deben influir en el límite.
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (sample && lock.tryLock()) {
+            try {
+                onSample(rttNanos, inFlightAtCompletion);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Límite actual.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Peticiones en curso.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void onSample(long rttNanos, int inFlightAtCompletion) {
+        shortRtt = shortRtt == 0 ? rttNanos : shortRtt * (1 - SHORT_WEIGHT) + rttNanos * SHORT_WEIGHT;
+        longRtt = longRtt == 0 ? rttNanos : longRtt * (1 - longWeight) + rttNanos * longWeight;
+        // Tras una degradación prolongada la media larga queda inflada; se acerca a la corta para poder recuperarse
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        // Sin carga suficiente no hay evidencia para subir el límite
+        if (next > current && inFlightAtCompletion < current / 2) {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,54 @@
+package com.alejandro.habitjourney.backend.common.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Asigna a cada petición un id de correlación: el de la cabecera {@code X-Request-Id} si es válido
+ * o uno nuevo. Lo deja en el MDC ({@code requestId}), así que aparece en todas las líneas de log
+ * estructuradas, y lo devuelve en la respuesta. También toma aquí la decisión de muestreo de {@link DebugLogSampler}.
+ */
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final DebugLogSampler sampler;
+
+    /**
+     * @param sampler Muestreo de logs de depuración.
+     */
+    public CorrelationIdFilter(DebugLogSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        MDC.put(MDC_KEY, requestId);
+        sampler.onRequestStarted(requestId);
+        response.setHeader(HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+            MDC.remove(UserMdcFilter.MDC_KEY);
+            MDC.remove(DebugLogSampler.MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.alejandro.habitjourney.backend.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Muestreo por petición de los logs DEBUG y TRACE. La decisión se toma al principio de la petición
+ * (por id de petición o por tasa aleatoria) y al conocer el usuario autenticado, y se guarda en el MDC;
+ * este {@link TurboFilter} deja pasar los logs de depuración de las peticiones marcadas aunque
+ * el nivel configurado del logger sea INFO. Para el resto de eventos solo cuesta una lectura del MDC.
+ * <p>
+ * Los objetivos se cambian en caliente con el endpoint {@code debugsampling}.
+ */
+public class DebugLogSampler extends TurboFilter {
+
+    /**
+     * Clave del MDC que marca la petición como muestreada.
+     */
+    public static final String MDC_KEY = "debugSampled";
+
+    private final Set<String> userIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> requestIds = ConcurrentHashMap.newKeySet();
+    private volatile double rate;
+
+    /**
+     * @param rate Fracción de peticiones muestreadas al azar (0-1).
+     */
+    public DebugLogSampler(double rate) {
+        setRate(rate);
+        setName("debug-log-sampler");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.levelInt > Level.DEBUG_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(MDC_KEY) != null ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    /**
+     * Decide al principio de la petición si se muestrea y lo anota en el MDC.
+     *
+     * @param requestId Id de correlación de la petición.
+     */
+    public void onRequestStarted(String requestId) {
+        double current = rate;
+        if (requestIds.contains(requestId) || (current > 0 && ThreadLocalRandom.current().nextDouble() < current)) {
+            MDC.put(MDC_KEY, "true");
+        }
+    }
+
+    /**
+     * Marca la petición si el usuario autenticado es uno de los objetivos.
+     *
+     * @param userId Id del usuario autenticado.
+     */
+    public void onUserResolved(String userId) {
+        if (!userIds.isEmpty() && userIds.contains(userId)) {
+            MDC.put(MDC_KEY, "true");
+        }
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("La tasa de muestreo debe estar entre 0 y 1: " + rate);
+        }
+        this.rate = rate;
+    }
+
+    /**
+     * @return Usuarios cuyas peticiones se muestrean siempre (vista modificable).
+     */
+    public Set<String> getUserIds() {
+        return userIds;
+    }
+
+    /**
+     * @return Ids de petición que se muestrean siempre (vista modificable).
+     */
+    public Set<String> getRequestIds() {
+        return requestIds;
+    }
+}
@@ -0,0 +1,82 @@
+package com.alejandro.habitjourney.backend.common.logging;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Endpoint de Actuator {@code debugsampling} para activar en caliente los logs de depuración
+ * de un usuario, de un id de petición o de una fracción aleatoria de peticiones.
+ * Como el resto de endpoints de gestión, no se expone por web salvo que se añada explícitamente
+ * y en ese caso exige el rol ADMIN.
+ */
+@Endpoint(id = "debugsampling")
+public class DebugSamplingEndpoint {
+
+    private final DebugLogSampler sampler;
+
+    /**
+     * @param sampler Muestreo de logs de depuración.
+     */
+    public DebugSamplingEndpoint(DebugLogSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    /**
+     * Objetivos actuales.
+     */
+    @ReadOperation
+    public Targets targets() {
+        return new Targets(sampler.getRate(), new TreeSet<>(sampler.getUserIds()), new TreeSet<>(sampler.getRequestIds()));
+    }
+
+    /**
+     * Añade objetivos o cambia la tasa; los parámetros ausentes no se tocan.
+     *
+     * @param userId Usuario a muestrear.
+     * @param requestId Id de petición a muestrear.
+     * @param rate Nueva tasa aleatoria (0-1).
+     * @return Los objetivos resultantes.
+     */
+    @WriteOperation
+    public Targets add(@Nullable String userId, @Nullable String requestId, @Nullable Double rate) {
+        if (userId != null) {
+            sampler.getUserIds().add(userId);
+        }
+        if (requestId != null) {
+            sampler.getRequestIds().add(requestId);
+        }
+        if (rate != null) {
+            sampler.setRate(rate);
+        }
+        return targets();
+    }
+
+    /**
+     * Quita todos los objetivos y deja la tasa a 0.
+     *
+     * @return Los objetivos resultantes.
+     */
+    @DeleteOperation
+    public Targets clear() {
+        sampler.getUserIds().clear();
+        sampler.getRequestIds().clear();
+        sampler.setRate(0);
+        return targets();
+    }
+
+    /**
+     * Vista serializable de los objetivos.
+     *
+     * @param rate Tasa aleatoria.
+     * @param userIds Usuarios muestreados.
+     * @param requestIds Ids de petición muestreados.
+     */
+    public record Targets(double rate, Set<String> userIds, Set<String> requestIds) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.alejandro.habitjourney.backend.common.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Copia el MDC del hilo que encola la tarea al hilo que la ejecuta, de modo que los logs de
+ * {@code @Async} y de las sub-peticiones de lote conserven el {@code requestId}, el {@code userId}
+ * y la marca de muestreo de la petición original.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) {
+            return runnable;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                runnable.run();
+            } finally {
+                if (previous == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previous);
+                }
+            }
+        };
+    }
+}
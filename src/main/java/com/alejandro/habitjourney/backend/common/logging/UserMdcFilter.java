@@ -0,0 +1,45 @@
+package com.alejandro.habitjourney.backend.common.logging;
+
+import com.alejandro.habitjourney.backend.common.security.UserDetailsImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Se ejecuta tras Spring Security y añade al MDC el id del usuario autenticado ({@code userId});
+ * si es uno de los objetivos de {@link DebugLogSampler}, marca la petición como muestreada.
+ * {@link CorrelationIdFilter} limpia la clave al terminar.
+ */
+public class UserMdcFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "userId";
+
+    private final DebugLogSampler sampler;
+
+    /**
+     * @param sampler Muestreo de logs de depuración.
+     */
+    public UserMdcFilter(DebugLogSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            String userId = String.valueOf(user.getId());
+            MDC.put(MDC_KEY, userId);
+            sampler.onUserResolved(userId);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
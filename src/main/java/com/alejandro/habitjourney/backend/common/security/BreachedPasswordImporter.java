@@ -0,0 +1,265 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Convierte un volcado de contraseñas filtradas en el fichero de {@link BreachedPasswordIndex}.
+ * <p>
+ * Admite dos formatos de entrada, una entrada por línea:
+ * <ul>
+ *     <li>{@link Format#SHA1}: SHA-1 en hexadecimal, opcionalmente seguido de {@code :apariciones}
+ *     (el formato de descarga de Have I Been Pwned);</li>
+ *     <li>{@link Format#PLAIN}: contraseñas en claro.</li>
+ * </ul>
+ * La entrada no tiene por qué estar ordenada: se lee en tramos de {@code runSize} hashes que se
+ * ordenan en memoria y se vuelcan a ficheros temporales, y después se mezclan eliminando duplicados.
+ * La memoria usada es de unos {@code runSize * 8} bytes sea cual sea el tamaño del volcado.
+ * El resultado se escribe en un temporal y se mueve al destino al terminar.
+ * <p>
+ * Uso: {@code java -cp target/classes com.alejandro.habitjourney.backend.common.security.BreachedPasswordImporter
+ * [--format=sha1|plain] [--run-size=N] <entrada> <salida>}.
+ */
+public final class BreachedPasswordImporter {
+
+    /**
+     * Formato del volcado de entrada.
+     */
+    public enum Format { SHA1, PLAIN }
+
+    /**
+     * Hashes por tramo ordenado en memoria (128 MB).
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 24;
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private BreachedPasswordImporter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Format format = Format.SHA1;
+        int runSize = DEFAULT_RUN_SIZE;
+        List<String> paths = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--format=")) {
+                format = Format.valueOf(arg.substring("--format=".length()).toUpperCase());
+            } else if (arg.startsWith("--run-size=")) {
+                runSize = Integer.parseInt(arg.substring("--run-size=".length()));
+            } else {
+                paths.add(arg);
+            }
+        }
+        if (paths.size() != 2) {
+            System.err.println("Uso: BreachedPasswordImporter [--format=sha1|plain] [--run-size=N] <entrada> <salida>");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        long written = importFile(Path.of(paths.get(0)), Path.of(paths.get(1)), format, runSize);
+        System.out.printf("%d hashes escritos en %s en %d s%n", written, paths.get(1),
+                (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    /**
+     * Genera el fichero del índice a partir de un volcado.
+     *
+     * @param input Volcado de entrada.
+     * @param output Fichero de salida; se reemplaza si existe.
+     * @param format Formato del volcado.
+     * @param runSize Hashes por tramo ordenado en memoria.
+     * @return Número de hashes distintos escritos.
+     * @throws IOException si falla la lectura o la escritura.
+     * @throws IllegalArgumentException si una línea no tiene el formato indicado.
+     */
+    public static long importFile(Path input, Path output, Format format, int runSize) throws IOException {
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de tramo debe ser positivo: " + runSize);
+        }
+        Path absoluteOutput = output.toAbsolutePath();
+        Path workDirectory = Files.createTempDirectory(absoluteOutput.getParent(), "breached-import");
+        try {
+            List<Path> runs = writeRuns(input, format, runSize, workDirectory);
+            Path temp = workDirectory.resolve("index.tmp");
+            long written = merge(runs, temp);
+            Files.move(temp, absoluteOutput, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return written;
+        } finally {
+            try (var files = Files.list(workDirectory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDirectory);
+        }
+    }
+
+    private static List<Path> writeRuns(Path input, Format format, int runSize, Path workDirectory) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        long[] run = new long[runSize];
+        int filled = 0;
+        long lineNumber = 0;
+        // InputStreamReader sustituye las secuencias UTF-8 mal formadas en lugar de fallar
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(input), StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                run[filled++] = parse(line, format, lineNumber);
+                if (filled == runSize) {
+                    runs.add(writeRun(run, filled, workDirectory, runs.size()));
+                    filled = 0;
+                }
+            }
+        }
+        if (filled > 0 || runs.isEmpty()) {
+            runs.add(writeRun(run, filled, workDirectory, runs.size()));
+        }
+        return runs;
+    }
+
+    private static long parse(String line, Format format, long lineNumber) {
+        if (format == Format.PLAIN) {
+            return BreachedPasswordIndex.hash(line);
+        }
+        int end = line.indexOf(':');
+        String hex = (end >= 0 ? line.substring(0, end) : line).trim();
+        if (hex.length() != 40 || !isHex(hex)) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": no es un SHA-1 en hexadecimal");
+        }
+        return HexFormat.fromHexDigitsToLong(hex, 0, 16);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!HexFormat.isHexDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ordena un tramo como enteros sin signo (invirtiendo el bit de signo alrededor de la ordenación)
+     * y lo escribe sin duplicados.
+     */
+    private static Path writeRun(long[] run, int filled, Path workDirectory, int index) throws IOException {
+        for (int i = 0; i < filled; i++) {
+            run[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(run, 0, filled);
+        Path file = workDirectory.resolve("run-%05d".formatted(index));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file), IO_BUFFER_SIZE))) {
+            for (int i = 0; i < filled; i++) {
+                if (i == 0 || run[i] != run[i - 1]) {
+                    out.writeLong(run[i] ^ Long.MIN_VALUE);
+                }
+            }
+        }
+        return file;
+    }
+
+    private static long merge(List<Path> runs, Path output) throws IOException {
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(),
+                (a, b) -> Long.compareUnsigned(a.current, b.current));
+        long written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(output), IO_BUFFER_SIZE))) {
+            out.write(new byte[BreachedPasswordIndex.HEADER_SIZE]);
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            long previous = 0;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                if (written == 0 || reader.current != previous) {
+                    out.writeLong(reader.current);
+                    previous = reader.current;
+                    written++;
+                }
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+        writeHeader(output, written);
+        return written;
+    }
+
+    private static void writeHeader(Path output, long count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BreachedPasswordIndex.HEADER_SIZE)
+                .putInt(BreachedPasswordIndex.MAGIC)
+                .putShort(BreachedPasswordIndex.VERSION)
+                .putShort((short) BreachedPasswordIndex.HASH_SIZE)
+                .putLong(count)
+                .flip();
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Lector secuencial de un tramo ordenado.
+     */
+    private static final class RunReader implements AutoCloseable {
+
+        private final DataInputStream in;
+        private long current;
+
+        RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_SIZE));
+        }
+
+        boolean advance() throws IOException {
+            try {
+                current = in.readLong();
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Índice de contraseñas filtradas: un fichero ordenado de hashes truncados, proyectado en memoria
+ * y consultado por búsqueda binaria. El corpus no ocupa heap; cada consulta lee unas 30 entradas
+ * (log2 de cientos de millones) de la caché de páginas.
+ * <pre>
+ * cabecera: magic (int) | versión (short) | bytes por hash (short) | número de entradas (long)
+ * entradas: los 8 primeros bytes del SHA-1 de la contraseña en UTF-8 (long big-endian),
+ *           ordenados como enteros sin signo y sin duplicados
+ * </pre>
+ * Con 8 bytes por hash la probabilidad de un falso positivo es del orden de n / 2^64, despreciable
+ * incluso con mil millones de entradas. Como un {@link MappedByteBuffer} no pasa de 2 GB, el fichero
+ * se proyecta en tramos de {@value #CHUNK_ENTRIES} entradas. El fichero se genera con
+ * {@link BreachedPasswordImporter}.
+ */
+public final class BreachedPasswordIndex implements AutoCloseable {
+
+    static final int MAGIC = 0x48425057;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int HASH_SIZE = Long.BYTES;
+    static final int CHUNK_ENTRIES = 1 << 27;
+
+    private static final BreachedPasswordIndex EMPTY = new BreachedPasswordIndex(null, null, new ByteBuffer[0], 0);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer[] chunks;
+    private final long size;
+
+    private BreachedPasswordIndex(Path path, FileChannel channel, ByteBuffer[] chunks, long size) {
+        this.path = path;
+        this.channel = channel;
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Índice sin entradas, para cuando no hay corpus configurado.
+     */
+    public static BreachedPasswordIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Proyecta en memoria un fichero generado por {@link BreachedPasswordImporter}.
+     *
+     * @param path Ruta del fichero.
+     * @return El índice abierto.
+     * @throws IOException si no se puede leer o no tiene el formato esperado.
+     */
+    public static BreachedPasswordIndex open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("No es un fichero de contraseñas filtradas válido: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getShort(4) != VERSION
+                    || header.getShort(6) != HASH_SIZE) {
+                throw new IOException("No es un fichero de contraseñas filtradas válido: " + path);
+            }
+            long size = header.getLong(8);
+            if (size < 0 || fileSize != HEADER_SIZE + size * HASH_SIZE) {
+                throw new IOException("Fichero de contraseñas filtradas truncado: " + path);
+            }
+            int chunkCount = (int) ((size + CHUNK_ENTRIES - 1) / CHUNK_ENTRIES);
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = (long) i * CHUNK_ENTRIES;
+                long entries = Math.min(CHUNK_ENTRIES, size - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * HASH_SIZE,
+                        entries * HASH_SIZE);
+            }
+            return new BreachedPasswordIndex(path, channel, chunks, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Indica si la contraseña aparece en el corpus.
+     *
+     * @param password Contraseña en claro, no nula.
+     * @return true si su hash truncado está en el índice.
+     */
+    public boolean contains(String password) {
+        return size > 0 && containsHash(hash(password));
+    }
+
+    /**
+     * Busca un hash truncado, ya calculado con {@link #hash(String)}.
+     */
+    boolean containsHash(long hash) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(entry(middle), hash);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long entry(long index) {
+        return chunks[(int) (index / CHUNK_ENTRIES)].getLong((int) (index % CHUNK_ENTRIES) * HASH_SIZE);
+    }
+
+    /**
+     * Hash truncado de una contraseña: los 8 primeros bytes de su SHA-1 en UTF-8.
+     */
+    static long hash(String password) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 no disponible", e);
+        }
+    }
+
+    /**
+     * Número de hashes del índice.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Ruta del fichero, o null si el índice está vacío.
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Cierra el fichero. Las proyecciones se liberan cuando el recolector reclama los buffers.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
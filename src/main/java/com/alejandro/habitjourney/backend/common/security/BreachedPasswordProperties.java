@@ -0,0 +1,17 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades del filtro de contraseñas filtradas ({@code app.security.breached-passwords.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.breached-passwords")
+public class BreachedPasswordProperties {
+
+    /**
+     * Fichero generado por {@link BreachedPasswordImporter}. Vacío para no filtrar contraseñas.
+     */
+    private String file;
+}
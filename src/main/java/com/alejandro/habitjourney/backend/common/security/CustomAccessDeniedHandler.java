@@ -2,6 +2,7 @@ package com.alejandro.habitjourney.backend.common.security;
 
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.dto.ErrorResponse;
+import com.alejandro.habitjourney.backend.common.util.PreSerializedErrorResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +10,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,7 +17,6 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 
 /**
  * Implementación de {@link AccessDeniedHandler} para manejar errores de acceso denegado.
@@ -28,14 +27,15 @@ import java.time.LocalDateTime;
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomAccessDeniedHandler.class);
-    private final ObjectMapper objectMapper;
+    private final PreSerializedErrorResponse forbidden;
 
     /**
      * Constructor que recibe el ObjectMapper configurado por Spring.
      * @param objectMapper El ObjectMapper configurado con módulos JSR310.
      */
     public CustomAccessDeniedHandler(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this.forbidden = new PreSerializedErrorResponse(objectMapper, HttpStatus.FORBIDDEN.value(),
+                ErrorMessages.TITLE_FORBIDDEN, ErrorMessages.MESSAGE_ACCESS_DENIED);
     }
 
     /**
@@ -59,19 +59,6 @@ public class CustomAccessDeniedHandler implements AccessDeniedHandler {
             logger.warn("Acceso denegado a recurso protegido para usuario no autenticado: {}", request.getRequestURI());
         }
 
-        // Construir el cuerpo de la respuesta de error
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.FORBIDDEN.value(),
-                ErrorMessages.TITLE_FORBIDDEN,
-                ErrorMessages.MESSAGE_ACCESS_DENIED,
-                LocalDateTime.now()
-        );
-
-        // Configurar la respuesta HTTP
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-
-        // Escribir el cuerpo de la respuesta en formato JSON
-        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+        forbidden.writeTo(response);
     }
 }
\ No newline at end of file
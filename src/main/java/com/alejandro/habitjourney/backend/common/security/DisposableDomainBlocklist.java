@@ -0,0 +1,183 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista de dominios de email desechables, consultada al validar el email del registro.
+ * <p>
+ * Los dominios se guardan en una {@link DomainTable} inmutable publicada en un campo volátil: las
+ * consultas leen la tabla vigente sin bloqueos ni reservas de memoria. La recarga construye una tabla
+ * nueva en un hilo propio y la publica de golpe; si el fichero no se puede leer se conserva la anterior.
+ * Leer una lista grande no ocupa así el planificador compartido de Spring, del que dependen otras tareas
+ * programadas. El fichero tiene un dominio por línea; las líneas vacías y las que empiezan por
+ * {@code #} se ignoran.
+ * <p>
+ * Métricas: {@code security.disposable-domains.lookup} (número de consultas y tiempo total, del que
+ * sale el coste medio por consulta), {@code .blocked}, {@code .entries} y {@code .reloads}.
+ */
+public class DisposableDomainBlocklist {
+
+    private static final Logger log = LoggerFactory.getLogger(DisposableDomainBlocklist.class);
+
+    private final Path file;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final Counter blocked;
+    private final Counter reloads;
+    private final Counter reloadFailures;
+    private final ScheduledExecutorService reloader;
+
+    private volatile DomainTable table = DomainTable.EMPTY;
+    private FileTime loadedModified;
+    private long loadedSize = -1;
+
+    /**
+     * Carga la lista inicial sin recargas periódicas.
+     *
+     * @param file Fichero de dominios, o null para una lista vacía.
+     * @param meterRegistry Registro de métricas.
+     * @throws UncheckedIOException si el fichero está configurado pero no se puede leer.
+     */
+    public DisposableDomainBlocklist(Path file, MeterRegistry meterRegistry) {
+        this(file, null, meterRegistry);
+    }
+
+    /**
+     * Carga la lista inicial y, si hay fichero, comprueba sus cambios periódicamente en un hilo propio.
+     *
+     * @param file Fichero de dominios, o null para una lista vacía.
+     * @param reloadInterval Intervalo entre comprobaciones, o null para no recargar.
+     * @param meterRegistry Registro de métricas.
+     * @throws UncheckedIOException si el fichero está configurado pero no se puede leer.
+     */
+    public DisposableDomainBlocklist(Path file, Duration reloadInterval, MeterRegistry meterRegistry) {
+        this.file = file;
+        this.blocked = Counter.builder("security.disposable-domains.blocked")
+                .description("Emails rechazados por usar un dominio desechable")
+                .register(meterRegistry);
+        this.reloads = Counter.builder("security.disposable-domains.reloads")
+                .tag("result", "success")
+                .description("Recargas de la lista de dominios desechables")
+                .register(meterRegistry);
+        this.reloadFailures = Counter.builder("security.disposable-domains.reloads")
+                .tag("result", "failure")
+                .description("Recargas de la lista de dominios desechables")
+                .register(meterRegistry);
+        FunctionTimer.builder("security.disposable-domains.lookup", this,
+                        blocklist -> blocklist.lookups.sum(), blocklist -> blocklist.lookupNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Consultas a la lista de dominios desechables y su tiempo total")
+                .register(meterRegistry);
+        Gauge.builder("security.disposable-domains.entries", this, blocklist -> blocklist.table.size())
+                .description("Dominios en la lista de dominios desechables")
+                .register(meterRegistry);
+
+        if (file != null) {
+            try {
+                load();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer la lista de dominios desechables " + file, e);
+            }
+        }
+        if (file != null && reloadInterval != null) {
+            long interval = reloadInterval.toMillis();
+            this.reloader = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("disposable-domains-reload").daemon().factory());
+            this.reloader.scheduleWithFixedDelay(this::reloadIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.reloader = null;
+        }
+    }
+
+    /**
+     * Indica si el dominio de un email, o alguno de sus dominios padre, está en la lista.
+     *
+     * @param email Email (se usa lo que sigue a la última {@code @}) o dominio, no nulo.
+     * @return true si el dominio es desechable.
+     */
+    public boolean isDisposable(String email) {
+        long start = System.nanoTime();
+        int at = email.lastIndexOf('@');
+        boolean disposable = table.matches(email, at + 1, email.length());
+        lookupNanos.add(System.nanoTime() - start);
+        lookups.increment();
+        if (disposable) {
+            blocked.increment();
+        }
+        return disposable;
+    }
+
+    /**
+     * Recarga la lista si el fichero ha cambiado de fecha o de tamaño.
+     */
+    public synchronized void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().equals(loadedModified) && attributes.size() == loadedSize) {
+                return;
+            }
+            load();
+        } catch (NoSuchFileException e) {
+            reloadFailures.increment();
+            log.warn("La lista de dominios desechables {} ya no existe; se mantiene la cargada", file);
+        } catch (IOException | RuntimeException e) {
+            reloadFailures.increment();
+            log.error("No se pudo recargar la lista de dominios desechables {}; se mantiene la cargada", file, e);
+        }
+    }
+
+    private void load() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long start = System.nanoTime();
+        List<String> domains;
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            domains = lines.filter(line -> !line.isBlank() && !line.startsWith("#")).toList();
+        }
+        DomainTable loaded = DomainTable.build(domains);
+        table = loaded;
+        loadedModified = attributes.lastModifiedTime();
+        loadedSize = attributes.size();
+        reloads.increment();
+        log.info("Lista de dominios desechables cargada: {} dominios en {} ms", loaded.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Detiene las recargas periódicas; se llama en el apagado ordenado.
+     */
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Número de dominios de la lista vigente.
+     */
+    public int size() {
+        return table.size();
+    }
+}
@@ -0,0 +1,24 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la lista de dominios desechables ({@code app.security.disposable-domains.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.disposable-domains")
+public class DisposableDomainProperties {
+
+    /**
+     * Fichero con un dominio por línea. Vacío para no bloquear ningún dominio.
+     */
+    private String file;
+
+    /**
+     * Intervalo entre comprobaciones de cambios en el fichero.
+     */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,188 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conjunto inmutable de dominios con un hash perfecto (hash and displace).
+ * <p>
+ * Cada dominio se reduce a una huella de 64 bits. Las huellas se reparten en cubetas de unas
+ * {@value #BUCKET_SIZE} y a cada cubeta se le busca un desplazamiento que lleve todas sus huellas
+ * a huecos libres de la tabla. Una consulta es entonces: la huella, su cubeta, el desplazamiento y
+ * una única comparación en {@code fingerprints}; sin colisiones que recorrer, sin objetos por
+ * entrada y con unos 10,5 bytes por dominio en dos arrays primitivos.
+ * <p>
+ * La huella se calcula recorriendo el dominio de derecha a izquierda en minúsculas ASCII, de modo que
+ * una sola pasada sobre {@code correo.spam.example} consulta también {@code spam.example}: se bloquean
+ * los subdominios de los dominios de la lista. Dos dominios distintos con la misma huella (del orden
+ * de n / 2^64) se tratarían como el mismo.
+ */
+final class DomainTable {
+
+    static final DomainTable EMPTY = build(List.of());
+
+    private static final int BUCKET_SIZE = 4;
+    private static final double LOAD_FACTOR = 0.85;
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+    private final long[] fingerprints;
+    private final int[] displacements;
+    private final int size;
+
+    private DomainTable(long[] fingerprints, int[] displacements, int size) {
+        this.fingerprints = fingerprints;
+        this.displacements = displacements;
+        this.size = size;
+    }
+
+    /**
+     * Construye la tabla. Los dominios se normalizan: sin espacios y sin el punto o {@code *.} inicial;
+     * los vacíos se ignoran. Las mayúsculas ASCII se igualan al calcular la huella.
+     *
+     * @throws IllegalStateException si no se encuentra un desplazamiento para alguna cubeta
+     *                               (con carga 0,85 y cubetas de 4 no ocurre en la práctica).
+     */
+    static DomainTable build(Collection<String> domains) {
+        Set<Long> unique = new HashSet<>(domains.size() * 2);
+        for (String domain : domains) {
+            String normalized = normalize(domain);
+            if (!normalized.isEmpty()) {
+                unique.add(fingerprint(normalized, 0, normalized.length()));
+            }
+        }
+        int size = unique.size();
+        int bucketCount = Math.max(1, (size + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        int tableSize = Math.max(1, (int) Math.ceil(size / LOAD_FACTOR));
+
+        List<List<Long>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>(BUCKET_SIZE));
+        }
+        for (long fingerprint : unique) {
+            buckets.get(reduce(fingerprint, bucketCount)).add(fingerprint);
+        }
+        Integer[] order = new Integer[bucketCount];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Integer.compare(buckets.get(b).size(), buckets.get(a).size()));
+
+        long[] fingerprints = new long[tableSize];
+        int[] displacements = new int[bucketCount];
+        int[] slots = new int[BUCKET_SIZE * 4];
+        for (int bucket : order) {
+            List<Long> keys = buckets.get(bucket);
+            if (keys.isEmpty()) {
+                break;
+            }
+            if (slots.length < keys.size()) {
+                slots = new int[keys.size()];
+            }
+            displacements[bucket] = place(keys, fingerprints, slots);
+        }
+        return new DomainTable(fingerprints, displacements, size);
+    }
+
+    private static int place(List<Long> keys, long[] fingerprints, int[] slots) {
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+            boolean free = true;
+            for (int i = 0; i < keys.size() && free; i++) {
+                int slot = slot(keys.get(i), displacement, fingerprints.length);
+                free = fingerprints[slot] == 0;
+                for (int j = 0; j < i && free; j++) {
+                    free = slots[j] != slot;
+                }
+                slots[i] = slot;
+            }
+            if (free) {
+                for (int i = 0; i < keys.size(); i++) {
+                    fingerprints[slots[i]] = keys.get(i);
+                }
+                return displacement;
+            }
+        }
+        throw new IllegalStateException("No se pudo construir el hash perfecto de dominios");
+    }
+
+    /**
+     * Indica si {@code value[start, end)} o alguno de sus dominios padre (con al menos un punto) está en la tabla.
+     */
+    boolean matches(String value, int start, int end) {
+        if (size == 0) {
+            return false;
+        }
+        long hash = FNV_OFFSET;
+        boolean dotSeen = false;
+        for (int i = end - 1; i >= start; i--) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (dotSeen && contains(mix(hash))) {
+                    return true;
+                }
+                dotSeen = true;
+            }
+            hash = (hash ^ lowerAscii(c)) * FNV_PRIME;
+        }
+        return contains(mix(hash));
+    }
+
+    private boolean contains(long fingerprint) {
+        int bucket = reduce(fingerprint, displacements.length);
+        return fingerprints[slot(fingerprint, displacements[bucket], fingerprints.length)] == fingerprint;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Huella de {@code value[start, end)}, recorrida de derecha a izquierda. Nunca es 0, que marca hueco libre.
+     */
+    static long fingerprint(String value, int start, int end) {
+        long hash = FNV_OFFSET;
+        for (int i = end - 1; i >= start; i--) {
+            hash = (hash ^ lowerAscii(value.charAt(i))) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    static String normalize(String domain) {
+        String normalized = domain.strip();
+        if (normalized.startsWith("*.")) {
+            normalized = normalized.substring(2);
+        } else if (normalized.startsWith(".")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static int slot(long fingerprint, int displacement, int tableSize) {
+        return reduce(mix(fingerprint + displacement * GOLDEN), tableSize);
+    }
+
+    /**
+     * Reduce un hash a {@code [0, n)} con una multiplicación en lugar de un módulo.
+     */
+    private static int reduce(long hash, int n) {
+        return (int) Math.multiplyHigh(hash >>> 1, (long) n << 1);
+    }
+
+    private static char lowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -1,7 +1,7 @@
 package com.alejandro.habitjourney.backend.common.security;
 
-import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.constant.SuccessMessages;
+import com.alejandro.habitjourney.backend.common.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,10 +10,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -24,12 +24,16 @@ import java.io.IOException;
  * Se ejecuta una vez por cada petición.
  * Busca un token JWT en la cabecera Authorization, lo valida
  * y configura el contexto de seguridad si es válido.
+ * Un token presente pero inválido se rechaza en el acto con el punto de entrada de autenticación,
+ * sin recorrer el resto de la cadena ni crear excepciones con traza.
+ * Cada verificación emite un {@link JwtVerificationEvent} de JFR.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final AuthenticationEntryPoint authenticationEntryPoint;
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Override
@@ -47,28 +51,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * @param filterChain La cadena de filtros.
      * @throws ServletException Si ocurre un error de servlet.
      * @throws IOException Si ocurre un error de I/O.
-     * @throws AuthenticationServiceException Si hay un error al procesar o validar el token JWT.
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        try {
-            String token = jwtUtil.resolveToken(request);
-            if (token != null) {
-                if (jwtUtil.validateToken(token)) {
-                    Authentication authentication = jwtUtil.getAuthentication(token);
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug(SuccessMessages.AUTHENTICATION_SUCCESS);
+        String token = jwtUtil.resolveToken(request);
+        if (token != null) {
+            JwtVerificationEvent event = new JwtVerificationEvent();
+            event.begin();
+            try {
+                if (!jwtUtil.validateToken(token)) {
+                    commit(event, "invalid", null);
+                    reject(request, response);
+                    return;
                 }
+                Authentication authentication = jwtUtil.getAuthentication(token);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                commit(event, "valid", authentication);
+                logger.debug(SuccessMessages.AUTHENTICATION_SUCCESS);
+            } catch (JwtException | AuthenticationException e) {
+                logger.debug("JWT rechazado: {}", e.getMessage());
+                commit(event, "rejected", null);
+                reject(request, response);
+                return;
             }
-        }catch (JwtException | AuthenticationException e) {
-                    SecurityContextHolder.clearContext();
-                    logger.error("JWT error: {}", e.getMessage());
-                    throw new AuthenticationServiceException(ErrorMessages.AUTHENTICATION_ERROR, e);
-                }
+        }
 
         filterChain.doFilter(request, response);
     }
+
+    private static void commit(JwtVerificationEvent event, String outcome, Authentication authentication) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.userId = authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user
+                    ? user.getId() : 0;
+            event.commit();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        SecurityContextHolder.clearContext();
+        authenticationEntryPoint.commence(request, response, RejectedTokenException.INSTANCE);
+    }
 }
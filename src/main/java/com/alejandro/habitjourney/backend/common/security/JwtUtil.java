@@ -32,6 +32,7 @@ import java.util.stream.Collectors;
 public class JwtUtil {
 
     private final UserDetailsServiceImpl userDetailsService;
+    private final SecurityMetrics metrics;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -73,6 +74,7 @@ public class JwtUtil {
      * @return El token JWT generado.
      */
     public String generateAccessToken(Authentication authentication) {
+        long start = metrics.start();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
         Date now = new Date();
@@ -91,12 +93,15 @@ public class JwtUtil {
                 .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
 
+        metrics.record(SecurityMetrics.Phase.JWT_GENERATE, start);
         logger.debug("Token JWT generado para el usuario: {}", userDetails.getEmail());
         return token;
     }
 
     /**
      * Valida la firma y la expiración de un token JWT.
+     * La duración se registra en {@code security.jwt.validation} y cada rechazo en
+     * {@code security.jwt.failures}, etiquetado con el motivo.
      *
      * @param token El token JWT a validar.
      * @return true si el token es válido (firma correcta, no expirado), false en caso contrario.
@@ -104,22 +109,31 @@ public class JwtUtil {
     public boolean validateToken(String token) {
         if (token == null || token.trim().isEmpty()) {
             logger.debug("Intento de validar token JWT nulo o vacío.");
+            metrics.jwtFailure("empty");
             return false;
         }
+        long start = metrics.start();
         try {
             parser.parseSignedClaims(token);
             logger.debug(SuccessMessages.JWT_TOKEN_VALIDATED);
             return true;
         } catch (ExpiredJwtException e) {
-            logger.warn("Validación de token fallida: token expirado: {}", e.getMessage());
+            logger.debug("Validación de token fallida: token expirado: {}", e.getMessage());
+            metrics.jwtFailure("expired");
         } catch (MalformedJwtException e) {
-            logger.warn("Validación de token fallida: token malformado: {}", e.getMessage());
+            logger.debug("Validación de token fallida: token malformado: {}", e.getMessage());
+            metrics.jwtFailure("malformed");
         } catch (UnsupportedJwtException e) {
-            logger.warn("Validación de token fallida: token no soportado: {}", e.getMessage());
+            logger.debug("Validación de token fallida: token no soportado: {}", e.getMessage());
+            metrics.jwtFailure("unsupported");
         } catch (IllegalArgumentException e) {
-            logger.warn("Validación de token fallida: argumento ilegal: {}", e.getMessage());
+            logger.debug("Validación de token fallida: argumento ilegal: {}", e.getMessage());
+            metrics.jwtFailure("illegal-argument");
         } catch (SignatureException e) {
-            logger.warn("Validación de token fallida: firma inválida: {}", e.getMessage());
+            logger.debug("Validación de token fallida: firma inválida: {}", e.getMessage());
+            metrics.jwtFailure("signature");
+        } finally {
+            metrics.record(SecurityMetrics.Phase.JWT_VALIDATE, start);
         }
 
         return false;
@@ -0,0 +1,26 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Excepción de autenticación sin traza para tokens rechazados.
+ * Un token inválido es un resultado esperado (y masivo durante un ataque), no un fallo del programa,
+ * así que se reutiliza una única instancia inmutable y no se captura la pila.
+ */
+public final class RejectedTokenException extends AuthenticationException {
+
+    /**
+     * Instancia compartida para cualquier token inválido, expirado o de un usuario inexistente.
+     */
+    public static final RejectedTokenException INSTANCE = new RejectedTokenException();
+
+    private RejectedTokenException() {
+        super(ErrorMessages.MESSAGE_INVALID_TOKEN);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,43 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro que enlaza un contexto de seguridad nuevo para cada petición cuando se usa
+ * {@link ScopedValueSecurityContextHolderStrategy}. Debe ejecutarse antes que la cadena
+ * de filtros de Spring Security para que todo el procesamiento vea el mismo ámbito.
+ */
+public class ScopedSecurityContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try {
+            ScopedValueSecurityContextHolderStrategy.callWithNewContext(() -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (ServletException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link SecurityContextHolderStrategy} respaldada por un {@link ScopedValue} que se enlaza una vez
+ * por petición en {@link ScopedSecurityContextFilter}.
+ * Con hilos virtuales evita crear un mapa de ThreadLocal por hilo; el contexto vive solo mientras
+ * dura la petición y desaparece con el ámbito. Fuera de un ámbito enlazado (arranque, tareas
+ * programadas, pruebas) delega en la estrategia ThreadLocal de Spring Security.
+ */
+public final class ScopedValueSecurityContextHolderStrategy implements SecurityContextHolderStrategy {
+
+    private static final ScopedValue<Slot> CONTEXT = ScopedValue.newInstance();
+
+    private final SecurityContextHolderStrategy fallback;
+
+    /**
+     * Crea la estrategia con la estrategia de respaldo para los hilos sin ámbito enlazado.
+     *
+     * @param fallback Estrategia usada fuera de una petición.
+     */
+    public ScopedValueSecurityContextHolderStrategy(SecurityContextHolderStrategy fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Ejecuta una operación con un contexto de seguridad vacío enlazado al hilo actual.
+     *
+     * @param operation Operación a ejecutar (normalmente el resto de la cadena de filtros).
+     * @return El resultado de la operación.
+     * @throws Exception si la operación falla.
+     */
+    public static <T> T callWithNewContext(Callable<T> operation) throws Exception {
+        return ScopedValue.where(CONTEXT, new Slot()).call(operation);
+    }
+
+    /**
+     * Indica si el hilo actual tiene un ámbito de petición enlazado.
+     */
+    public static boolean isBound() {
+        return CONTEXT.isBound();
+    }
+
+    @Override
+    public void clearContext() {
+        if (CONTEXT.isBound()) {
+            CONTEXT.get().context = null;
+        } else {
+            fallback.clearContext();
+        }
+    }
+
+    @Override
+    public SecurityContext getContext() {
+        if (!CONTEXT.isBound()) {
+            return fallback.getContext();
+        }
+        Slot slot = CONTEXT.get();
+        if (slot.context == null) {
+            slot.context = createEmptyContext();
+        }
+        return slot.context;
+    }
+
+    @Override
+    public void setContext(SecurityContext context) {
+        Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
+        if (CONTEXT.isBound()) {
+            CONTEXT.get().context = context;
+        } else {
+            fallback.setContext(context);
+        }
+    }
+
+    @Override
+    public SecurityContext createEmptyContext() {
+        return new SecurityContextImpl();
+    }
+
+    /**
+     * Contenedor mutable del contexto: el enlace del ScopedValue es inmutable, su contenido no.
+     * Solo lo usa el hilo que atiende la petición.
+     */
+    private static final class Slot {
+        private SecurityContext context;
+    }
+}
@@ -0,0 +1,108 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporizadores y contadores de la capa de seguridad: validación y firma de JWT, hash BCrypt
+ * y carga de usuarios. Cada medición se publica en Micrometer y, si la petición en curso tiene un
+ * {@link ServerTiming} activo, se añade también a la cabecera {@code Server-Timing}.
+ * <p>
+ * Se usa con el patrón {@code long start = metrics.start(); try {...} finally {metrics.record(fase, start);}}
+ * para no crear lambdas ni capturar excepciones comprobadas en las rutas calientes.
+ */
+@Component
+public class SecurityMetrics {
+
+    /**
+     * Fases medidas, con su nombre en la cabecera Server-Timing.
+     */
+    public enum Phase {
+        JWT_VALIDATE("jwt-validate"),
+        JWT_GENERATE("jwt-generate"),
+        PASSWORD_ENCODE("bcrypt-encode"),
+        PASSWORD_MATCH("bcrypt-match"),
+        USER_LOOKUP("user-lookup");
+
+        private final String serverTimingName;
+
+        Phase(String serverTimingName) {
+            this.serverTimingName = serverTimingName;
+        }
+
+        public String serverTimingName() {
+            return serverTimingName;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Phase, Timer> timers = new EnumMap<>(Phase.class);
+    private final Counter lookupMisses;
+
+    /**
+     * Registra los temporizadores de todas las fases.
+     *
+     * @param meterRegistry Registro de métricas.
+     */
+    public SecurityMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        timers.put(Phase.JWT_VALIDATE, timer("security.jwt.validation", "Validación de firma y expiración de JWT"));
+        timers.put(Phase.JWT_GENERATE, timer("security.jwt.generation", "Generación y firma de JWT"));
+        timers.put(Phase.PASSWORD_ENCODE, Timer.builder("security.password.hash")
+                .description("Cálculo de hashes BCrypt").tag("operation", "encode").register(meterRegistry));
+        timers.put(Phase.PASSWORD_MATCH, Timer.builder("security.password.hash")
+                .description("Cálculo de hashes BCrypt").tag("operation", "matches").register(meterRegistry));
+        timers.put(Phase.USER_LOOKUP, timer("security.user.lookup", "Carga de usuarios por email"));
+        this.lookupMisses = Counter.builder("security.user.lookup.misses")
+                .description("Búsquedas de usuario por email sin resultado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return Marca de tiempo de inicio para {@link #record(Phase, long)}.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra la duración de una fase desde {@code startNanos}.
+     *
+     * @param phase Fase medida.
+     * @param startNanos Valor devuelto por {@link #start()}.
+     */
+    public void record(Phase phase, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        timers.get(phase).record(elapsed, TimeUnit.NANOSECONDS);
+        ServerTiming serverTiming = ServerTiming.current();
+        if (serverTiming != null) {
+            serverTiming.add(phase.serverTimingName(), elapsed);
+        }
+    }
+
+    /**
+     * Cuenta un JWT rechazado por el motivo indicado (expired, malformed, signature...).
+     *
+     * @param reason Motivo del rechazo.
+     */
+    public void jwtFailure(String reason) {
+        meterRegistry.counter("security.jwt.failures", "reason", reason).increment();
+    }
+
+    /**
+     * Cuenta una búsqueda de usuario por email sin resultado.
+     */
+    public void userLookupMiss() {
+        lookupMisses.increment();
+    }
+
+    private Timer timer(String name, String description) {
+        return Timer.builder(name).description(description).register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import jakarta.servlet.ServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Acumulador de duraciones por petición para la cabecera {@code Server-Timing}.
+ * Lo instala {@link ServerTimingFilter} como atributo de la petición; si el filtro no está activo,
+ * {@link #current()} devuelve null y las mediciones solo llegan a Micrometer.
+ */
+public final class ServerTiming {
+
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+
+    ServerTiming() {
+    }
+
+    /**
+     * Instala un acumulador vacío en la petición.
+     *
+     * @param request Petición en curso.
+     * @return El acumulador instalado.
+     */
+    static ServerTiming install(ServletRequest request) {
+        ServerTiming serverTiming = new ServerTiming();
+        request.setAttribute(ATTRIBUTE, serverTiming);
+        return serverTiming;
+    }
+
+    /**
+     * @return El acumulador de la petición ligada al hilo actual, o null si no hay ninguno.
+     */
+    public static ServerTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (ServerTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Suma una duración a la métrica indicada; varias llamadas con el mismo nombre se acumulan.
+     *
+     * @param name Nombre de la métrica en la cabecera.
+     * @param nanos Duración en nanosegundos.
+     */
+    public synchronized void add(String name, long nanos) {
+        durations.merge(name, nanos, Long::sum);
+    }
+
+    /**
+     * Formatea la cabecera con las duraciones en milisegundos y el total de la petición.
+     *
+     * @param totalNanos Duración total medida por el filtro.
+     * @return Valor de la cabecera {@code Server-Timing}.
+     */
+    synchronized String toHeaderValue(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        durations.forEach((name, nanos) -> append(header, name, nanos));
+        append(header, "total", totalNanos);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,37 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.alejandro.habitjourney.backend.common.util.BeforeCommitResponseWrapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro de depuración que publica en la cabecera {@code Server-Timing} lo que ha costado cada fase
+ * de seguridad de la petición (JWT, BCrypt, carga de usuario). La cabecera se escribe justo antes de
+ * que la respuesta empiece a enviarse, porque después ya no se pueden añadir cabeceras.
+ * Se activa con {@code app.security.server-timing.enabled=true}; expone tiempos internos,
+ * así que no debe quedar activo en producción.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServerTiming serverTiming = ServerTiming.install(request);
+        long start = System.nanoTime();
+        BeforeCommitResponseWrapper wrapper = new BeforeCommitResponseWrapper(response,
+                () -> response.setHeader(HEADER, serverTiming.toHeaderValue(System.nanoTime() - start)));
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.beforeCommit();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.alejandro.habitjourney.backend.common.jfr.PasswordHashEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} que mide cada cálculo de hash del codificador envuelto.
+ * Cubre tanto el registro y los cambios de contraseña como la comprobación que hace
+ * {@code DaoAuthenticationProvider} en el login. Además del temporizador, cada hash emite
+ * un {@link PasswordHashEvent} de JFR.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final SecurityMetrics metrics;
+
+    /**
+     * @param delegate Codificador real.
+     * @param metrics Métricas de seguridad.
+     */
+    public TimedPasswordEncoder(PasswordEncoder delegate, SecurityMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        long start = metrics.start();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            metrics.record(SecurityMetrics.Phase.PASSWORD_ENCODE, start);
+            commit(event, "encode", "encoded");
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        long start = metrics.start();
+        boolean matched = false;
+        try {
+            matched = delegate.matches(rawPassword, encodedPassword);
+            return matched;
+        } finally {
+            metrics.record(SecurityMetrics.Phase.PASSWORD_MATCH, start);
+            commit(event, "matches", matched ? "matched" : "mismatched");
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static void commit(PasswordHashEvent event, String operation, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.outcome = outcome;
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            event.userId = authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user
+                    ? user.getId() : 0;
+            event.commit();
+        }
+    }
+}
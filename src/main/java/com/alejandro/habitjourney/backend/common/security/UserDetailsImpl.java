@@ -3,14 +3,13 @@ package com.alejandro.habitjourney.backend.common.security;
 import com.alejandro.habitjourney.backend.user.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -19,26 +18,58 @@ import java.util.List;
  * Implementación de {@link UserDetails} de Spring Security.
  * Representa al usuario autenticado en el contexto de seguridad,
  * conteniendo información básica como ID, email, contraseña hasheada y roles/autoridades.
+ * <p>
+ * Una misma autenticación puede atender varias operaciones en paralelo (por ejemplo, las de un
+ * {@code /api/batch}), así que los datos que cambian al modificar el usuario (email, versión y usuario
+ * cargado) se guardan juntos en una instantánea inmutable publicada de forma atómica.
  */
 @Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
 @Schema(description = "Detalles del usuario principal para Spring Security")
 public class UserDetailsImpl implements UserDetails {
 
     @Schema(description = "ID único del usuario", example = "123")
-    private Long id;
-
-    @Schema(description = "Email del usuario (nombre de usuario)", example = "usuario@example.com")
-    private String email;
+    private final Long id;
 
     @JsonIgnore
     @Schema(description = "Contraseña hasheada del usuario (no expuesta en la API)")
-    private String password;
+    private final String password;
 
     @Schema(description = "Autoridades/Roles del usuario")
-    private Collection<GrantedAuthority> authorities;
+    private final Collection<GrantedAuthority> authorities;
+
+    @Getter(AccessLevel.NONE)
+    @JsonIgnore
+    private volatile Snapshot snapshot;
+
+    /**
+     * Construye los detalles del usuario.
+     *
+     * @param id ID del usuario.
+     * @param email Email del usuario.
+     * @param password Contraseña hasheada.
+     * @param authorities Autoridades del usuario.
+     * @param version Versión de la fila del usuario al cargar la autenticación, o null si no se conoce.
+     * @param user Usuario cargado al autenticar, o null si no se ha cargado.
+     */
+    public UserDetailsImpl(Long id, String email, String password, Collection<GrantedAuthority> authorities,
+                           Long version, User user) {
+        this.id = id;
+        this.password = password;
+        this.authorities = authorities;
+        this.snapshot = new Snapshot(email, version, user);
+    }
+
+    /**
+     * Construye los detalles del usuario sin versión conocida.
+     *
+     * @param id ID del usuario.
+     * @param email Email del usuario.
+     * @param password Contraseña hasheada.
+     * @param authorities Autoridades del usuario.
+     */
+    public UserDetailsImpl(Long id, String email, String password, Collection<GrantedAuthority> authorities) {
+        this(id, email, password, authorities, null, null);
+    }
 
     /**
      * Método factory estático para construir una instancia de UserDetailsImpl
@@ -54,7 +85,50 @@ public class UserDetailsImpl implements UserDetails {
         List<GrantedAuthority> grantedAuthorities = Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_USER")
         );
-        return new UserDetailsImpl(user.getId(), user.getEmail(), user.getPasswordHash(), grantedAuthorities);
+        return new UserDetailsImpl(user.getId(), user.getEmail(), user.getPasswordHash(), grantedAuthorities, user.getVersion(), user);
+    }
+
+    /**
+     * Actualiza la instantánea del usuario tras modificarlo, para que las siguientes operaciones de la
+     * misma autenticación vean los datos y la versión nuevos. Se sustituye entera, así que otro hilo
+     * ve la instantánea anterior o la nueva, nunca una mezcla.
+     *
+     * @param updated Usuario tal como ha quedado tras el commit.
+     */
+    public void refresh(User updated) {
+        this.snapshot = new Snapshot(updated.getEmail(), updated.getVersion(), updated);
+    }
+
+    /**
+     * Email del usuario (nombre de usuario).
+     *
+     * @return El email vigente.
+     */
+    @Schema(description = "Email del usuario (nombre de usuario)", example = "usuario@example.com")
+    public String getEmail() {
+        return snapshot.email;
+    }
+
+    /**
+     * Versión de la fila del usuario en el momento de cargar la autenticación o de la última actualización.
+     *
+     * @return La versión, o null si no se conoce.
+     */
+    @Schema(description = "Versión de la fila del usuario en el momento de cargar la autenticación", example = "3")
+    public Long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Usuario cargado al autenticar la petición. Solo vive lo que la petición (la API no tiene sesión),
+     * así que se reutiliza para no volver a leerlo de la base de datos.
+     *
+     * @return El usuario, o null si no se ha cargado.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    public User getUser() {
+        return snapshot.user;
     }
 
     // Métodos de la interfaz UserDetails
@@ -81,7 +155,7 @@ public class UserDetailsImpl implements UserDetails {
      */
     @Override
     public String getUsername() {
-        return email;
+        return getEmail();
     }
 
     /**
@@ -124,4 +198,20 @@ public class UserDetailsImpl implements UserDetails {
         return true;
     }
 
+    /**
+     * Datos del usuario que cambian al modificarlo. El usuario cargado no se serializa, igual que antes
+     * de agruparlos: es una caché de la petición.
+     */
+    private static final class Snapshot implements Serializable {
+
+        private final String email;
+        private final Long version;
+        private final transient User user;
+
+        private Snapshot(String email, Long version, User user) {
+            this.email = email;
+            this.version = version;
+            this.user = user;
+        }
+    }
 }
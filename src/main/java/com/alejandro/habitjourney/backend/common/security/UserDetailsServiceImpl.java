@@ -11,6 +11,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 /**
  * Implementación de {@link UserDetailsService} de Spring Security.
@@ -21,21 +24,35 @@ import org.springframework.stereotype.Service;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final SecurityMetrics metrics;
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
     /**
      * Carga los detalles del usuario por su nombre de usuario (email).
      * Este método es llamado por el proveedor de autenticación de Spring Security.
+     * La consulta se mide en {@code security.user.lookup} y los fallos se cuentan en
+     * {@code security.user.lookup.misses}.
      *
      * @param email El email del usuario.
      * @return Una implementación de UserDetails que contiene los detalles del usuario.
      * @throws UserNotFoundException Si no se encuentra un usuario con el email proporcionado.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetailsImpl loadUserByUsername(String email) throws UserNotFoundException {
         logger.debug("Intentando cargar usuario por email: {}", email);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException(ErrorMessages.USER_NOT_FOUND));
+        long start = metrics.start();
+        Optional<User> found;
+        try {
+            found = userRepository.findByEmail(email);
+        } finally {
+            metrics.record(SecurityMetrics.Phase.USER_LOOKUP, start);
+        }
+        if (found.isEmpty()) {
+            metrics.userLookupMiss();
+            throw new UsernameNotFoundException(ErrorMessages.USER_NOT_FOUND);
+        }
+        User user = found.get();
 
         UserDetailsImpl userDetails = UserDetailsImpl.buildUserDetails(user);
         logger.debug("Usuario encontrado y UserDetails construido para email: {}", email);
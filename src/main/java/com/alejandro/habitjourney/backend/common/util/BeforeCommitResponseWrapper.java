@@ -0,0 +1,76 @@
+package com.alejandro.habitjourney.backend.common.util;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Envoltorio de respuesta que ejecuta una acción una sola vez, justo antes de que la respuesta
+ * empiece a enviarse: es el último momento en que aún se pueden añadir cabeceras calculadas
+ * durante la petición. Los filtros deben llamar a {@link #beforeCommit()} también al terminar,
+ * para las respuestas sin cuerpo.
+ */
+public class BeforeCommitResponseWrapper extends HttpServletResponseWrapper {
+
+    private final Runnable action;
+    private boolean done;
+
+    /**
+     * @param response Respuesta original.
+     * @param action Acción a ejecutar antes del envío, normalmente añadir cabeceras.
+     */
+    public BeforeCommitResponseWrapper(HttpServletResponse response, Runnable action) {
+        super(response);
+        this.action = action;
+    }
+
+    /**
+     * Ejecuta la acción si no se ha ejecutado ya y la respuesta sigue sin enviarse.
+     */
+    public void beforeCommit() {
+        if (done || isCommitted()) {
+            return;
+        }
+        done = true;
+        action.run();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        beforeCommit();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        beforeCommit();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        beforeCommit();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        beforeCommit();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        beforeCommit();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        beforeCommit();
+        super.sendRedirect(location);
+    }
+}
@@ -0,0 +1,49 @@
+package com.alejandro.habitjourney.backend.common.util;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Completa el ETag declarado con {@link ETags#bind} con la variante del tipo de contenido que se ha
+ * negociado para la respuesta. Solo aquí se sabe qué representación se va a escribir: deducirla de la
+ * cabecera Accept fallaría con listas como {@code application/cbor;q=0.1, application/json}.
+ * Por el mismo motivo la petición condicional ({@code If-None-Match}) se evalúa aquí: si el ETag coincide
+ * se responde 304 sin cuerpo.
+ */
+@RestControllerAdvice
+public class ETagResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || !(servletRequest.getServletRequest().getAttribute(ETags.VERSION_ATTRIBUTE) instanceof String version)) {
+            return body;
+        }
+        String etag = ETags.of(version, selectedContentType);
+        boolean conditional = HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+        if (conditional && new ServletWebRequest(servletRequest.getServletRequest(), servletResponse.getServletResponse())
+                .checkNotModified(etag)) {
+            // checkNotModified ya ha fijado el estado 304 y la cabecera ETag
+            return null;
+        }
+        response.getHeaders().setETag(etag);
+        return body;
+    }
+}
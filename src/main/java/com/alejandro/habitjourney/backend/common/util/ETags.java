@@ -0,0 +1,91 @@
+package com.alejandro.habitjourney.backend.common.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utilidades para construir y comparar ETags fuertes a partir de la versión de una fila.
+ * El formato es {@code "<id>-<versión>[-<variante>]"}, donde la variante distingue las representaciones
+ * binarias (CBOR, Smile) de la JSON por defecto, ya que un ETag fuerte identifica bytes concretos.
+ * <p>
+ * El controlador solo declara la versión con {@link #bind}; {@link ETagResponseAdvice} añade la variante
+ * según el tipo de contenido realmente negociado y evalúa {@code If-None-Match}.
+ */
+public final class ETags {
+
+    /**
+     * Atributo de petición con la parte {@code <id>-<versión>} del ETag de la respuesta.
+     */
+    static final String VERSION_ATTRIBUTE = ETags.class.getName() + ".version";
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private ETags() {
+    }
+
+    /**
+     * Declara la versión del recurso que devuelve la petición; el ETag se completa al escribir la respuesta.
+     * No hace nada si la versión no es conocida.
+     *
+     * @param request Petición actual.
+     * @param id ID del recurso.
+     * @param version Versión actual de la fila.
+     */
+    public static void bind(WebRequest request, Long id, Long version) {
+        if (id != null && version != null) {
+            request.setAttribute(VERSION_ATTRIBUTE, id + "-" + version, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Construye el ETag fuerte de una representación.
+     *
+     * @param idAndVersion Parte {@code <id>-<versión>} declarada con {@link #bind}.
+     * @param contentType Tipo de contenido negociado para la respuesta (puede ser null).
+     * @return El ETag entre comillas.
+     */
+    static String of(String idAndVersion, MediaType contentType) {
+        return "\"" + idAndVersion + variant(contentType) + "\"";
+    }
+
+    /**
+     * Comprueba una cabecera If-Match contra la versión actual usando comparación fuerte.
+     * Solo se comparan ID y versión: el formato en que el cliente leyó el recurso no afecta a la precondición.
+     *
+     * @param ifMatch Valor de la cabecera If-Match (lista separada por comas o {@code *}).
+     * @param id ID del recurso.
+     * @param version Versión actual de la fila.
+     * @return true si alguno de los ETags corresponde a la versión actual.
+     */
+    public static boolean matchesVersion(String ifMatch, Long id, Long version) {
+        if (ifMatch.trim().equals("*")) {
+            return true;
+        }
+        String prefix = id + "-" + version;
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+                continue; // Los ETags débiles (W/) nunca cumplen una comparación fuerte
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.equals(prefix) || value.startsWith(prefix + "-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String variant(MediaType contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            return "-cbor";
+        }
+        if (SMILE.isCompatibleWith(contentType)) {
+            return "-smile";
+        }
+        return "";
+    }
+}
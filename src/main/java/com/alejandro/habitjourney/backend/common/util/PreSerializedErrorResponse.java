@@ -0,0 +1,103 @@
+package com.alejandro.habitjourney.backend.common.util;
+
+import com.alejandro.habitjourney.backend.common.dto.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Cuerpo {@link ErrorResponse} serializado una sola vez para las respuestas de rechazo más frecuentes
+ * (401, 403, 503). Solo la marca de tiempo cambia, y con resolución de segundos: el cuerpo se
+ * vuelve a generar como mucho una vez por segundo copiando la plantilla y sobrescribiendo los bytes
+ * de la fecha, así que rechazar una petición no crea objetos ni pasa por Jackson.
+ */
+public final class PreSerializedErrorResponse {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime PLACEHOLDER = LocalDateTime.of(2000, 1, 1, 0, 0, 0);
+
+    private final int status;
+    private final byte[] template;
+    private final int timestampOffset;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private volatile Rendered current = new Rendered(Long.MIN_VALUE, null);
+
+    /**
+     * Serializa la plantilla del error.
+     *
+     * @param objectMapper Mapper usado por el resto de la API, para que el formato sea idéntico.
+     * @param status Código de estado HTTP.
+     * @param title Título del error.
+     * @param detail Descripción del error.
+     */
+    public PreSerializedErrorResponse(ObjectMapper objectMapper, int status, String title, String detail) {
+        this.status = status;
+        try {
+            this.template = objectMapper.writeValueAsBytes(new ErrorResponse(status, title, detail, PLACEHOLDER));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de error " + status, e);
+        }
+        byte[] placeholder = TIMESTAMP_FORMAT.format(PLACEHOLDER).getBytes(StandardCharsets.US_ASCII);
+        this.timestampOffset = indexOf(template, placeholder);
+        if (timestampOffset < 0) {
+            throw new IllegalStateException("La respuesta de error serializada no contiene la marca de tiempo");
+        }
+    }
+
+    /**
+     * Escribe el estado, las cabeceras y el cuerpo en la respuesta.
+     *
+     * @param response Respuesta HTTP.
+     * @throws IOException Si ocurre un error de I/O.
+     */
+    public void writeTo(HttpServletResponse response) throws IOException {
+        byte[] body = body(System.currentTimeMillis() / 1000);
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Cuerpo correspondiente al segundo indicado (segundos desde la época).
+     */
+    byte[] body(long epochSecond) {
+        Rendered rendered = current;
+        if (rendered.epochSecond != epochSecond) {
+            byte[] body = Arrays.copyOf(template, template.length);
+            byte[] timestamp = TIMESTAMP_FORMAT.format(LocalDateTime.ofEpochSecond(epochSecond, 0,
+                    zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond))))
+                    .getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(timestamp, 0, body, timestampOffset, timestamp.length);
+            rendered = new Rendered(epochSecond, body);
+            current = rendered;
+        }
+        return rendered.body;
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private record Rendered(long epochSecond, byte[] body) {
+    }
+}
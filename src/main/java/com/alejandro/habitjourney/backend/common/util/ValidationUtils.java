@@ -1,25 +1,54 @@
 package com.alejandro.habitjourney.backend.common.util;
 
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
-import org.apache.commons.validator.routines.EmailValidator;
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordIndex;
+import com.alejandro.habitjourney.backend.common.security.DisposableDomainBlocklist;
 
+/**
+ * Validaciones de los datos de usuario. Cada comprobación recorre la cadena una sola vez con
+ * {@code charAt}, sin copiarla ni usar expresiones regulares, y los mensajes con parámetros se
+ * formatean una única vez; las anotaciones de {@code common.validation} usan los mismos recorridos.
+ */
 public class ValidationUtils {
 
     private static final int MIN_PASSWORD_LENGTH = 6;
     private static final int MAX_PASSWORD_LENGTH = 32;
     private static final int MIN_NAME_LENGTH = 2;
 
+    private static final int MAX_EMAIL_LENGTH = 254;
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+
+    private static final String PASSWORD_MIN_LENGTH_MESSAGE =
+            String.format(ErrorMessages.VALIDATION_PASSWORD_MIN_LENGTH, MIN_PASSWORD_LENGTH);
+    private static final String PASSWORD_MAX_LENGTH_MESSAGE =
+            String.format(ErrorMessages.VALIDATION_PASSWORD_MAX_LENGTH, MAX_PASSWORD_LENGTH);
+    private static final String NAME_MIN_LENGTH_MESSAGE =
+            String.format(ErrorMessages.VALIDATION_NAME_MIN_LENGTH, MIN_NAME_LENGTH);
+
+    /**
+     * Caracteres especiales admitidos por la política de contraseñas de los DTOs.
+     */
+    private static final String POLICY_SPECIAL_CHARS = "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?";
+
+    /**
+     * Caracteres admitidos en la parte local de un email, además de letras, dígitos y el punto.
+     */
+    private static final String LOCAL_PART_SPECIAL_CHARS = "!#$%&'*+/=?^_`{|}~-";
+
     public static String validatePassword(String password) {
         if (password == null) return ErrorMessages.VALIDATION_PASSWORD_NULL;
-        if (password.length() < MIN_PASSWORD_LENGTH) return String.format(ErrorMessages.VALIDATION_PASSWORD_MIN_LENGTH, MIN_PASSWORD_LENGTH);
-        if (password.length() > MAX_PASSWORD_LENGTH) return String.format(ErrorMessages.VALIDATION_PASSWORD_MAX_LENGTH, MAX_PASSWORD_LENGTH);
+        int length = password.length();
+        if (length < MIN_PASSWORD_LENGTH) return PASSWORD_MIN_LENGTH_MESSAGE;
+        if (length > MAX_PASSWORD_LENGTH) return PASSWORD_MAX_LENGTH_MESSAGE;
 
         boolean hasUpperCase = false;
         boolean hasLowerCase = false;
         boolean hasDigit = false;
         boolean hasSpecialChar = false;
 
-        for (char c : password.toCharArray()) {
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
             if (Character.isUpperCase(c)) hasUpperCase = true;
             else if (Character.isLowerCase(c)) hasLowerCase = true;
             else if (Character.isDigit(c)) hasDigit = true;
@@ -34,23 +63,178 @@ public class ValidationUtils {
         return null; // Contraseña válida
     }
 
+    /**
+     * Valida la contraseña y, si cumple los requisitos, comprueba que no aparezca en el índice de
+     * contraseñas filtradas. La búsqueda va al final para no calcular el hash de contraseñas
+     * que ya se rechazan por formato.
+     *
+     * @param password Contraseña a validar.
+     * @param breachedPasswords Índice de contraseñas filtradas.
+     * @return Mensaje de error, o null si la contraseña es válida.
+     */
+    public static String validatePassword(String password, BreachedPasswordIndex breachedPasswords) {
+        String error = validatePassword(password);
+        if (error == null && breachedPasswords.contains(password)) {
+            return ErrorMessages.VALIDATION_PASSWORD_BREACHED;
+        }
+        return error;
+    }
+
     public static String validateEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
+        if (isBlank(email)) {
             return ErrorMessages.VALIDATION_EMAIL_EMPTY;
         }
-        if (!EmailValidator.getInstance().isValid(email)) {
+        if (!isValidEmailAddress(email)) {
             return ErrorMessages.VALIDATION_EMAIL_FORMAT;
         }
         return null;
     }
 
+    /**
+     * Valida el email y, si el formato es correcto, comprueba que su dominio no sea desechable.
+     *
+     * @param email Email a validar.
+     * @param disposableDomains Lista de dominios desechables.
+     * @return Mensaje de error, o null si el email es válido.
+     */
+    public static String validateEmail(String email, DisposableDomainBlocklist disposableDomains) {
+        String error = validateEmail(email);
+        if (error == null && disposableDomains.isDisposable(email)) {
+            return ErrorMessages.VALIDATION_EMAIL_DISPOSABLE;
+        }
+        return error;
+    }
+
     public static String validateName(String name) {
-        if (name == null || name.trim().isEmpty()) {
+        if (isBlank(name)) {
             return ErrorMessages.VALIDATION_NAME_EMPTY;
         }
         if (name.length() < MIN_NAME_LENGTH) {
-            return String.format(ErrorMessages.VALIDATION_NAME_MIN_LENGTH, MIN_NAME_LENGTH);
+            return NAME_MIN_LENGTH_MESSAGE;
         }
         return null;
     }
+
+    /**
+     * Comprueba la política de contraseñas de los DTOs: entre 6 y 32 caracteres sin saltos de línea,
+     * con al menos una mayúscula, una minúscula y un dígito ASCII y un carácter especial de
+     * {@code !@#$%^&*()_+-=[]{};':"\|,.<>/?}.
+     *
+     * @param password Contraseña, no nula.
+     * @return true si cumple la política.
+     */
+    public static boolean meetsPasswordPolicy(String password) {
+        int length = password.length();
+        if (length < MIN_PASSWORD_LENGTH || length > MAX_PASSWORD_LENGTH) {
+            return false;
+        }
+        boolean upper = false;
+        boolean lower = false;
+        boolean digit = false;
+        boolean special = false;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') upper = true;
+            else if (c >= 'a' && c <= 'z') lower = true;
+            else if (c >= '0' && c <= '9') digit = true;
+            else if (POLICY_SPECIAL_CHARS.indexOf(c) >= 0) special = true;
+            else if (isLineTerminator(c)) return false;
+        }
+        return upper && lower && digit && special;
+    }
+
+    /**
+     * Comprueba la sintaxis de un email en una sola pasada:
+     * <ul>
+     *     <li>parte local de 1 a 64 caracteres (letras, dígitos, {@code !#$%&'*+/=?^_`{|}~-} y puntos
+     *     no consecutivos ni en los extremos);</li>
+     *     <li>dominio con al menos dos etiquetas de 1 a 63 caracteres (letras, dígitos y guiones
+     *     no en los extremos), la última solo de letras y de al menos 2;</li>
+     *     <li>como mucho 254 caracteres en total.</li>
+     * </ul>
+     * A diferencia del validador anterior no consulta la lista de dominios de primer nivel de IANA
+     * ni admite partes locales entrecomilladas o dominios IP.
+     *
+     * @param email Email, no nulo.
+     * @return true si la sintaxis es válida.
+     */
+    public static boolean isValidEmailAddress(String email) {
+        int length = email.length();
+        if (length > MAX_EMAIL_LENGTH) {
+            return false;
+        }
+        int at = -1;
+        char previous = '.';
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (c == '.') {
+                if (previous == '.') return false;
+            } else if (!isAsciiLetterOrDigit(c) && LOCAL_PART_SPECIAL_CHARS.indexOf(c) < 0) {
+                return false;
+            }
+            previous = c;
+        }
+        if (at <= 0 || at > MAX_LOCAL_PART_LENGTH || previous == '.') {
+            return false;
+        }
+
+        int labels = 0;
+        int labelStart = at + 1;
+        boolean labelAlphabetic = true;
+        for (int i = labelStart; i <= length; i++) {
+            char c = i < length ? email.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_DOMAIN_LABEL_LENGTH
+                        || email.charAt(labelStart) == '-' || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i == length) {
+                    return labels >= 2 && labelAlphabetic && labelLength >= 2;
+                }
+                labelStart = i + 1;
+                labelAlphabetic = true;
+            } else if (isAsciiLetterOrDigit(c) || c == '-') {
+                labelAlphabetic &= isAsciiLetter(c);
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Equivale a {@code value == null || value.trim().isEmpty()} sin crear la cadena recortada.
+     */
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Caracteres que no casan con {@code .} en una expresión regular de Java.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
 }
@@ -0,0 +1,28 @@
+package com.alejandro.habitjourney.backend.common.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * El valor debe ser un email con la sintaxis de
+ * {@link com.alejandro.habitjourney.backend.common.util.ValidationUtils#isValidEmailAddress(String)}.
+ * Los valores nulos se consideran válidos; la obligatoriedad se expresa con {@code @NotBlank}.
+ */
+@Documented
+@Constraint(validatedBy = EmailAddressValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EmailAddress {
+
+    String message() default "Debe ser una dirección de email válida";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,16 @@
+package com.alejandro.habitjourney.backend.common.validation;
+
+import com.alejandro.habitjourney.backend.common.util.ValidationUtils;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validador de {@link EmailAddress}: un único recorrido de la cadena, sin expresiones regulares.
+ */
+public class EmailAddressValidator implements ConstraintValidator<EmailAddress, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || value.isEmpty() || ValidationUtils.isValidEmailAddress(value);
+    }
+}
@@ -0,0 +1,29 @@
+package com.alejandro.habitjourney.backend.common.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * La contraseña debe cumplir
+ * {@link com.alejandro.habitjourney.backend.common.util.ValidationUtils#meetsPasswordPolicy(String)}:
+ * las mismas reglas que la expresión regular con lookaheads que sustituye, en una sola pasada.
+ * Los valores nulos se consideran válidos; la obligatoriedad se expresa con {@code @NotBlank}.
+ */
+@Documented
+@Constraint(validatedBy = PasswordPolicyValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PasswordPolicy {
+
+    String message() default "La contraseña debe tener entre 6 y 32 caracteres, incluyendo al menos una mayúscula, una minúscula, un número y un carácter especial";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,16 @@
+package com.alejandro.habitjourney.backend.common.validation;
+
+import com.alejandro.habitjourney.backend.common.util.ValidationUtils;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validador de {@link PasswordPolicy}: un único recorrido de la cadena, sin expresiones regulares.
+ */
+public class PasswordPolicyValidator implements ConstraintValidator<PasswordPolicy, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || ValidationUtils.meetsPasswordPolicy(value);
+    }
+}
@@ -2,9 +2,13 @@ package com.alejandro.habitjourney.backend.user.controller;
 
 
 import com.alejandro.habitjourney.backend.auth.service.AuthService;
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.constant.SuccessMessages;
+import com.alejandro.habitjourney.backend.common.datasource.QueryBudget;
 import com.alejandro.habitjourney.backend.common.dto.MessageResponse;
+import com.alejandro.habitjourney.backend.common.exception.PreconditionFailedException;
 import com.alejandro.habitjourney.backend.common.security.UserDetailsImpl;
+import com.alejandro.habitjourney.backend.common.util.ETags;
 import com.alejandro.habitjourney.backend.user.dto.PasswordChangeDTO;
 import com.alejandro.habitjourney.backend.user.dto.UserDTO;
 import com.alejandro.habitjourney.backend.user.dto.UserResponseDTO;
@@ -19,9 +23,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controlador REST que gestiona las operaciones relacionadas con los usuarios.
@@ -43,20 +49,28 @@ public class UserController {
 
     /**
      * Obtiene la información del usuario actualmente autenticado.
+     * La respuesta lleva un ETag fuerte derivado de la versión de la fila y del formato negociado; si coincide
+     * con If-None-Match se responde 304 sin cuerpo (ver {@link com.alejandro.habitjourney.backend.common.util.ETagResponseAdvice}).
+     * El usuario ya está cargado en la autenticación, así que no se vuelve a leer de la base de datos.
      *
      * @param userDetails Detalles del usuario autenticado
+     * @param webRequest Petición actual, donde se declara la versión para el ETag
      * @return Respuesta con los datos del usuario actual
      */
     @GetMapping("/me")
+    @QueryBudget(1)
     @Operation(summary = "Obtener información del usuario actual",
             description = "Devuelve los datos del usuario autenticado en la sesión actual")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Información del usuario recuperada correctamente"),
+            @ApiResponse(responseCode = "304", description = "El usuario no ha cambiado desde el ETag indicado en If-None-Match"),
             @ApiResponse(responseCode = "401", description = "No autorizado, se requiere autenticación"),
             @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
     })
-    public ResponseEntity<UserResponseDTO> getCurrentUser(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+    public ResponseEntity<UserResponseDTO> getCurrentUser(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                          WebRequest webRequest) {
         log.debug("Solicitud para obtener información del usuario actual: {}", userDetails.getUsername());
+        ETags.bind(webRequest, userDetails.getId(), userDetails.getVersion());
         User user = authService.getAuthenticatedUser();
         UserDTO userDTO = userMapper.userToUserDTO(user);
         log.info("Información del usuario {} recuperada correctamente", userDetails.getUsername());
@@ -66,11 +80,17 @@ public class UserController {
     /**
      * Actualiza los datos del usuario actualmente autenticado.
      *
+     * Si se envía If-Match, se compara con la versión cargada en la autenticación y se responde 412
+     * sin más lecturas cuando no coincide; la columna de versión protege además la ventana hasta el commit.
+     *
      * @param userDetails Detalles del usuario autenticado
      * @param userDTO Datos actualizados del usuario
-     * @return Respuesta con los datos actualizados del usuario
+     * @param ifMatch ETag que el cliente espera que tenga el usuario (opcional)
+     * @param webRequest Petición actual, donde se declara la nueva versión para el ETag
+     * @return Respuesta con los datos actualizados del usuario y su nuevo ETag
      */
     @PutMapping("/me")
+    @QueryBudget(3)
     @Operation(summary = "Actualizar información del usuario actual",
             description = "Actualiza los datos del usuario autenticado en la sesión actual")
     @ApiResponses(value = {
@@ -78,16 +98,28 @@ public class UserController {
             @ApiResponse(responseCode = "400", description = "Datos de usuario inválidos"),
             @ApiResponse(responseCode = "401", description = "No autorizado, se requiere autenticación"),
             @ApiResponse(responseCode = "404", description = "Usuario no encontrado"),
-            @ApiResponse(responseCode = "409", description = "El email ya está en uso por otro usuario")
+            @ApiResponse(responseCode = "409", description = "El email ya está en uso por otro usuario o hubo una actualización concurrente"),
+            @ApiResponse(responseCode = "412", description = "El ETag de If-Match no corresponde a la versión actual")
     })
     public ResponseEntity<UserResponseDTO> updateUser(@AuthenticationPrincipal UserDetailsImpl userDetails,
-                                              @Valid @RequestBody UserDTO userDTO) {
+                                              @Valid @RequestBody UserDTO userDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              WebRequest webRequest) {
         log.info("Solicitud para actualizar usuario: {} con datos: {}", userDetails.getUsername(), userDTO);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = userDetails.getVersion();
+            if (expectedVersion == null || !ETags.matchesVersion(ifMatch, userDetails.getId(), expectedVersion)) {
+                throw new PreconditionFailedException(ErrorMessages.MESSAGE_VERSION_MISMATCH);
+            }
+        }
         User user = authService.getAuthenticatedUser();
         Long userId = user.getId();
-        User updatedUserEntity = userService.updateUser(userId, userDTO);
+        User updatedUserEntity = userService.updateUser(userId, userDTO, expectedVersion);
+        userDetails.refresh(updatedUserEntity);
         UserDTO updatedUserDTO = userMapper.userToUserDTO(updatedUserEntity);
         log.info("Usuario {} actualizado correctamente", userDetails.getUsername());
+        ETags.bind(webRequest, updatedUserEntity.getId(), updatedUserEntity.getVersion());
         return ResponseEntity.ok(new UserResponseDTO(SuccessMessages.USER_UPDATED_SUCCESS,updatedUserDTO));
     }
 
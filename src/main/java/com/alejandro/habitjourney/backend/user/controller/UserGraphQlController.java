@@ -0,0 +1,71 @@
+package com.alejandro.habitjourney.backend.user.controller;
+
+import com.alejandro.habitjourney.backend.common.security.UserDetailsImpl;
+import com.alejandro.habitjourney.backend.user.dto.UserDTO;
+import com.alejandro.habitjourney.backend.user.mapper.UserMapper;
+import com.alejandro.habitjourney.backend.user.model.User;
+import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolvers GraphQL de usuarios.
+ * Todos los accesos a usuarios pasan por el DataLoader de usuarios de la petición
+ * (ver {@link com.alejandro.habitjourney.backend.user.service.UserDataLoaders}), que agrupa y deduplica los IDs
+ * solicitados por los distintos campos y los resuelve con una única consulta.
+ */
+@Controller
+@RequiredArgsConstructor
+public class UserGraphQlController {
+
+    private final UserMapper userMapper;
+
+    /**
+     * Devuelve el usuario autenticado.
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @param users DataLoader de usuarios de la petición
+     * @return El usuario actual
+     */
+    @QueryMapping
+    public CompletableFuture<UserDTO> me(@AuthenticationPrincipal UserDetailsImpl userDetails, DataLoader<Long, User> users) {
+        return users.load(userDetails.getId()).thenApply(this::toDTO);
+    }
+
+    /**
+     * Devuelve un usuario por su ID.
+     *
+     * @param id ID del usuario
+     * @param users DataLoader de usuarios de la petición
+     * @return El usuario, o null si no existe
+     */
+    @QueryMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<UserDTO> user(@Argument Long id, DataLoader<Long, User> users) {
+        return users.load(id).thenApply(this::toDTO);
+    }
+
+    /**
+     * Devuelve varios usuarios por su ID, en el orden solicitado.
+     *
+     * @param ids IDs de los usuarios
+     * @param users DataLoader de usuarios de la petición
+     * @return Los usuarios; null en las posiciones de IDs inexistentes
+     */
+    @QueryMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<List<UserDTO>> users(@Argument List<Long> ids, DataLoader<Long, User> users) {
+        return users.loadMany(ids).thenApply(loaded -> loaded.stream().map(this::toDTO).toList());
+    }
+
+    private UserDTO toDTO(User user) {
+        return user == null ? null : userMapper.userToUserDTO(user);
+    }
+}
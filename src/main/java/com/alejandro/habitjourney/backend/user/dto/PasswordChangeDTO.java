@@ -1,9 +1,9 @@
 package com.alejandro.habitjourney.backend.user.dto;
 
 
+import com.alejandro.habitjourney.backend.common.validation.PasswordPolicy;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,8 +22,7 @@ public class PasswordChangeDTO {
     private String currentPassword;
 
     @NotBlank(message = "La nueva contraseña es requerida")
-    @Pattern(regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?]).{6,32}$",
-            message = "La contraseña debe tener entre 6 y 32 caracteres, incluyendo al menos una mayúscula, una minúscula, un número y un carácter especial")
+    @PasswordPolicy
     @Schema(description = "Nueva contraseña para el usuario (debe cumplir el patrón)", example = "MiNuevaPassword2@")
     private String newPassword;
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -34,4 +35,24 @@ public class User {
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * Versión de la fila para bloqueo optimista. Se incrementa en cada actualización
+     * y es la base del ETag de /api/users/me.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Último login y número de logins. Los escribe en diferido {@code LastLoginTracker} con UPDATE por lotes;
+     * JPA solo los lee para no pisar con valores obsoletos lo que el tracker ya ha volcado.
+     */
+    @Column(name = "last_login_at", insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @ColumnDefault("0")
+    @Column(name = "login_count", nullable = false, insertable = false, updatable = false)
+    private Long loginCount;
 }
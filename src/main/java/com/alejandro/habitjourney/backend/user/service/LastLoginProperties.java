@@ -0,0 +1,42 @@
+package com.alejandro.habitjourney.backend.user.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del registro diferido de último login ({@code app.last-login.*}).
+ * Ante una caída se pierden como mucho los logins de un {@code flush-interval}
+ * y nunca más de {@code max-pending} usuarios.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.last-login")
+public class LastLoginProperties {
+
+    /**
+     * Si se registran el último login y el número de logins.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Intervalo entre volcados.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * Usuarios pendientes a partir de los cuales se adelanta el volcado.
+     */
+    private int maxPending = 10_000;
+
+    /**
+     * Usuarios pendientes que se conservan como máximo mientras los volcados fallan; por encima se
+     * descartan los de login más antiguo.
+     */
+    private int maxRetained = 100_000;
+
+    /**
+     * Filas por lote JDBC.
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,200 @@
+package com.alejandro.habitjourney.backend.user.service;
+
+import com.alejandro.habitjourney.backend.common.audit.AuditEventType;
+import com.alejandro.habitjourney.backend.common.audit.SecurityAuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registro diferido (write-behind) del último login y el número de logins de cada usuario.
+ * <p>
+ * El login no escribe en la base de datos: {@link #recordLogin} acumula en un mapa concurrente,
+ * combinando los logins del mismo usuario, y un hilo propio lo vuelca periódicamente con un único
+ * {@code UPDATE} por lotes JDBC. Si el mapa alcanza {@code max-pending} usuarios el volcado se adelanta,
+ * lo que acota lo que se pierde ante una caída; en un apagado ordenado se vuelca todo lo pendiente.
+ * Si un volcado falla, sus entradas se devuelven al mapa para el siguiente (si el fallo es en un shard
+ * después de que otro haya aplicado su lote, esos usuarios pueden contar sus logins dos veces). Para que
+ * una base de datos caída no haga crecer el mapa sin límite, tras cada fallo se conservan como mucho
+ * {@code max-retained} usuarios: se descartan los de login más antiguo y se cuentan en
+ * {@code users.last-login.dropped}.
+ * <p>
+ * Con particionado el {@code UPDATE} se lanza en cada shard y solo afecta a las filas que viven en él.
+ */
+public class LastLoginTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginTracker.class);
+
+    static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ?, login_count = login_count + ? WHERE id = ?";
+
+    private final List<JdbcTemplate> targets;
+    private final int maxPending;
+    private final int maxRetained;
+    private final int batchSize;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+    private final Counter flushFailures;
+    private final Counter dropped;
+
+    /**
+     * @param targets Bases de datos donde se lanza el UPDATE (el DataSource principal o cada shard).
+     * @param properties Propiedades del registro.
+     * @param meterRegistry Registro de métricas.
+     */
+    public LastLoginTracker(List<JdbcTemplate> targets, LastLoginProperties properties, MeterRegistry meterRegistry) {
+        this.targets = targets;
+        this.maxPending = properties.getMaxPending();
+        this.maxRetained = properties.getMaxRetained();
+        this.batchSize = properties.getBatchSize();
+        this.flushTimer = Timer.builder("users.last-login.flush")
+                .description("Duración de cada volcado de últimos logins")
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("users.last-login.flushed")
+                .description("Usuarios actualizados por los volcados de últimos logins")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("users.last-login.flush.failures")
+                .description("Volcados de últimos logins fallidos")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("users.last-login.dropped")
+                .description("Usuarios cuyos logins pendientes se han descartado por superar max-retained")
+                .register(meterRegistry);
+        Gauge.builder("users.last-login.pending", pending, Map::size)
+                .description("Usuarios con logins pendientes de volcar")
+                .register(meterRegistry);
+
+        long interval = properties.getFlushInterval().toMillis();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("last-login-flush").daemon().factory());
+        this.flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Recoge los logins correctos publicados por {@code AuthService}; si se publican dentro de una
+     * transacción, solo cuando esta confirma.
+     *
+     * @param event Evento de auditoría.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuditEvent(SecurityAuditEvent event) {
+        if (event.type() == AuditEventType.LOGIN_SUCCEEDED) {
+            recordLogin(event.userId(), LocalDateTime.ofInstant(event.timestamp(), ZoneId.systemDefault()));
+        }
+    }
+
+    /**
+     * Anota un login sin tocar la base de datos.
+     *
+     * @param userId ID del usuario.
+     * @param at Momento del login.
+     */
+    public void recordLogin(long userId, LocalDateTime at) {
+        pending.merge(userId, new Pending(at, 1), Pending::combine);
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Vuelca lo pendiente. Cada entrada se retira del mapa de forma atómica, así que los logins
+     * que lleguen durante el volcado quedan para el siguiente.
+     */
+    public void flush() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            Pending entry = pending.remove(userId);
+            if (entry != null) {
+                rows.add(new Object[]{Timestamp.valueOf(entry.lastLoginAt()), entry.count(), userId});
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            for (JdbcTemplate target : targets) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    target.batchUpdate(UPDATE_SQL, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+                }
+            }
+            flushedRows.increment(rows.size());
+            log.debug("Volcados los últimos logins de {} usuarios", rows.size());
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            log.error("No se pudieron volcar los últimos logins de {} usuarios; se reintentará", rows.size(), e);
+            for (Object[] row : rows) {
+                Pending entry = new Pending(((Timestamp) row[0]).toLocalDateTime(), (Integer) row[1]);
+                pending.merge((Long) row[2], entry, Pending::combine);
+            }
+            trim();
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Detiene el volcado periódico y vuelca lo pendiente; se llama en el apagado ordenado.
+     */
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * Descarta los usuarios de login más antiguo hasta dejar como mucho {@code max-retained}.
+     */
+    private void trim() {
+        int excess = pending.size() - maxRetained;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<Long, Pending>> oldest = pending.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().lastLoginAt()))
+                .limit(excess)
+                .toList();
+        int removed = 0;
+        for (Map.Entry<Long, Pending> entry : oldest) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        dropped.increment(removed);
+        log.warn("Descartados los logins pendientes de {} usuarios: se conservan como máximo {}", removed, maxRetained);
+    }
+
+    int pendingUsers() {
+        return pending.size();
+    }
+
+    private record Pending(LocalDateTime lastLoginAt, int count) {
+
+        Pending combine(Pending other) {
+            return new Pending(lastLoginAt.isAfter(other.lastLoginAt) ? lastLoginAt : other.lastLoginAt,
+                    count + other.count);
+        }
+    }
+}
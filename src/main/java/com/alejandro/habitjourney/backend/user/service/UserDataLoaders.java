@@ -0,0 +1,20 @@
+package com.alejandro.habitjourney.backend.user.service;
+
+import com.alejandro.habitjourney.backend.user.model.User;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registra los DataLoaders GraphQL del dominio de usuarios.
+ * Spring for GraphQL crea una instancia de cada loader por petición, de modo que todos los IDs de usuario
+ * pedidos durante una misma consulta se deduplican y se cargan juntos con {@link UserService#getUsersByIds}.
+ */
+@Component
+public class UserDataLoaders {
+
+    public UserDataLoaders(BatchLoaderRegistry registry, UserService userService) {
+        registry.forTypePair(Long.class, User.class)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromCallable(() -> userService.getUsersByIds(ids)));
+    }
+}
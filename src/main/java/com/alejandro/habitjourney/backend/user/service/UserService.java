@@ -1,23 +1,31 @@
 package com.alejandro.habitjourney.backend.user.service;
 
+import com.alejandro.habitjourney.backend.common.audit.SecurityAuditEvent;
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.constant.SuccessMessages;
 import com.alejandro.habitjourney.backend.common.exception.EmailAlreadyExistsException;
 import com.alejandro.habitjourney.backend.common.exception.InvalidPasswordException;
+import com.alejandro.habitjourney.backend.common.exception.PreconditionFailedException;
 import com.alejandro.habitjourney.backend.common.exception.UserNotFoundException;
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordIndex;
 import com.alejandro.habitjourney.backend.common.util.ValidationUtils;
 import com.alejandro.habitjourney.backend.user.dto.UserDTO;
 import com.alejandro.habitjourney.backend.user.model.User;
 import com.alejandro.habitjourney.backend.user.repository.UserRepository;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio que gestiona la lógica de negocio relacionada con las operaciones de usuario.
@@ -33,10 +41,14 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BreachedPasswordIndex breachedPasswords;
 
     /**
      * Obtiene todos los usuarios existentes.
      *
+     * Sin transacción propia: el listado completo puede recorrer varios shards.
+     *
      * @return Lista de entidades User.
      */
     public List<User> getAllUsers() {
@@ -44,6 +56,20 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Obtiene varios usuarios por su ID con una sola consulta.
+     *
+     * Sin transacción propia: los IDs pueden pertenecer a varios shards.
+     *
+     * @param ids IDs de los usuarios.
+     * @return Usuarios encontrados indexados por ID; los IDs inexistentes no aparecen.
+     */
+    public Map<Long, User> getUsersByIds(Collection<Long> ids) {
+        log.debug("Obteniendo {} usuarios por ID", ids.size());
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
     /**
      * Obtiene un usuario por su ID.
      *
@@ -51,6 +77,7 @@ public class UserService {
      * @return Entidad User encontrada.
      * @throws UserNotFoundException si el usuario no existe.
      */
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         log.debug("Obteniendo usuario por ID: {}", id);
         User user = userRepository.findById(id)
@@ -73,12 +100,34 @@ public class UserService {
      */
     @Transactional
     public User updateUser (Long id, UserDTO updateUserDTO) {
+        return updateUser(id, updateUserDTO, null);
+    }
+
+    /**
+     * Actualiza los datos de un usuario existente si su versión sigue siendo la esperada.
+     * Un cambio concurrente posterior a la lectura lo detecta la columna de versión al hacer flush.
+     *
+     * @param id ID del usuario a actualizar.
+     * @param updateUserDTO DTO con los nuevos datos del usuario.
+     * @param expectedVersion Versión que el cliente espera (If-Match), o null para no comprobarla.
+     * @return Entidad User actualizada, con la nueva versión.
+     * @throws UserNotFoundException si el usuario no existe.
+     * @throws PreconditionFailedException si la versión actual no es la esperada.
+     * @throws EmailAlreadyExistsException si el nuevo email ya está en uso por otro usuario.
+     */
+    @Transactional
+    public User updateUser (Long id, UserDTO updateUserDTO, Long expectedVersion) {
         log.debug("Actualizando usuario con ID: {} con datos: {}", id, updateUserDTO);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Usuario no encontrado para actualizar con ID: {}", id);
                     return new UserNotFoundException(ErrorMessages.USER_NOT_FOUND);
                 });
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            log.warn("Versión obsoleta al actualizar usuario con ID: {} (esperada {}, actual {})",
+                    id, expectedVersion, user.getVersion());
+            throw new PreconditionFailedException(ErrorMessages.MESSAGE_VERSION_MISMATCH);
+        }
         if (!user.getEmail().equals(updateUserDTO.getEmail()) &&
                 userRepository.existsByEmail(updateUserDTO.getEmail())) {
             throw new EmailAlreadyExistsException(ErrorMessages.EMAIL_EXISTS);
@@ -91,7 +140,7 @@ public class UserService {
     }
 
     /**
-     * Elimina un usuario por su ID.
+     * Elimina un usuario por su ID y publica el {@link SecurityAuditEvent} correspondiente.
      *
      * @param id ID del usuario a eliminar.
      * @throws UserNotFoundException si el usuario no existe.
@@ -104,18 +153,19 @@ public class UserService {
             throw new UserNotFoundException(ErrorMessages.USER_NOT_FOUND);
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(SecurityAuditEvent.userDeleted(id));
         log.info(SuccessMessages.USER_DELETED_SUCCESS + " con ID: {}", id);
     }
 
     /**
-     * Cambia la contraseña de un usuario.
+     * Cambia la contraseña de un usuario y publica el {@link SecurityAuditEvent} correspondiente.
      *
      * @param userId ID del usuario.
      * @param currentPassword Contraseña actual.
      * @param newPassword Nueva contraseña.
      * @throws UserNotFoundException si el usuario no existe.
      * @throws BadCredentialsException si la contraseña actual es incorrecta.
-     * @throws InvalidPasswordException si la nueva contraseña no cumple con los requisitos de formato.
+     * @throws InvalidPasswordException si la nueva contraseña no cumple con los requisitos de formato o aparece en filtraciones conocidas.
      */
     @Transactional
     public void changePassword(Long userId, String currentPassword, String newPassword) {
@@ -130,13 +180,14 @@ public class UserService {
             throw new BadCredentialsException (ErrorMessages.CURRENT_PASSWORD_INCORRECT);
         }
 
-        String passwordValidation = ValidationUtils.validatePassword(newPassword);
+        String passwordValidation = ValidationUtils.validatePassword(newPassword, breachedPasswords);
         if (passwordValidation != null) {
             throw new InvalidPasswordException(passwordValidation);
         }
 
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(SecurityAuditEvent.passwordChanged(userId));
         log.info(SuccessMessages.PASSWORD_CHANGED_SUCCESS + " para usuario con ID: {}", userId);
     }
 
@@ -147,6 +198,7 @@ public class UserService {
      * @return Entidad User encontrada.
      * @throws UserNotFoundException si el usuario no existe.
      */
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         log.debug("Obteniendo usuario por email: {}", email);
         User user = userRepository.findByEmail(email)
@@ -0,0 +1,12 @@
+-- Esquema de la tabla de usuarios en cada shard (app.sharding.schema-locations).
+-- Válido en PostgreSQL y H2; ShardTopology ajusta después la identidad para intercalar los ids.
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    last_login_at TIMESTAMP(6),
+    login_count BIGINT DEFAULT 0 NOT NULL
+);
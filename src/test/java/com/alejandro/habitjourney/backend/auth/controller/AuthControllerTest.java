@@ -1,5 +1,6 @@
 package com.alejandro.habitjourney.backend.auth.controller;
 
+import com.alejandro.habitjourney.backend.batch.service.BatchService;
 import com.alejandro.habitjourney.backend.auth.dto.*;
 import com.alejandro.habitjourney.backend.auth.service.AuthService;
 import com.alejandro.habitjourney.backend.auth.service.AuthService.LoginResult;
@@ -64,6 +65,9 @@ class AuthControllerTest extends TestConfig {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private BatchService batchService;
+
     @MockitoBean
     JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -115,6 +119,40 @@ class AuthControllerTest extends TestConfig {
                 .andExpect(jsonPath("$.timestamp").exists());
     }
 
+    @Test
+    void givenDisposableEmail_whenRegister_thenReturnsBadRequestWithDisposableMessage() throws Exception {
+        // Arrange
+        when(authService.register(any(RegisterRequestDTO.class)))
+                .thenThrow(new InvalidEmailFormatException(ErrorMessages.VALIDATION_EMAIL_DISPOSABLE));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRegisterRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.title").value(ErrorMessages.TITLE_BAD_REQUEST))
+                .andExpect(jsonPath("$.detail").value(ErrorMessages.VALIDATION_EMAIL_DISPOSABLE))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @Test
+    void givenBreachedPassword_whenRegister_thenReturnsBadRequestWithBreachedMessage() throws Exception {
+        // Arrange
+        when(authService.register(any(RegisterRequestDTO.class)))
+                .thenThrow(new InvalidPasswordException(ErrorMessages.VALIDATION_PASSWORD_BREACHED));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRegisterRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.title").value(ErrorMessages.TITLE_BAD_REQUEST))
+                .andExpect(jsonPath("$.detail").value(ErrorMessages.VALIDATION_PASSWORD_BREACHED))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
     @Test
     void givenInvalidRegisterRequest_whenRegister_thenReturnsValidationErrors() throws Exception {
         // Arrange
@@ -4,9 +4,14 @@ package com.alejandro.habitjourney.backend.auth.service;
 import com.alejandro.habitjourney.backend.auth.service.AuthService.LoginResult;
 import com.alejandro.habitjourney.backend.auth.dto.LoginRequestDTO;
 import com.alejandro.habitjourney.backend.auth.dto.RegisterRequestDTO;
+import com.alejandro.habitjourney.backend.common.audit.AuditEventType;
+import com.alejandro.habitjourney.backend.common.audit.SecurityAuditEvent;
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.exception.*;
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordIndex;
+import com.alejandro.habitjourney.backend.common.security.DisposableDomainBlocklist;
 import com.alejandro.habitjourney.backend.common.security.JwtUtil;
+import com.alejandro.habitjourney.backend.common.security.UserDetailsImpl;
 import com.alejandro.habitjourney.backend.common.config.TestConfig;
 import com.alejandro.habitjourney.backend.common.util.TestDataFactory;
 import com.alejandro.habitjourney.backend.user.model.User;
@@ -20,6 +25,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -62,6 +68,15 @@ class AuthServiceTest extends TestConfig {
     @Mock
     private SecurityContext securityContext;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BreachedPasswordIndex breachedPasswords;
+
+    @Mock
+    private DisposableDomainBlocklist disposableDomains;
+
     @InjectMocks
     private AuthService authService;
 
@@ -140,6 +155,22 @@ class AuthServiceTest extends TestConfig {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void givenDisposableEmailDomain_whenRegisterUser_thenThrowsInvalidEmailFormatException() {
+        // Arrange
+        when(disposableDomains.isDisposable(validRegisterRequest.getEmail())).thenReturn(true);
+
+        // Act & Assert
+        InvalidEmailFormatException exception = assertThrows(
+                InvalidEmailFormatException.class,
+                () -> authService.register(validRegisterRequest)
+        );
+
+        assertEquals(ErrorMessages.VALIDATION_EMAIL_DISPOSABLE, exception.getMessage());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void givenInvalidPasswordFormat_whenRegisterUser_thenThrowsInvalidPasswordException() {
         // Arrange
@@ -158,6 +189,23 @@ class AuthServiceTest extends TestConfig {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void givenBreachedPassword_whenRegisterUser_thenThrowsInvalidPasswordException() {
+        // Arrange
+        when(userRepository.existsByEmail(anyString())).thenReturn(false);
+        when(breachedPasswords.contains(validRegisterRequest.getPassword())).thenReturn(true);
+
+        // Act & Assert
+        InvalidPasswordException exception = assertThrows(
+                InvalidPasswordException.class,
+                () -> authService.register(validRegisterRequest)
+        );
+
+        assertEquals(ErrorMessages.VALIDATION_PASSWORD_BREACHED, exception.getMessage());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void givenEmptyName_whenRegisterUser_thenThrowsInvalidNameException() {
         // Arrange
@@ -208,6 +256,8 @@ class AuthServiceTest extends TestConfig {
         );
         verify(userRepository).findByEmail(validLoginRequest.getEmail());
         verify(jwtUtil).generateAccessToken(authentication);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SecurityAuditEvent audit
+                && audit.type() == AuditEventType.LOGIN_SUCCEEDED && audit.userId() == testUser.getId()));
     }
 
     @Test
@@ -230,6 +280,9 @@ class AuthServiceTest extends TestConfig {
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository, never()).findByEmail(anyString());
         verify(jwtUtil, never()).generateAccessToken(any());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SecurityAuditEvent audit
+                && audit.type() == AuditEventType.LOGIN_FAILED
+                && audit.subjectHash() == SecurityAuditEvent.subjectHash(validLoginRequest.getEmail())));
     }
 
     @Test
@@ -297,6 +350,21 @@ class AuthServiceTest extends TestConfig {
         verify(userRepository).findByEmail("nonexistent@example.com");
     }
 
+    @Test
+    void givenPrincipalWithLoadedUser_whenGetAuthenticatedUser_thenReturnsItWithoutQuery() {
+        // Arrange
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(UserDetailsImpl.buildUserDetails(testUser));
+        SecurityContextHolder.setContext(securityContext);
+
+        // Act
+        User result = authService.getAuthenticatedUser();
+
+        // Assert
+        assertSame(testUser, result);
+        verifyNoInteractions(userRepository);
+    }
+
     // Limpiamos el SecurityContextHolder después de cada test
     @AfterEach
     void tearDown() {
@@ -0,0 +1,156 @@
+package com.alejandro.habitjourney.backend.batch.controller;
+
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import com.alejandro.habitjourney.backend.common.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración del endpoint de lotes /api/batch.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BatchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private JwtUtil jwtUtil;
+
+    private String email;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - usuario nuevo por prueba
+        email = "batch-" + System.nanoTime() + "@example.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Batch User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        bearer = "Bearer " + objectMapper.readTree(login).get("token").asText();
+        clearInvocations(jwtUtil);
+    }
+
+    @Test
+    void givenIndependentAndDependentOperations_whenBatch_thenAllResultsReturnedAndTokenValidatedOnce() throws Exception {
+        // Arrange
+        String batch = """
+                {"operations":[
+                  {"id":"me","method":"GET","path":"/api/users/me"},
+                  {"id":"rename","method":"PUT","path":"/api/users/me","body":{"name":"Renamed","email":"%s"}},
+                  {"id":"after","method":"GET","path":"/api/users/me","dependsOn":["rename"]}
+                ]}""".formatted(email);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].id").value("me"))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].body.user.email").value(email))
+                .andExpect(jsonPath("$.results[0].headers.ETag").exists())
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[2].status").value(200))
+                .andExpect(jsonPath("$.results[2].body.user.name").value("Renamed"));
+        verify(jwtUtil, times(1)).validateToken(anyString());
+    }
+
+    @Test
+    void givenOperation_whenBatch_thenSubRequestRunsThroughApplicationFilters() throws Exception {
+        // Arrange
+        String batch = """
+                {"operations":[{"id":"me","method":"GET","path":"/api/users/me"}]}""";
+
+        // Act & Assert - cabeceras de los filtros de correlación y de recuento de consultas
+        mockMvc.perform(post("/api/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].headers.X-Request-Id").exists())
+                .andExpect(jsonPath("$.results[0].headers.X-Query-Count").exists());
+    }
+
+    @Test
+    void givenFailingDependency_whenBatch_thenDependentOperationSkipped() throws Exception {
+        // Arrange
+        String batch = """
+                {"operations":[
+                  {"id":"invalid","method":"PUT","path":"/api/users/me","body":{"name":"","email":"no-email"}},
+                  {"id":"after","method":"GET","path":"/api/users/me","dependsOn":["invalid"]}
+                ]}""";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(400))
+                .andExpect(jsonPath("$.results[0].body.validationErrors").exists())
+                .andExpect(jsonPath("$.results[1].status").value(424));
+    }
+
+    @Test
+    void givenUnknownDependency_whenBatch_thenBadRequest() throws Exception {
+        // Arrange
+        String batch = """
+                {"operations":[{"id":"me","method":"GET","path":"/api/users/me","dependsOn":["later"]}]}""";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/batch", "/api/%62atch", "/api//batch"})
+    void givenNestedBatchPath_whenBatch_thenBadRequest(String path) throws Exception {
+        // Arrange
+        String batch = """
+                {"operations":[{"id":"nested","method":"POST","path":"%s",
+                  "body":{"operations":[{"id":"me","method":"GET","path":"/api/users/me"}]}}]}""".formatted(path);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(ErrorMessages.BATCH_NESTED));
+    }
+
+    @Test
+    void givenNoToken_whenBatch_thenUnauthorized() throws Exception {
+        // Arrange
+        String batch = """
+                {"operations":[{"id":"me","method":"GET","path":"/api/users/me"}]}""";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isUnauthorized());
+    }
+}
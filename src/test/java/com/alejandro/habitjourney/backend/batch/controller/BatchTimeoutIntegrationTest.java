@@ -0,0 +1,79 @@
+package com.alejandro.habitjourney.backend.batch.controller;
+
+import com.alejandro.habitjourney.backend.auth.service.AuthService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas del tiempo máximo de un lote: las operaciones en curso se cancelan al agotarse.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch-timeout;DB_CLOSE_DELAY=-1",
+        "app.batch.timeout=500ms"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BatchTimeoutIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private AuthService authService;
+
+    @Test
+    void givenOperationSlowerThanTimeout_whenBatch_thenGatewayTimeoutAndOperationInterrupted() throws Exception {
+        // Arrange
+        String email = "batch-timeout-" + System.nanoTime() + "@example.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Batch User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(login).get("token").asText();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return invocation.callRealMethod();
+        }).when(authService).getAuthenticatedUser();
+        String batch = """
+                {"operations":[
+                  {"id":"slow","method":"GET","path":"/api/users/me"},
+                  {"id":"after","method":"GET","path":"/api/users/me","dependsOn":["slow"]}
+                ]}""";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(504))
+                .andExpect(jsonPath("$.results[1].status").value(504));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "La operación en curso no se ha interrumpido");
+    }
+}
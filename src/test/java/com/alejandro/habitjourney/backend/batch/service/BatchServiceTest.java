@@ -0,0 +1,100 @@
+package com.alejandro.habitjourney.backend.batch.service;
+
+import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import com.alejandro.habitjourney.backend.common.datasource.QueryCountFilter;
+import com.alejandro.habitjourney.backend.common.exception.InvalidBatchRequestException;
+import com.alejandro.habitjourney.backend.common.limit.AdaptiveConcurrencyLimitFilter;
+import com.alejandro.habitjourney.backend.common.logging.CorrelationIdFilter;
+import com.alejandro.habitjourney.backend.common.security.ScopedSecurityContextFilter;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import com.alejandro.habitjourney.backend.batch.dto.BatchOperationDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pruebas unitarias de la selección de filtros que recorren las sub-peticiones del lote y de la
+ * detección de lotes anidados.
+ */
+class BatchServiceTest {
+
+    @Test
+    void givenRegisteredFilters_whenSelectingSubRequestFilters_thenSkipsLimiterSecurityScopeAndDisabled() {
+        // Arrange
+        Filter correlation = mock(CorrelationIdFilter.class);
+        Filter queryCount = mock(QueryCountFilter.class);
+        FilterRegistrationBean<Filter> disabled = new FilterRegistrationBean<>(mock(Filter.class));
+        disabled.setEnabled(false);
+        List<FilterRegistrationBean<Filter>> registrations = List.of(
+                new FilterRegistrationBean<>(correlation),
+                new FilterRegistrationBean<>(queryCount),
+                new FilterRegistrationBean<>(mock(AdaptiveConcurrencyLimitFilter.class)),
+                new FilterRegistrationBean<>(mock(ScopedSecurityContextFilter.class)),
+                disabled);
+
+        // Act
+        List<Filter> filters = BatchService.subRequestFilters(registrations);
+
+        // Assert - se conserva el orden de registro
+        assertEquals(List.of(correlation, queryCount), filters);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/batch", "/api/batch/", "/api/batch?x=1", "/api/%62atch", "/api/%62%61tch",
+            "/api//batch", "/api/./batch", "/api/users/../batch", "/api/batch;a=b"})
+    void givenPathResolvingToBatch_whenCheckingNesting_thenDetected(String path) {
+        // Act & Assert
+        assertTrue(BatchService.targetsBatch(path));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/users/me", "/api/batches", "/api/users/batch", "/api/%2562atch"})
+    void givenOtherPath_whenCheckingNesting_thenNotDetected(String path) {
+        // Act & Assert
+        assertFalse(BatchService.targetsBatch(path));
+    }
+
+    @Test
+    void givenMalformedEncoding_whenCheckingNesting_thenInvalidBatchRequest() {
+        // Act & Assert
+        assertThrows(InvalidBatchRequestException.class, () -> BatchService.targetsBatch("/api/%zzatch"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenSubRequestReachingBatchController_whenExecute_thenNestedBatchRejected() {
+        // Arrange - la ruta no importa: la petición ya es una operación de otro lote
+        BatchService service = new BatchService(mock(WebApplicationContext.class),
+                mock(WebInvocationPrivilegeEvaluator.class), new ObjectMapper(), new BatchProperties(),
+                mock(ObjectProvider.class), mock(ObjectProvider.class));
+        BatchSubRequest subRequest = new BatchSubRequest(new MockHttpServletRequest(), "POST", "/api/batch-alias",
+                new HttpHeaders(), new byte[0]);
+        List<BatchOperationDTO> operations = List.of(
+                new BatchOperationDTO("me", "GET", "/api/users/me", null, null, null));
+
+        // Act & Assert
+        try {
+            InvalidBatchRequestException exception = assertThrows(InvalidBatchRequestException.class,
+                    () -> service.execute(operations, subRequest, new MockHttpServletResponse()));
+            assertEquals(ErrorMessages.BATCH_NESTED, exception.getMessage());
+        } finally {
+            service.destroy();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del registro de auditoría sobre un directorio temporal.
+ */
+class AuditJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditJournal journal;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void givenAppendedEvents_whenScanByUserAndRange_thenReturnsMatchingInOrder() throws Exception {
+        // Arrange
+        journal = open(DataSize.ofMegabytes(1));
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        journal.append(event(AuditEventType.LOGIN_SUCCEEDED, 1, base));
+        journal.append(event(AuditEventType.LOGIN_SUCCEEDED, 2, base.plusSeconds(1)));
+        journal.append(event(AuditEventType.PASSWORD_CHANGED, 1, base.plusSeconds(2)));
+        journal.append(event(AuditEventType.USER_DELETED, 1, base.plusSeconds(10)));
+
+        // Act
+        List<SecurityAuditEvent> events = awaitEvents(4, () ->
+                journal.scan(1L, null, base, base.plusSeconds(5), 100));
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals(AuditEventType.LOGIN_SUCCEEDED, events.get(0).type());
+        assertEquals(AuditEventType.PASSWORD_CHANGED, events.get(1).type());
+        assertEquals(base.plusSeconds(2), events.get(1).timestamp());
+    }
+
+    @Test
+    void givenFailedLogin_whenScanByEmail_thenFoundBySubjectHash() throws Exception {
+        // Arrange
+        journal = open(DataSize.ofMegabytes(1));
+        journal.append(SecurityAuditEvent.loginFailed("Someone@Example.com"));
+        journal.append(SecurityAuditEvent.loginFailed("other@example.com"));
+
+        // Act
+        List<SecurityAuditEvent> events = awaitEvents(2, () ->
+                journal.scan(null, "someone@example.com", null, null, 100));
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals(AuditEventType.LOGIN_FAILED, events.get(0).type());
+        assertEquals(0, events.get(0).userId());
+    }
+
+    @Test
+    void givenSmallSegments_whenReopened_thenRolledSegmentsRecovered() throws Exception {
+        // Arrange - cabecera + 4 registros por segmento
+        DataSize segmentSize = DataSize.ofBytes(AuditSegment.HEADER_SIZE + 4L * AuditSegment.RECORD_SIZE);
+        journal = open(segmentSize);
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < 10; i++) {
+            journal.append(event(AuditEventType.LOGIN_SUCCEEDED, 7, base.plusSeconds(i)));
+        }
+        awaitEvents(10, () -> journal.scan(null, null, null, null, 100));
+        journal.close();
+
+        // Act
+        journal = open(segmentSize);
+        journal.append(event(AuditEventType.USER_DELETED, 7, base.plusSeconds(10)));
+        List<SecurityAuditEvent> events = awaitEvents(11, () -> journal.scan(7L, null, null, null, 100));
+
+        // Assert
+        assertEquals(11, events.size());
+        assertEquals(AuditEventType.USER_DELETED, events.getLast().type());
+        assertEquals(3, segmentFiles().size());
+    }
+
+    @Test
+    void givenExpiredEvents_whenCompact_thenRemovedFromSealedSegments() throws Exception {
+        // Arrange
+        DataSize segmentSize = DataSize.ofBytes(AuditSegment.HEADER_SIZE + 4L * AuditSegment.RECORD_SIZE);
+        journal = open(segmentSize);
+        Instant old = Instant.now().minus(Duration.ofDays(400));
+        for (int i = 0; i < 4; i++) {
+            journal.append(event(AuditEventType.LOGIN_SUCCEEDED, 1, old.plusSeconds(i)));
+        }
+        journal.append(event(AuditEventType.LOGIN_SUCCEEDED, 1, old.plusSeconds(10)));
+        journal.append(event(AuditEventType.LOGIN_SUCCEEDED, 1, Instant.now().minusSeconds(5)));
+        for (int i = 0; i < 3; i++) {
+            journal.append(event(AuditEventType.PASSWORD_CHANGED, 1, Instant.now()));
+        }
+        awaitEvents(9, () -> journal.scan(null, null, null, null, 100));
+
+        // Act
+        journal.compact();
+
+        // Assert - el primer segmento se borra y el segundo se reescribe sin su evento caducado
+        List<SecurityAuditEvent> events = journal.scan(null, null, null, null, 100);
+        assertEquals(4, events.size());
+        assertEquals(2, segmentFiles().size());
+    }
+
+    @Test
+    void givenDirectoryInUse_whenOpened_thenFails() {
+        // Arrange
+        journal = open(DataSize.ofMegabytes(1));
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> open(DataSize.ofMegabytes(1)));
+    }
+
+    private AuditJournal open(DataSize segmentSize) {
+        AuditJournalProperties properties = new AuditJournalProperties();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(segmentSize);
+        properties.setRetention(Duration.ofDays(365));
+        return new AuditJournal(properties, meterRegistry);
+    }
+
+    private static SecurityAuditEvent event(AuditEventType type, long userId, Instant timestamp) {
+        return new SecurityAuditEvent(type, userId, 0, timestamp);
+    }
+
+    private List<SecurityAuditEvent> awaitEvents(int written, Supplier<List<SecurityAuditEvent>> scan)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.counter("audit.journal.events").count() < written && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return scan.get();
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg")).toList();
+        }
+    }
+}
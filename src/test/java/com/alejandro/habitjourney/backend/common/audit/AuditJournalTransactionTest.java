@@ -0,0 +1,73 @@
+package com.alejandro.habitjourney.backend.common.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la recepción de eventos de auditoría publicados dentro de transacciones.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:audit-transaction;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class AuditJournalTransactionTest {
+
+    @Autowired
+    private AuditJournal journal;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void givenTransactionRolledBack_whenEventPublishedInside_thenNothingJournaled() throws Exception {
+        // Arrange
+        long rolledBackUser = System.nanoTime();
+        long committedUser = rolledBackUser + 1;
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(SecurityAuditEvent.userDeleted(rolledBackUser));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                eventPublisher.publishEvent(SecurityAuditEvent.userDeleted(committedUser)));
+
+        // Assert - el escritor es único y respeta el orden, así que al ver el segundo ya habría escrito el primero
+        assertEquals(1, awaitEvents(committedUser).size());
+        assertTrue(journal.scan(rolledBackUser, null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void givenNoTransaction_whenEventPublished_thenJournaledImmediately() throws Exception {
+        // Arrange
+        long userId = System.nanoTime();
+
+        // Act
+        eventPublisher.publishEvent(SecurityAuditEvent.passwordChanged(userId));
+
+        // Assert
+        List<SecurityAuditEvent> events = awaitEvents(userId);
+        assertEquals(1, events.size());
+        assertEquals(AuditEventType.PASSWORD_CHANGED, events.get(0).type());
+    }
+
+    private List<SecurityAuditEvent> awaitEvents(long userId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        List<SecurityAuditEvent> events = journal.scan(userId, null, null, null, 10);
+        while (events.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            events = journal.scan(userId, null, null, null, 10);
+        }
+        return events;
+    }
+}
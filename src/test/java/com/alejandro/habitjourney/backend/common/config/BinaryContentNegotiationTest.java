@@ -0,0 +1,121 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.auth.dto.LoginRequestDTO;
+import com.alejandro.habitjourney.backend.auth.dto.LoginResponseDTO;
+import com.alejandro.habitjourney.backend.auth.dto.RegisterRequestDTO;
+import com.alejandro.habitjourney.backend.user.dto.UserResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración de la negociación de formatos binarios (CBOR y Smile) en los endpoints
+ * de autenticación y usuario, con JSON como formato por defecto.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:binary-content;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BinaryContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final String PASSWORD = "Passw0rd!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    @Autowired
+    private ObjectMapper json;
+
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @BeforeEach
+    void setUp() {
+        cbor = builders.getObject().factory(new CBORFactory()).build();
+        smile = builders.getObject().factory(new SmileFactory()).build();
+    }
+
+    @Test
+    void givenCborRequest_whenRegisterLoginAndMe_thenCborResponses() throws Exception {
+        // Arrange
+        String email = "cbor@example.com";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_CBOR).accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new RegisterRequestDTO("Cbor User", email, PASSWORD))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        // Act
+        byte[] login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_CBOR).accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new LoginRequestDTO(email, PASSWORD))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        String token = cbor.readValue(login, LoginResponseDTO.class).getToken();
+        byte[] me = mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertEquals(email, cbor.readValue(me, UserResponseDTO.class).getUser().getEmail());
+    }
+
+    @Test
+    void givenSmileAccept_whenMe_thenSmileResponse() throws Exception {
+        // Arrange
+        String token = registerAndLogin("smile@example.com");
+
+        // Act
+        byte[] me = mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertEquals("smile@example.com", smile.readValue(me, UserResponseDTO.class).getUser().getEmail());
+    }
+
+    @Test
+    void givenWildcardAccept_whenMe_thenJsonByDefault() throws Exception {
+        // Arrange
+        String token = registerAndLogin("default@example.com");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.user.email").value("default@example.com"));
+    }
+
+    private String registerAndLogin(String email) throws Exception {
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsBytes(new RegisterRequestDTO("Test User", email, PASSWORD))))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsBytes(new LoginRequestDTO(email, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return json.readValue(login, LoginResponseDTO.class).getToken();
+    }
+}
@@ -0,0 +1,40 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = {JacksonAutoConfiguration.class, JacksonConfig.class})
+class JacksonConfigTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenBootMapper_whenCustomized_thenBlackbirdAndJavaTimeRegistered() {
+        // Assert
+        assertTrue(objectMapper.getRegisteredModuleIds().stream().anyMatch(id -> id.toString().contains("Blackbird")),
+                () -> "Módulos registrados: " + objectMapper.getRegisteredModuleIds());
+        assertTrue(objectMapper.getRegisteredModuleIds().contains("jackson-datatype-jsr310"));
+    }
+
+    @Test
+    void givenErrorResponse_whenSerialized_thenTimestampFormattedAsText() throws Exception {
+        // Arrange
+        ErrorResponse errorResponse = new ErrorResponse(404, "Recurso no encontrado", "Usuario no encontrado",
+                LocalDateTime.of(2024, 5, 1, 10, 30, 0));
+
+        // Act
+        String json = objectMapper.writeValueAsString(errorResponse);
+
+        // Assert
+        assertTrue(json.contains("\"timestamp\":\"2024-05-01 10:30:00\""), json);
+    }
+}
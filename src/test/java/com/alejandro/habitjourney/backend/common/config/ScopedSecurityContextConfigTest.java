@@ -0,0 +1,49 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.security.ScopedValueSecurityContextHolderStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la instalación y restauración de la estrategia global del contexto de seguridad.
+ */
+class ScopedSecurityContextConfigTest {
+
+    @Test
+    void givenInstalledScopedStrategy_whenContextCloses_thenPreviousStrategyRestored() {
+        // Arrange
+        SecurityContextHolderStrategy original = SecurityContextHolder.getContextHolderStrategy();
+        ScopedSecurityContextConfig config = new ScopedSecurityContextConfig();
+        config.securityContextHolderStrategy();
+        assertInstanceOf(ScopedValueSecurityContextHolderStrategy.class, SecurityContextHolder.getContextHolderStrategy());
+
+        // Act
+        config.destroy();
+
+        // Assert
+        assertSame(original, SecurityContextHolder.getContextHolderStrategy());
+    }
+
+    @Test
+    void givenStrategyReplacedByAnotherContext_whenContextCloses_thenLeftUntouched() {
+        // Arrange
+        SecurityContextHolderStrategy original = SecurityContextHolder.getContextHolderStrategy();
+        ScopedSecurityContextConfig config = new ScopedSecurityContextConfig();
+        config.securityContextHolderStrategy();
+        SecurityContextHolderStrategy other = new ScopedValueSecurityContextHolderStrategy(original);
+        SecurityContextHolder.setContextHolderStrategy(other);
+
+        try {
+            // Act
+            config.destroy();
+
+            // Assert
+            assertSame(other, SecurityContextHolder.getContextHolderStrategy());
+        } finally {
+            SecurityContextHolder.setContextHolderStrategy(original);
+        }
+    }
+}
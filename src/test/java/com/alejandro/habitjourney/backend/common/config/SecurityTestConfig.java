@@ -1,6 +1,8 @@
 package com.alejandro.habitjourney.backend.common.config;
 
 import com.alejandro.habitjourney.backend.common.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
@@ -14,6 +16,11 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 @Import(GlobalExceptionHandler.class)
 public class SecurityTestConfig {
 
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
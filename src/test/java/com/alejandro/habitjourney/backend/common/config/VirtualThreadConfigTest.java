@@ -0,0 +1,70 @@
+package com.alejandro.habitjourney.backend.common.config;
+
+import com.alejandro.habitjourney.backend.common.datasource.ConnectionPermitDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas del límite de conexiones del modo de hilos virtuales con la configuración de application.properties.
+ */
+class VirtualThreadConfigTest {
+
+    @Test
+    void givenOnlyHikariPoolSize_whenWrappingDataSource_thenPermitsFollowPoolSize() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StandardEnvironment environment = environment(Map.of("spring.datasource.hikari.maximum-pool-size", "4"));
+
+        // Act
+        Object wrapped = wrap(environment, meterRegistry);
+
+        // Assert
+        assertInstanceOf(ConnectionPermitDataSource.class, wrapped);
+        assertEquals(4, meterRegistry.get("datasource.permits.available").gauge().value());
+    }
+
+    @Test
+    void givenExplicitPermitLimit_whenWrappingDataSource_thenExplicitLimitWins() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StandardEnvironment environment = environment(Map.of(
+                "spring.datasource.hikari.maximum-pool-size", "4",
+                "DB_MAX_CONCURRENT_CONNECTIONS", "7"));
+
+        // Act
+        wrap(environment, meterRegistry);
+
+        // Assert
+        assertEquals(7, meterRegistry.get("datasource.permits.available").gauge().value());
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> overrides) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.setConversionService(new ApplicationConversionService());
+        environment.getPropertySources().addFirst(new ResourcePropertySource(new ClassPathResource("application.properties")));
+        environment.getPropertySources().addFirst(new MapPropertySource("test", overrides));
+        return environment;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object wrap(StandardEnvironment environment, MeterRegistry meterRegistry) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(meterRegistry);
+        return VirtualThreadConfig.connectionPermitPostProcessor(environment, provider)
+                .postProcessAfterInitialization(new DriverManagerDataSource("jdbc:h2:mem:permits-config"), "dataSource");
+    }
+}
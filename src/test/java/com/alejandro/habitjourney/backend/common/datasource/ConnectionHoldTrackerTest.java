@@ -0,0 +1,87 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link ConnectionHoldTracker} sobre una base H2 en memoria.
+ */
+class ConnectionHoldTrackerTest {
+
+    private MeterRegistry meterRegistry;
+    private ConnectionHoldDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionHoldProperties properties = new ConnectionHoldProperties();
+        properties.setLongHoldThreshold(Duration.ZERO);
+        properties.setLeakThreshold(Duration.ZERO);
+        properties.setCaptureStack(true);
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ConnectionHoldDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:connection-hold;DB_CLOSE_DELAY=-1", "sa", "password"),
+                new ConnectionHoldTracker(properties, meterRegistry));
+    }
+
+    @Test
+    void givenOpenConnection_whenClosedTwice_thenHoldRecordedOnce() throws Exception {
+        // Arrange
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, meterRegistry.get("datasource.connection.held").gauge().value());
+
+        // Act
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(1, meterRegistry.timer("datasource.connection.hold").count());
+        assertEquals(1, meterRegistry.counter("datasource.connection.long-holds").count());
+        assertEquals(0, meterRegistry.get("datasource.connection.held").gauge().value());
+    }
+
+    @Test
+    void givenConnectionNeverClosed_whenCheckedTwice_thenReportedOnceAsLeak() throws Exception {
+        // Arrange
+        ConnectionHoldTracker tracker = new ConnectionHoldTracker(leakOnly(), meterRegistry);
+        Connection connection = new ConnectionHoldDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:connection-hold;DB_CLOSE_DELAY=-1", "sa", "password"),
+                tracker).getConnection();
+
+        // Act
+        tracker.checkLeaks();
+        tracker.checkLeaks();
+
+        // Assert
+        assertEquals(1, meterRegistry.counter("datasource.connection.leak-suspects").count());
+        connection.close();
+    }
+
+    @Test
+    void givenRequestStats_whenConnectionClosed_thenHoldAddedToRequest() throws Exception {
+        // Arrange
+        QueryStats stats = QueryStats.begin(false);
+        try {
+            // Act
+            dataSource.getConnection().close();
+
+            // Assert
+            assertTrue(stats.getConnectionHoldNanos() > 0);
+        } finally {
+            QueryStats.end();
+        }
+    }
+
+    private static ConnectionHoldProperties leakOnly() {
+        ConnectionHoldProperties properties = new ConnectionHoldProperties();
+        properties.setLeakThreshold(Duration.ZERO);
+        return properties;
+    }
+}
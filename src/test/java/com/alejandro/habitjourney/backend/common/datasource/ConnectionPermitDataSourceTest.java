@@ -0,0 +1,46 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPermitDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:permits;DB_CLOSE_DELAY=-1", "sa", ""),
+            1, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    void givenAllPermitsInUse_whenGetConnection_thenTimesOut() throws Exception {
+        // Arrange
+        try (Connection ignored = dataSource.getConnection()) {
+
+            // Act & Assert
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            assertEquals(0, meterRegistry.get("datasource.permits.available").gauge().value());
+        }
+    }
+
+    @Test
+    void givenConnectionClosedTwice_whenReleased_thenPermitReturnedOnce() throws Exception {
+        // Arrange
+        Connection connection = dataSource.getConnection();
+
+        // Act
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("datasource.permits.available").gauge().value());
+        try (Connection next = dataSource.getConnection()) {
+            assertFalse(next.isClosed());
+        }
+    }
+}
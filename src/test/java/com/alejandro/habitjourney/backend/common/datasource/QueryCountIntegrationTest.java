@@ -0,0 +1,116 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración del contador de sentencias por petición.
+ * Con el perfil de test los {@link QueryBudget} son estrictos: una regresión que añada consultas
+ * a estos endpoints hace fallar la petición con 500.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:query-count;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private String credentials;
+
+    @BeforeEach
+    void setUp() {
+        credentials = "{\"email\":\"queries-" + System.nanoTime() + "@example.com\",\"password\":\"Passw0rd!\"";
+    }
+
+    @Test
+    void givenRegisteredUser_whenAuthFlow_thenEachEndpointWithinBudget() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Query User\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(QueryCountFilter.HEADER, "2"));
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountFilter.HEADER, "2"))
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(login).get("token").asText();
+        mockMvc.perform(get("/api/users/me").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountFilter.HEADER, "1"));
+        mockMvc.perform(put("/api/users/me").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"email\":\"" + email() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountFilter.HEADER, "3"));
+    }
+
+    @Test
+    void givenRequests_whenRecorded_thenQueriesPublishedPerRoute() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Query User\"}"))
+                .andExpect(status().isCreated());
+
+        // Act
+        double rows = meterRegistry.summary("http.server.query.rows", "uri", "/api/auth/register").totalAmount();
+
+        // Assert
+        assertTrue(meterRegistry.summary("http.server.queries", "uri", "/api/auth/register").totalAmount() >= 2);
+        assertTrue(rows >= 1);
+        assertTrue(meterRegistry.timer("http.server.query.time", "uri", "/api/auth/register").count() > 0);
+    }
+
+    @Test
+    void givenOpenInViewDisabled_whenGetMe_thenConnectionHoldRecordedPerRoute() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Query User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andReturn().getResponse().getContentAsString();
+        long before = meterRegistry.timer("http.server.connection.hold", "uri", "/api/users/me").count();
+
+        // Act
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + objectMapper.readTree(login).get("token").asText()))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertTrue(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+        assertEquals(before + 1, meterRegistry.timer("http.server.connection.hold", "uri", "/api/users/me").count());
+        assertTrue(meterRegistry.timer("datasource.connection.hold").count() > 0);
+    }
+
+    private String email() {
+        return credentials.substring(credentials.indexOf(':') + 2, credentials.indexOf("\","));
+    }
+}
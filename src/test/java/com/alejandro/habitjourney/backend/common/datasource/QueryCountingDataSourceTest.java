@@ -0,0 +1,79 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link QueryCountingDataSource} sobre una base H2 en memoria.
+ */
+class QueryCountingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1", "sa", "password");
+        new JdbcTemplate(target).execute("CREATE TABLE IF NOT EXISTS items (id INT)");
+        new JdbcTemplate(target).execute("DELETE FROM items");
+        jdbc = new JdbcTemplate(new QueryCountingDataSource(target));
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryStats.end();
+    }
+
+    @Test
+    void givenOpenStats_whenStatementsRun_thenStatementsAndRowsCounted() {
+        // Arrange
+        QueryStats stats = QueryStats.begin(false);
+
+        // Act
+        jdbc.update("INSERT INTO items VALUES (1), (2), (3)");
+        jdbc.queryForList("SELECT id FROM items", Integer.class);
+
+        // Assert
+        assertEquals(2, stats.getStatements());
+        assertEquals(6, stats.getRows());
+        assertTrue(stats.getNanos() > 0);
+    }
+
+    @Test
+    void givenNoStats_whenStatementRuns_thenNothingCounted() {
+        // Act & Assert
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM items", Integer.class));
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    void givenStrictBudget_whenExceeded_thenStatementFails() {
+        // Arrange
+        QueryStats stats = QueryStats.begin(true);
+        stats.limitTo(1, "test");
+        jdbc.queryForList("SELECT id FROM items", Integer.class);
+
+        // Act & Assert
+        assertThrows(QueryBudgetExceededException.class,
+                () -> jdbc.queryForList("SELECT id FROM items", Integer.class));
+        assertTrue(stats.isOverBudget());
+    }
+
+    @Test
+    void givenLenientBudget_whenExceeded_thenOnlyFlagged() {
+        // Arrange
+        QueryStats stats = QueryStats.begin(false);
+        stats.limitTo(0, "test");
+
+        // Act
+        jdbc.queryForList("SELECT id FROM items", Integer.class);
+
+        // Assert
+        assertTrue(stats.isOverBudget());
+    }
+}
@@ -0,0 +1,168 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.alejandro.habitjourney.backend.common.exception.UserNotFoundException;
+import com.alejandro.habitjourney.backend.user.model.User;
+import com.alejandro.habitjourney.backend.user.repository.UserRepository;
+import com.alejandro.habitjourney.backend.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración del enrutado de réplicas.
+ * Usa dos bases de datos H2 en memoria: una hace de primario (esquema creado por Hibernate)
+ * y otra de réplica, con el mismo esquema copiado y una tabla que simula el retraso de replicación.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.replicas[0].username=sa",
+        "app.datasource.routing.replicas[0].password=password",
+        "app.datasource.routing.lag-query=SELECT lag_ms FROM replica_lag",
+        "app.datasource.routing.max-lag=5s",
+        "app.datasource.routing.lag-check-interval=1h"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String REPLICA_ONLY_EMAIL = "replica-only@example.com";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final JdbcTemplate primary = jdbc("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate replica = jdbc("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1");
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - copiar el esquema del primario a la réplica y sembrar un usuario solo en ella
+        replica.execute("DROP ALL OBJECTS");
+        List<String> ddl = primary.queryForList("SCRIPT NODATA TABLE users", String.class);
+        ddl.stream()
+                .filter(statement -> statement.startsWith("CREATE MEMORY TABLE") || statement.startsWith("ALTER TABLE"))
+                .forEach(replica::execute);
+        replica.execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replica.update("INSERT INTO users (name, email, password_hash, created_at) VALUES (?, ?, ?, ?)",
+                "Replica User", REPLICA_ONLY_EMAIL, "hash", LocalDateTime.now());
+        replicaLagMonitor.checkReplicas();
+    }
+
+    @Test
+    void givenHealthyReplica_whenReadOnlyLookup_thenServedByReplica() {
+        // Act
+        User user = userService.getUserByEmail(REPLICA_ONLY_EMAIL);
+
+        // Assert
+        assertEquals("Replica User", user.getName());
+        assertTrue(connections("replica-0") > 0);
+    }
+
+    @Test
+    void givenHealthyReplica_whenWrite_thenGoesToPrimary() {
+        // Arrange
+        User user = new User(null, "Primary User", "primary@example.com", "hash", LocalDateTime.now(), null, null, null);
+
+        // Act
+        userRepository.save(user);
+
+        // Assert
+        assertEquals(1, primary.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = 'primary@example.com'", Integer.class));
+        assertEquals(0, replica.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = 'primary@example.com'", Integer.class));
+    }
+
+    @Test
+    void givenLaggingReplica_whenReadOnlyLookup_thenFallsBackToPrimary() {
+        // Arrange
+        replica.update("UPDATE replica_lag SET lag_ms = 60000");
+        replicaLagMonitor.checkReplicas();
+        double fallbacksBefore = meterRegistry.counter("datasource.routing.fallbacks", "reason", "lag").count();
+
+        // Act & Assert - el usuario solo existe en la réplica, así que el primario no lo encuentra
+        assertFalse(replicaLagMonitor.replicas().get(0).isHealthy());
+        assertThrows(UserNotFoundException.class, () -> userService.getUserByEmail(REPLICA_ONLY_EMAIL));
+        assertTrue(meterRegistry.counter("datasource.routing.fallbacks", "reason", "lag").count() > fallbacksBefore);
+    }
+
+    @Test
+    void givenUnreachableLagQuery_whenChecked_thenReplicaExcluded() {
+        // Arrange
+        replica.execute("DROP TABLE replica_lag");
+
+        // Act
+        replicaLagMonitor.checkReplicas();
+
+        // Assert
+        assertFalse(replicaLagMonitor.replicas().get(0).isHealthy());
+        assertNull(replicaLagMonitor.nextHealthyReplica());
+    }
+
+    @Test
+    void givenExplicitCredentials_whenWriteConnection_thenPrimaryPoolOpensItWithThem() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1"),
+                replicaLagMonitor.replicas(), replicaLagMonitor, new SimpleMeterRegistry());
+
+        // Act
+        try (Connection connection = routing.getConnection("sa", "password");
+             ResultSet rows = connection.createStatement().executeQuery(
+                     "SELECT COUNT(*) FROM users WHERE email = '" + REPLICA_ONLY_EMAIL + "'")) {
+            // Assert - el usuario sembrado solo en la réplica no está en el primario
+            assertTrue(rows.next());
+            assertEquals(0, rows.getInt(1));
+        }
+    }
+
+    @Test
+    void givenPoolWithoutCredentialSupport_whenReadOnlyConnectionWithCredentials_thenFailsAndReplicaStaysHealthy() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1"),
+                replicaLagMonitor.replicas(), replicaLagMonitor, new SimpleMeterRegistry());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert - la réplica es un pool de HikariCP, que no admite credenciales explícitas
+        try {
+            assertThrows(SQLFeatureNotSupportedException.class, () -> routing.getConnection("sa", "password"));
+            assertTrue(replicaLagMonitor.replicas().get(0).isHealthy());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private double connections(String pool) {
+        return meterRegistry.counter("datasource.routing.connections", "pool", pool).count();
+    }
+
+    private static JdbcTemplate jdbc(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", "password"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.alejandro.habitjourney.backend.user.model.User;
+import com.alejandro.habitjourney.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la tabla de rutas del almacén particionado.
+ */
+class ShardedUserRepositoryInterceptorTest {
+
+    /**
+     * Repositorio con un método que el interceptor no sabe enrutar.
+     */
+    interface ExtendedUserRepository extends UserRepository {
+
+        List<User> findByName(String name);
+    }
+
+    @Test
+    void givenUserRepository_whenCheckRoutes_thenEveryMethodIsRouted() {
+        // Act
+        List<String> unrouted = ShardedUserRepositoryInterceptor.unroutedMethods(UserRepository.class);
+
+        // Assert
+        assertTrue(unrouted.isEmpty(), "Métodos sin ruta: " + unrouted);
+    }
+
+    @Test
+    void givenRepositoryWithNewMethod_whenCheckRoutes_thenMethodIsReported() {
+        // Act
+        List<String> unrouted = ShardedUserRepositoryInterceptor.unroutedMethods(ExtendedUserRepository.class);
+
+        // Assert
+        assertEquals(List.of("findByName(String)"), unrouted);
+    }
+}
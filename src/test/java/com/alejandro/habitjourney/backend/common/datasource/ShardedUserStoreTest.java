@@ -0,0 +1,288 @@
+package com.alejandro.habitjourney.backend.common.datasource;
+
+import com.alejandro.habitjourney.backend.auth.dto.LoginRequestDTO;
+import com.alejandro.habitjourney.backend.auth.dto.RegisterRequestDTO;
+import com.alejandro.habitjourney.backend.auth.service.AuthService;
+import com.alejandro.habitjourney.backend.common.exception.EmailAlreadyExistsException;
+import com.alejandro.habitjourney.backend.common.exception.UserNotFoundException;
+import com.alejandro.habitjourney.backend.common.security.UserDetailsImpl;
+import com.alejandro.habitjourney.backend.common.security.UserDetailsServiceImpl;
+import com.alejandro.habitjourney.backend.user.dto.UserDTO;
+import com.alejandro.habitjourney.backend.user.model.User;
+import com.alejandro.habitjourney.backend.user.repository.UserRepository;
+import com.alejandro.habitjourney.backend.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración del almacén de usuarios particionado.
+ * Tres bases de datos H2 en memoria hacen de shards; el esquema se crea con el script de producción
+ * ({@code db/users-schema.sql}) y Hibernate solo lo valida, igual que en un despliegue real con varias
+ * instancias de Postgres.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.sharding.enabled=true",
+        "app.sharding.schema-locations=classpath:db/users-schema.sql",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[2].url=jdbc:h2:mem:shard-2;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[2].username=sa"
+})
+@ActiveProfiles("test")
+class ShardedUserStoreTest {
+
+    private static final String PASSWORD = "Passw0rd!";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardTopology topology;
+
+    @Autowired
+    private EmailShardDirectory directory;
+
+    @Autowired
+    private UserShardRebalancer rebalancer;
+
+    @Test
+    void givenRegistrations_whenSaved_thenSpreadAcrossShardsWithUniqueIds() {
+        // Arrange
+        Set<Long> ids = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 12; i++) {
+            ids.add(register("spread" + i + "@example.com").getId());
+        }
+
+        // Assert
+        assertEquals(12, ids.size());
+        for (int shard = 0; shard < topology.size(); shard++) {
+            Long count = topology.jdbc(shard).queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            assertTrue(count > 0, "El shard " + shard + " no recibió usuarios");
+        }
+        for (Long id : ids) {
+            int shard = directory.shardForId(id);
+            assertEquals(1, topology.jdbc(shard).queryForObject(
+                    "SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, id));
+        }
+        assertTrue(userService.getAllUsers().size() >= 12);
+        assertEquals(userRepository.count(), userService.getAllUsers().size());
+    }
+
+    @Test
+    void givenRegisteredUser_whenLoginAndLookups_thenResolvedOnItsShard() {
+        // Arrange
+        User registered = register("login@example.com");
+
+        // Act
+        AuthService.LoginResult result = authService.login(new LoginRequestDTO("login@example.com", PASSWORD));
+
+        // Assert
+        assertEquals(registered.getId(), result.getUser().getId());
+        assertNotNull(result.getToken());
+        assertEquals("login@example.com", userService.getUserById(registered.getId()).getEmail());
+        assertEquals(registered.getId(), userService.getUserByEmail("login@example.com").getId());
+        assertTrue(userRepository.existsByEmail("login@example.com"));
+        assertFalse(userRepository.existsByEmail("nobody@example.com"));
+    }
+
+    @Test
+    void givenExistingEmail_whenRegisterAgain_thenRejected() {
+        // Arrange
+        register("duplicate@example.com");
+
+        // Act & Assert
+        assertThrows(EmailAlreadyExistsException.class, () -> register("duplicate@example.com"));
+    }
+
+    @Test
+    void givenUser_whenMovedToAnotherShard_thenStillResolvedAfterReload() {
+        // Arrange
+        User user = register("moved@example.com");
+        int source = directory.shardForId(user.getId());
+        int target = (source + 1) % topology.size();
+
+        // Act
+        rebalancer.move(user.getId(), target);
+
+        // Assert
+        assertEquals(target, directory.shardForId(user.getId()));
+        assertEquals(0, topology.jdbc(source).queryForObject(
+                "SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, user.getId()));
+        assertEquals("moved@example.com", userService.getUserById(user.getId()).getEmail());
+        directory.reload();
+        assertEquals(target, directory.shardForEmail("moved@example.com"));
+        assertEquals(user.getId(), userService.getUserByEmail("moved@example.com").getId());
+    }
+
+    @Test
+    void givenUser_whenEmailChanged_thenDirectoryFollows() {
+        // Arrange
+        User user = register("before@example.com");
+
+        // Act
+        userService.updateUser(user.getId(), new UserDTO(user.getId(), "Renamed User", "after@example.com"));
+
+        // Assert
+        assertEquals(user.getId(), userService.getUserByEmail("after@example.com").getId());
+        assertThrows(UserNotFoundException.class, () -> userService.getUserByEmail("before@example.com"));
+    }
+
+    @Test
+    void givenUser_whenDeleted_thenRemovedFromShardAndDirectory() {
+        // Arrange
+        User user = register("deleted@example.com");
+
+        // Act
+        userService.deleteUser(user.getId());
+
+        // Assert
+        assertFalse(userRepository.existsByEmail("deleted@example.com"));
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(user.getId()));
+        List<User> remaining = userService.getAllUsers();
+        assertTrue(remaining.stream().noneMatch(u -> u.getId().equals(user.getId())));
+    }
+
+    @Test
+    void givenUserRegisteredByAnotherInstance_whenLookupsAndRegister_thenFoundOnItsShard() {
+        // Arrange - otra instancia inserta el usuario sin pasar por este directorio
+        int shard = topology.shardForNewUser(EmailShardDirectory.hash("other-node@example.com"));
+        topology.jdbc(shard).update("INSERT INTO users (name, email, password_hash, created_at) VALUES (?, ?, ?, ?)",
+                "Other Node", "other-node@example.com", "hash", LocalDateTime.now());
+        assertEquals(-1, directory.shardForEmail("other-node@example.com"));
+
+        // Act & Assert
+        assertTrue(userRepository.existsByEmail("other-node@example.com"));
+        assertEquals("Other Node", userService.getUserByEmail("other-node@example.com").getName());
+        assertEquals(shard, directory.shardForEmail("other-node@example.com"));
+        assertThrows(EmailAlreadyExistsException.class, () -> register("other-node@example.com"));
+    }
+
+    @Test
+    void givenUserMovedByAnotherInstance_whenLoginAndLookups_thenFollowedToNewShard() {
+        // Arrange - otra instancia traslada la fila sin actualizar este directorio
+        User user = register("moved-elsewhere@example.com");
+        int source = directory.shardForId(user.getId());
+        int target = (source + 1) % topology.size();
+        topology.jdbc(target).update("INSERT INTO users SELECT * FROM (VALUES (?, ?, ?, ?, ?, ?, ?, ?))",
+                user.getId(), user.getName(), user.getEmail(), user.getPasswordHash(), user.getCreatedAt(),
+                user.getVersion(), null, 0L);
+        topology.jdbc(source).update("DELETE FROM users WHERE id = ?", user.getId());
+
+        // Act
+        AuthService.LoginResult result = authService.login(new LoginRequestDTO("moved-elsewhere@example.com", PASSWORD));
+
+        // Assert
+        assertEquals(user.getId(), result.getUser().getId());
+        assertEquals("moved-elsewhere@example.com", userService.getUserById(user.getId()).getEmail());
+        assertEquals(target, directory.shardForId(user.getId()));
+        assertEquals(target, directory.shardForEmail("moved-elsewhere@example.com"));
+        assertTrue(userRepository.existsById(user.getId()));
+    }
+
+    @Test
+    void givenUsersMovedByAnotherInstance_whenTransactionalLookupsFirst_thenFollowedToNewShard() {
+        // Arrange - sin login previo que refresque el directorio: cada búsqueda parte de la pista antigua
+        User byEmail = register("moved-tx-email@example.com");
+        User byUsername = register("moved-tx-username@example.com");
+        User byId = register("moved-tx-id@example.com");
+        int emailTarget = moveBehindDirectory(byEmail);
+        int usernameTarget = moveBehindDirectory(byUsername);
+        int idTarget = moveBehindDirectory(byId);
+
+        // Act
+        User foundByEmail = userService.getUserByEmail("moved-tx-email@example.com");
+        UserDetailsImpl foundByUsername = userDetailsService.loadUserByUsername("moved-tx-username@example.com");
+        User foundById = userService.getUserById(byId.getId());
+
+        // Assert
+        assertEquals(byEmail.getId(), foundByEmail.getId());
+        assertEquals(emailTarget, directory.shardForEmail("moved-tx-email@example.com"));
+        assertEquals(byUsername.getId(), foundByUsername.getId());
+        assertEquals(usernameTarget, directory.shardForEmail("moved-tx-username@example.com"));
+        assertEquals("moved-tx-id@example.com", foundById.getEmail());
+        assertEquals(idTarget, directory.shardForId(byId.getId()));
+    }
+
+    @Test
+    void givenUsersOnEveryShard_whenFindAllSortedAndPaged_thenMergedInGlobalOrder() {
+        // Arrange
+        for (String name : List.of("paged-c", "paged-a", "paged-e", "paged-b", "paged-d")) {
+            register(name + "@example.com");
+        }
+        Sort byEmail = Sort.by("email");
+        List<String> all = userRepository.findAll(byEmail).stream().map(User::getEmail).toList();
+
+        // Act
+        Page<User> page = userRepository.findAll(PageRequest.of(1, 2, byEmail));
+
+        // Assert
+        assertEquals(all.stream().sorted().toList(), all);
+        assertEquals(all.size(), page.getTotalElements());
+        assertEquals(all.subList(2, 4), page.getContent().stream().map(User::getEmail).toList());
+    }
+
+    @Test
+    void givenExplicitCredentials_whenConnectionOnShard_thenShardPoolOpensItWithThem() throws Throwable {
+        // Arrange
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(new ShardTopology(List.of(
+                new DriverManagerDataSource("jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1"),
+                new DriverManagerDataSource("jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1"))));
+
+        // Act
+        String url = ShardContext.callOn(1, () -> {
+            try (Connection connection = routing.getConnection("sa", "")) {
+                return connection.getMetaData().getURL();
+            }
+        });
+
+        // Assert
+        assertTrue(url.startsWith("jdbc:h2:mem:shard-1"), url);
+    }
+
+    /**
+     * Traslada la fila a otro shard como lo haría otra instancia, sin actualizar este directorio.
+     *
+     * @return Shard de destino.
+     */
+    private int moveBehindDirectory(User user) {
+        int source = directory.shardForId(user.getId());
+        int target = (source + 1) % topology.size();
+        topology.jdbc(target).update("INSERT INTO users SELECT * FROM (VALUES (?, ?, ?, ?, ?, ?, ?, ?))",
+                user.getId(), user.getName(), user.getEmail(), user.getPasswordHash(), user.getCreatedAt(),
+                user.getVersion(), null, 0L);
+        topology.jdbc(source).update("DELETE FROM users WHERE id = ?", user.getId());
+        return target;
+    }
+
+    private User register(String email) {
+        return authService.register(new RegisterRequestDTO("Sharded User", email, PASSWORD));
+    }
+}
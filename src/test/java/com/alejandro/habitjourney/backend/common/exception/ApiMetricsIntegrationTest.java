@@ -0,0 +1,49 @@
+package com.alejandro.habitjourney.backend.common.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prueba de integración del endpoint Prometheus: histogramas de latencia por ruta
+ * y contadores de las ramas del {@link GlobalExceptionHandler}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:api-metrics;DB_CLOSE_DELAY=-1",
+        "management.metrics.distribution.slo.http.server.requests=100ms,1s"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class ApiMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void givenUnknownUserLogin_whenScraped_thenHistogramAndExceptionCounterPublished() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nobody@example.com\",\"password\":\"Passw0rd!\"}"))
+                .andExpect(status().isNotFound());
+
+        // Act & Assert - sin token: el scraping no requiere autenticación
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{application=\"habitjourney-backend\",error=\"none\",exception=\"none\",method=\"POST\",outcome=\"CLIENT_ERROR\",status=\"404\",uri=\"/api/auth/login\",le=\"0.1\"}")))
+                .andExpect(content().string(containsString(
+                        "api_exceptions_total{application=\"habitjourney-backend\",exception=\"UserNotFoundException\",status=\"404\"}")));
+    }
+}
@@ -0,0 +1,29 @@
+package com.alejandro.habitjourney.backend.common.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainExceptionTest {
+
+    @Test
+    void givenDomainException_whenCreated_thenNoStackTraceCaptured() {
+        // Act
+        DomainException exception = new UserNotFoundException("Usuario no encontrado");
+
+        // Assert
+        assertEquals("Usuario no encontrado", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        exception.addSuppressed(new IllegalStateException());
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+    @Test
+    void givenAllBusinessExceptions_whenChecked_thenExtendDomainException() {
+        // Assert
+        assertInstanceOf(DomainException.class, new EmailAlreadyExistsException("x"));
+        assertInstanceOf(DomainException.class, new InvalidEmailFormatException("x"));
+        assertInstanceOf(DomainException.class, new InvalidNameException("x"));
+        assertInstanceOf(DomainException.class, new InvalidPasswordException("x"));
+    }
+}
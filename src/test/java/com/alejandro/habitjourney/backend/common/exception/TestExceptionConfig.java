@@ -1,5 +1,6 @@
 package com.alejandro.habitjourney.backend.common.exception;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
@@ -10,6 +11,6 @@ public class TestExceptionConfig {
     @Bean
     @Primary
     public GlobalExceptionHandler testGlobalExceptionHandler() {
-        return new GlobalExceptionHandler();
+        return new GlobalExceptionHandler(new SimpleMeterRegistry());
     }
 }
\ No newline at end of file
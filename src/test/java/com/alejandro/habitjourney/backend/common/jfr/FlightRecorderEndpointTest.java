@@ -0,0 +1,124 @@
+package com.alejandro.habitjourney.backend.common.jfr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración del endpoint {@code jfr} y de los eventos JFR propios.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jfr-endpoint;DB_CLOSE_DELAY=-1",
+        "management.endpoints.web.exposure.include=health,prometheus,jfr"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    static Path dumpDirectory;
+
+    @DynamicPropertySource
+    static void jfrProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.jfr.dump-directory", dumpDirectory::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightRecorderEndpoint endpoint;
+
+    @Test
+    void givenRunningRecording_whenAuthenticatedRequest_thenCustomEventsDumped() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/actuator/jfr").with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"endpoint-test\"}"))
+                .andExpect(status().isOk());
+        String credentials = "{\"email\":\"jfr@example.com\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"JFR User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(login).get("token").asText();
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Act
+        String stopped = mockMvc.perform(delete("/actuator/jfr/endpoint-test").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        JsonNode descriptor = objectMapper.readTree(stopped);
+        Path file = Path.of(descriptor.get("file").asText());
+        assertTrue(file.startsWith(dumpDirectory));
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent jwt = single(events, "habitjourney.JwtVerification");
+        assertEquals("valid", jwt.getString("outcome"));
+        assertTrue(jwt.getLong("userId") > 0);
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("habitjourney.PasswordHash")
+                && "matched".equals(event.getString("outcome"))));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("habitjourney.RepositoryCall")
+                && "findByEmail".equals(event.getString("method"))));
+    }
+
+    @Test
+    void givenNonAdminUser_whenStartRecording_thenForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/actuator/jfr").with(user("plain").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"forbidden\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void givenRecordingNameWithPathSegments_whenStopped_thenDumpStaysInDumpDirectory() {
+        // Arrange
+        String name = "../../escape/..\\evil";
+        endpoint.start(name, null, null);
+
+        // Act
+        FlightRecorderEndpoint.RecordingDescriptor descriptor = endpoint.stop(name);
+
+        // Assert
+        Path file = Path.of(descriptor.file());
+        assertEquals(dumpDirectory.toAbsolutePath().normalize(), file.getParent());
+        assertTrue(file.getFileName().toString().startsWith("recording-" + descriptor.id() + "-"));
+        assertFalse(file.getFileName().toString().contains(".."));
+        assertTrue(file.toFile().isFile());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String type) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .toList();
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+}
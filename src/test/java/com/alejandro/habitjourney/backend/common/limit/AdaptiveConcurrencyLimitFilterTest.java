@@ -0,0 +1,87 @@
+package com.alejandro.habitjourney.backend.common.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @Test
+    void givenGroupAtLimit_whenRequest_thenRejectedWith503BeforeChain() throws Exception {
+        // Arrange
+        properties.setInitialLimit(1);
+        AdaptiveConcurrencyLimitFilter filter = filter();
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain blockingChain = (request, response) -> {
+            // Mientras esta petición está en curso, otra al mismo grupo debe rechazarse
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(request("/api/auth/login"), second, new MockFilterChain());
+            nested.set(second);
+        };
+
+        // Act
+        filter.doFilter(request("/api/auth/login"), new MockHttpServletResponse(), blockingChain);
+
+        // Assert
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader("Retry-After"));
+        assertTrue(nested.get().getContentAsString().contains("\"status\":503"));
+        assertEquals(1.0, meterRegistry.get("http.concurrency.rejected").tag("group", "auth").counter().count());
+        assertEquals(0.0, meterRegistry.get("http.concurrency.inflight").tag("group", "auth").gauge().value());
+    }
+
+    @Test
+    void givenDifferentGroups_whenOneSaturated_thenOtherStillServed() throws Exception {
+        // Arrange
+        properties.setInitialLimit(1);
+        AdaptiveConcurrencyLimitFilter filter = filter();
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain blockingChain = (request, response) -> {
+            MockHttpServletResponse other = new MockHttpServletResponse();
+            filter.doFilter(request("/api/users/me"), other, new MockFilterChain());
+            nested.set(other);
+        };
+
+        // Act
+        filter.doFilter(request("/api/auth/login"), new MockHttpServletResponse(), blockingChain);
+
+        // Assert
+        assertEquals(200, nested.get().getStatus());
+    }
+
+    @Test
+    void givenUngroupedPath_whenRequest_thenNotLimited() throws Exception {
+        // Arrange
+        properties.setInitialLimit(0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter().doFilter(request("/swagger-ui.html"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    private AdaptiveConcurrencyLimitFilter filter() {
+        return new AdaptiveConcurrencyLimitFilter(properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
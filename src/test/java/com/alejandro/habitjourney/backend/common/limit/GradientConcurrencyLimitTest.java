@@ -0,0 +1,74 @@
+package com.alejandro.habitjourney.backend.common.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @Test
+    void givenStableLatencyUnderLoad_whenSampled_thenLimitGrows() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MS, limit.getLimit());
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > properties.getInitialLimit());
+    }
+
+    @Test
+    void givenLatencySpike_whenSampled_thenLimitShrinksButNotBelowMinimum() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MS, limit.getLimit());
+        }
+        int before = limit.getLimit();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(200 * MS, limit.getLimit());
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() < before);
+        assertTrue(limit.getLimit() >= properties.getMinLimit());
+    }
+
+    @Test
+    void givenLowUtilisation_whenSampled_thenLimitDoesNotGrow() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MS, 1);
+        }
+
+        // Assert
+        assertEquals(properties.getInitialLimit(), limit.getLimit());
+    }
+
+    @Test
+    void givenLimitReached_whenAcquire_thenRejectedUntilReleased() {
+        // Arrange
+        properties.setInitialLimit(2);
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+
+        // Act & Assert
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(10 * MS, false);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+}
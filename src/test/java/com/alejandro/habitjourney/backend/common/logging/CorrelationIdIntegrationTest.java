@@ -0,0 +1,111 @@
+package com.alejandro.habitjourney.backend.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.alejandro.habitjourney.backend.user.controller.UserController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración del id de correlación y del muestreo de logs de depuración por usuario.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:correlation;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CorrelationIdIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DebugLogSampler debugLogSampler;
+
+    private final Logger controllerLogger = (Logger) LoggerFactory.getLogger(UserController.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        controllerLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        controllerLogger.detachAppender(appender);
+        debugLogSampler.getUserIds().clear();
+    }
+
+    @Test
+    void givenRequestId_whenRequest_thenEchoed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").header(CorrelationIdFilter.HEADER, "abc-123"))
+                .andExpect(header().string(CorrelationIdFilter.HEADER, "abc-123"));
+    }
+
+    @Test
+    void givenInvalidRequestId_whenRequest_thenReplacedWithGenerated() throws Exception {
+        // Act
+        String requestId = mockMvc.perform(get("/api/users/me").header(CorrelationIdFilter.HEADER, "bad id\r\n"))
+                .andReturn().getResponse().getHeader(CorrelationIdFilter.HEADER);
+
+        // Assert
+        assertNotNull(requestId);
+        assertEquals(36, requestId.length());
+    }
+
+    @Test
+    void givenTargetedUser_whenRequest_thenDebugLoggedWithContext() throws Exception {
+        // Arrange
+        String credentials = "{\"email\":\"sampled-" + System.nanoTime() + "@example.com\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Sampled User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(login).get("token").asText();
+        String me = mockMvc.perform(get("/api/users/me").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(debugEvents().isEmpty());
+        String userId = objectMapper.readTree(me).path("user").path("id").asText();
+        debugLogSampler.getUserIds().add(userId);
+
+        // Act
+        mockMvc.perform(get("/api/users/me").header("Authorization", bearer)
+                        .header(CorrelationIdFilter.HEADER, "sampled-req"))
+                .andExpect(status().isOk());
+
+        // Assert
+        List<ILoggingEvent> events = debugEvents();
+        assertFalse(events.isEmpty());
+        assertEquals(userId, events.get(0).getMDCPropertyMap().get(UserMdcFilter.MDC_KEY));
+        assertEquals("sampled-req", events.get(0).getMDCPropertyMap().get(CorrelationIdFilter.MDC_KEY));
+    }
+
+    private List<ILoggingEvent> debugEvents() {
+        return appender.list.stream().filter(event -> event.getLevel() == Level.DEBUG).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.alejandro.habitjourney.backend.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebugLogSamplerTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final DebugLogSampler sampler = new DebugLogSampler(0);
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void givenSampledRequest_whenDebugLogged_thenAccepted() {
+        // Arrange
+        MDC.put(DebugLogSampler.MDC_KEY, "true");
+
+        // Act & Assert
+        assertEquals(FilterReply.ACCEPT, decide(Level.DEBUG));
+        assertEquals(FilterReply.ACCEPT, decide(Level.TRACE));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO));
+    }
+
+    @Test
+    void givenZeroRateAndNoTargets_whenRequestStarts_thenNotSampled() {
+        // Act
+        sampler.onRequestStarted("req-1");
+        sampler.onUserResolved("42");
+
+        // Assert
+        assertNull(MDC.get(DebugLogSampler.MDC_KEY));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG));
+    }
+
+    @Test
+    void givenTargetedRequestId_whenRequestStarts_thenSampled() {
+        // Arrange
+        sampler.getRequestIds().add("req-1");
+
+        // Act
+        sampler.onRequestStarted("req-1");
+
+        // Assert
+        assertEquals("true", MDC.get(DebugLogSampler.MDC_KEY));
+    }
+
+    @Test
+    void givenTargetedUser_whenUserResolved_thenSampled() {
+        // Arrange
+        sampler.getUserIds().add("42");
+
+        // Act
+        sampler.onUserResolved("42");
+
+        // Assert
+        assertEquals("true", MDC.get(DebugLogSampler.MDC_KEY));
+    }
+
+    @Test
+    void givenRateOutOfRange_whenSet_thenRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> sampler.setRate(1.5));
+    }
+
+    private FilterReply decide(Level level) {
+        return sampler.decide(null, loggerContext.getLogger("test"), level, "msg", null, null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordImporter.Format;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del importador y del índice de contraseñas filtradas sobre un directorio temporal.
+ */
+class BreachedPasswordIndexTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenUnsortedPlainDumpWithDuplicates_whenImportAcrossRuns_thenIndexContainsEachPasswordOnce() throws Exception {
+        // Arrange
+        Path dump = directory.resolve("dump.txt");
+        Files.write(dump, List.of("Password123!", "qwerty", "", "contraseña", "Password123!", "letmein", "qwerty"),
+                StandardCharsets.UTF_8);
+        Path output = directory.resolve("breached.bin");
+
+        // Act
+        long written = BreachedPasswordImporter.importFile(dump, output, Format.PLAIN, 2);
+
+        // Assert
+        assertEquals(4, written);
+        try (BreachedPasswordIndex index = BreachedPasswordIndex.open(output)) {
+            assertEquals(4, index.size());
+            assertTrue(index.contains("Password123!"));
+            assertTrue(index.contains("qwerty"));
+            assertTrue(index.contains("contraseña"));
+            assertTrue(index.contains("letmein"));
+            assertFalse(index.contains("Unica-Y-Larga-42!"));
+            assertFalse(index.contains("password123!"));
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count(), "Los tramos temporales se borran al terminar");
+        }
+    }
+
+    @Test
+    void givenSha1DumpWithCounts_whenImport_thenIndexMatchesPlainPasswords() throws Exception {
+        // Arrange
+        Path dump = directory.resolve("pwned.txt");
+        Files.write(dump, List.of(sha1("Secreta123!") + ":42", sha1("dragon").toLowerCase() + ":7", sha1("123456")));
+        Path output = directory.resolve("breached.bin");
+
+        // Act
+        BreachedPasswordImporter.importFile(dump, output, Format.SHA1, BreachedPasswordImporter.DEFAULT_RUN_SIZE);
+
+        // Assert
+        try (BreachedPasswordIndex index = BreachedPasswordIndex.open(output)) {
+            assertEquals(3, index.size());
+            assertTrue(index.contains("Secreta123!"));
+            assertTrue(index.contains("dragon"));
+            assertTrue(index.contains("123456"));
+            assertFalse(index.contains("Secreta1234!"));
+        }
+    }
+
+    @Test
+    void givenMalformedSha1Line_whenImport_thenFailsWithLineNumberAndKeepsExistingOutput() throws Exception {
+        // Arrange
+        Path dump = directory.resolve("pwned.txt");
+        Files.write(dump, List.of(sha1("dragon"), "no-es-un-hash"));
+        Path output = directory.resolve("breached.bin");
+        Files.writeString(output, "anterior");
+
+        // Act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> BreachedPasswordImporter.importFile(dump, output, Format.SHA1, 16));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("2"));
+        assertEquals("anterior", Files.readString(output));
+    }
+
+    @Test
+    void givenTruncatedOrForeignFile_whenOpen_thenThrowsIOException() throws Exception {
+        // Arrange
+        Path dump = directory.resolve("dump.txt");
+        Files.write(dump, List.of("qwerty", "letmein"));
+        Path output = directory.resolve("breached.bin");
+        BreachedPasswordImporter.importFile(dump, output, Format.PLAIN, 16);
+        Path truncated = directory.resolve("truncated.bin");
+        byte[] content = Files.readAllBytes(output);
+        Files.write(truncated, Arrays.copyOf(content, content.length - 3));
+        Path foreign = directory.resolve("foreign.bin");
+        Files.writeString(foreign, "esto no es un índice de hashes");
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> BreachedPasswordIndex.open(truncated));
+        assertThrows(IOException.class, () -> BreachedPasswordIndex.open(foreign));
+    }
+
+    @Test
+    void givenEmptyIndex_whenContains_thenAlwaysFalse() {
+        // Act & Assert
+        assertEquals(0, BreachedPasswordIndex.empty().size());
+        assertFalse(BreachedPasswordIndex.empty().contains("Password123!"));
+    }
+
+    private static String sha1(String password) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().withUpperCase().formatHex(digest);
+    }
+}
@@ -0,0 +1,141 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la lista de dominios desechables y de su tabla de hash perfecto.
+ */
+class DisposableDomainBlocklistTest {
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenLargeDomainSet_whenBuildTable_thenEveryDomainMatchesAndOthersDoNot() {
+        // Arrange
+        List<String> domains = IntStream.range(0, 200_000).mapToObj(i -> "spam" + i + ".example").toList();
+
+        // Act
+        DomainTable table = DomainTable.build(domains);
+
+        // Assert
+        assertEquals(200_000, table.size());
+        for (String domain : domains) {
+            assertTrue(table.matches(domain, 0, domain.length()), domain);
+        }
+        for (int i = 200_000; i < 300_000; i++) {
+            String domain = "spam" + i + ".example";
+            assertFalse(table.matches(domain, 0, domain.length()), domain);
+        }
+    }
+
+    @Test
+    void givenListedDomain_whenCheckEmails_thenMatchesCaseInsensitiveAndSubdomainsButNotParentsOrLookalikes()
+            throws Exception {
+        // Arrange
+        Path file = directory.resolve("disposable.txt");
+        Files.write(file, List.of("# dominios de prueba", "", "mailinator.com", " *.tempmail.dev ", "yopmail.fr"));
+        DisposableDomainBlocklist blocklist = new DisposableDomainBlocklist(file, meterRegistry);
+
+        // Act & Assert
+        assertEquals(3, blocklist.size());
+        assertTrue(blocklist.isDisposable("spam@mailinator.com"));
+        assertTrue(blocklist.isDisposable("spam@MailInator.COM"));
+        assertTrue(blocklist.isDisposable("spam@inbox.mailinator.com"));
+        assertTrue(blocklist.isDisposable("spam@a.b.tempmail.dev"));
+        assertTrue(blocklist.isDisposable("yopmail.fr"));
+        assertFalse(blocklist.isDisposable("user@notmailinator.com"));
+        assertFalse(blocklist.isDisposable("user@mailinator.co"));
+        assertFalse(blocklist.isDisposable("user@com"));
+        assertFalse(blocklist.isDisposable("user@example.com"));
+
+        FunctionTimer lookups = meterRegistry.get("security.disposable-domains.lookup").functionTimer();
+        assertEquals(9, lookups.count());
+        assertEquals(5, meterRegistry.get("security.disposable-domains.blocked").counter().count());
+    }
+
+    @Test
+    void givenChangedFile_whenReloadIfChanged_thenNewListIsPublished() throws Exception {
+        // Arrange
+        Path file = directory.resolve("disposable.txt");
+        Files.write(file, List.of("mailinator.com"));
+        DisposableDomainBlocklist blocklist = new DisposableDomainBlocklist(file, meterRegistry);
+        Files.write(file, List.of("mailinator.com", "guerrillamail.com"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+        // Act
+        blocklist.reloadIfChanged();
+
+        // Assert
+        assertEquals(2, blocklist.size());
+        assertTrue(blocklist.isDisposable("spam@guerrillamail.com"));
+        assertEquals(2, meterRegistry.get("security.disposable-domains.reloads")
+                .tag("result", "success").counter().count());
+    }
+
+    @Test
+    void givenReloadInterval_whenFileChanges_thenReloadedOnOwnThread() throws Exception {
+        // Arrange
+        Path file = directory.resolve("disposable.txt");
+        Files.write(file, List.of("mailinator.com"));
+        DisposableDomainBlocklist blocklist = new DisposableDomainBlocklist(file, Duration.ofMillis(20), meterRegistry);
+        try {
+            // Act
+            Files.write(file, List.of("mailinator.com", "guerrillamail.com"));
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (blocklist.size() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Assert
+            assertEquals(2, blocklist.size());
+            assertTrue(Thread.getAllStackTraces().keySet().stream()
+                    .anyMatch(thread -> thread.getName().equals("disposable-domains-reload")));
+        } finally {
+            blocklist.close();
+        }
+    }
+
+    @Test
+    void givenDeletedFile_whenReloadIfChanged_thenKeepsLoadedList() throws Exception {
+        // Arrange
+        Path file = directory.resolve("disposable.txt");
+        Files.write(file, List.of("mailinator.com"));
+        DisposableDomainBlocklist blocklist = new DisposableDomainBlocklist(file, meterRegistry);
+        Files.delete(file);
+
+        // Act
+        blocklist.reloadIfChanged();
+
+        // Assert
+        assertTrue(blocklist.isDisposable("spam@mailinator.com"));
+        assertEquals(1, meterRegistry.get("security.disposable-domains.reloads")
+                .tag("result", "failure").counter().count());
+    }
+
+    @Test
+    void givenNoFile_whenCheckEmail_thenNothingIsDisposable() {
+        // Arrange
+        DisposableDomainBlocklist blocklist = new DisposableDomainBlocklist(null, meterRegistry);
+
+        // Act & Assert
+        assertEquals(0, blocklist.size());
+        assertFalse(blocklist.isDisposable("spam@mailinator.com"));
+    }
+}
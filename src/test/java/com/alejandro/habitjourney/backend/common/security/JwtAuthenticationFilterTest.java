@@ -0,0 +1,83 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final AuthEntryPointJwt entryPoint = new AuthEntryPointJwt(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenInvalidToken_whenFiltered_thenRejectedWithoutCallingChain() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.resolveToken(request)).thenReturn("garbage");
+        when(jwtUtil.validateToken("garbage")).thenReturn(false);
+
+        // Act
+        new JwtAuthenticationFilter(jwtUtil, entryPoint).doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("\"status\":401"));
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void givenTokenOfDeletedUser_whenFiltered_thenRejectedWithStacklessException() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.resolveToken(request)).thenReturn("token");
+        when(jwtUtil.validateToken("token")).thenReturn(true);
+        when(jwtUtil.getAuthentication("token")).thenThrow(new UsernameNotFoundException("gone"));
+
+        // Act
+        new JwtAuthenticationFilter(jwtUtil, entryPoint).doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(0, RejectedTokenException.INSTANCE.getStackTrace().length);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void givenNoToken_whenFiltered_thenChainContinues() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        new JwtAuthenticationFilter(jwtUtil, entryPoint).doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+    }
+}
@@ -0,0 +1,59 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prueba de integración del flujo completo (registro, login y /me) con el contexto de seguridad
+ * almacenado en un ScopedValue enlazado por petición.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:scoped-context;DB_CLOSE_DELAY=-1",
+        "app.security.context-strategy=scoped"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ScopedSecurityContextIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenScopedStrategy_whenLoginAndMe_thenAuthenticatedUserReturned() throws Exception {
+        // Arrange
+        String credentials = "{\"email\":\"scoped@example.com\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Scoped User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(login).get("token").asText();
+
+        // Act & Assert
+        assertInstanceOf(ScopedValueSecurityContextHolderStrategy.class, SecurityContextHolder.getContextHolderStrategy());
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.email").value("scoped@example.com"));
+        mockMvc.perform(get("/api/users/me"))
+                .andExpect(status().isUnauthorized());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,83 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ScopedValueSecurityContextHolderStrategyTest {
+
+    private final SecurityContextHolderStrategy fallback = mock(SecurityContextHolderStrategy.class);
+    private final ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy(fallback);
+
+    @Test
+    void givenBoundScope_whenContextSet_thenVisibleOnlyInsideScope() throws Exception {
+        // Arrange
+        SecurityContext context = new SecurityContextImpl(new TestingAuthenticationToken("user@example.com", null));
+
+        // Act
+        SecurityContext seen = ScopedValueSecurityContextHolderStrategy.callWithNewContext(() -> {
+            strategy.setContext(context);
+            return strategy.getContext();
+        });
+
+        // Assert
+        assertSame(context, seen);
+        assertFalse(ScopedValueSecurityContextHolderStrategy.isBound());
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void givenBoundScope_whenCleared_thenEmptyContextReturned() throws Exception {
+        // Act
+        SecurityContext afterClear = ScopedValueSecurityContextHolderStrategy.callWithNewContext(() -> {
+            strategy.setContext(new SecurityContextImpl(new TestingAuthenticationToken("user@example.com", null)));
+            strategy.clearContext();
+            return strategy.getContext();
+        });
+
+        // Assert
+        assertNull(afterClear.getAuthentication());
+    }
+
+    @Test
+    void givenConcurrentScopes_whenEachSetsContext_thenIsolated() throws Exception {
+        // Arrange
+        AtomicReference<Object> otherThread = new AtomicReference<>();
+
+        // Act
+        ScopedValueSecurityContextHolderStrategy.callWithNewContext(() -> {
+            strategy.setContext(new SecurityContextImpl(new TestingAuthenticationToken("first", null)));
+            Thread.ofVirtual().start(() -> {
+                try {
+                    otherThread.set(ScopedValueSecurityContextHolderStrategy.callWithNewContext(
+                            () -> strategy.getContext().getAuthentication()));
+                } catch (Exception e) {
+                    otherThread.set(e);
+                }
+            }).join();
+            return null;
+        });
+
+        // Assert
+        assertNull(otherThread.get());
+    }
+
+    @Test
+    void givenNoScope_whenAccessed_thenDelegatesToFallback() {
+        // Arrange
+        SecurityContext context = new SecurityContextImpl();
+        when(fallback.getContext()).thenReturn(context);
+
+        // Act & Assert
+        assertSame(context, strategy.getContext());
+        strategy.clearContext();
+        verify(fallback).clearContext();
+    }
+}
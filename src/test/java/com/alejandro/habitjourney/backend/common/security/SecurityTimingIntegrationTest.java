@@ -0,0 +1,107 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración de las métricas de seguridad y de la cabecera Server-Timing.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:security-timing;DB_CLOSE_DELAY=-1",
+        "app.security.server-timing.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecurityTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenRegisteredUser_whenLoginAndGetMe_thenServerTimingReportsEachPhase() throws Exception {
+        // Arrange
+        String credentials = "{\"email\":\"timing@example.com\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Timing User\"}"))
+                .andExpect(status().isCreated());
+
+        // Act
+        MockHttpServletResponse login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String token = objectMapper.readTree(login.getContentAsString()).get("token").asText();
+        MockHttpServletResponse me = mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        // Assert
+        String loginTiming = login.getHeader("Server-Timing");
+        assertNotNull(loginTiming);
+        assertTrue(loginTiming.contains("user-lookup;dur="));
+        assertTrue(loginTiming.contains("bcrypt-match;dur="));
+        assertTrue(loginTiming.contains("jwt-generate;dur="));
+        assertTrue(loginTiming.contains("total;dur="));
+        assertTrue(me.getHeader("Server-Timing").contains("jwt-validate;dur="));
+        assertTrue(meterRegistry.timer("security.password.hash", "operation", "encode").count() > 0);
+        assertTrue(meterRegistry.timer("security.jwt.validation").count() > 0);
+    }
+
+    @Test
+    void givenMalformedToken_whenRequest_thenFailureCountedByReason() throws Exception {
+        // Arrange
+        double before = meterRegistry.counter("security.jwt.failures", "reason", "malformed").count();
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isUnauthorized())
+                .andReturn().getResponse();
+
+        // Assert
+        assertEquals(before + 1, meterRegistry.counter("security.jwt.failures", "reason", "malformed").count());
+        assertTrue(response.getHeader("Server-Timing").contains("jwt-validate;dur="));
+    }
+
+    @Test
+    void givenTokenOfDeletedUser_whenRequest_thenLookupMissCounted() throws Exception {
+        // Arrange
+        String credentials = "{\"email\":\"deleted@example.com\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"Deleted User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(login).get("token").asText();
+        mockMvc.perform(delete("/api/users/me").header("Authorization", bearer))
+                .andExpect(status().is2xxSuccessful());
+        double before = meterRegistry.counter("security.user.lookup.misses").count();
+
+        // Act
+        mockMvc.perform(get("/api/users/me").header("Authorization", bearer))
+                .andExpect(status().isUnauthorized());
+
+        // Assert
+        assertEquals(before + 1, meterRegistry.counter("security.user.lookup.misses").count());
+    }
+}
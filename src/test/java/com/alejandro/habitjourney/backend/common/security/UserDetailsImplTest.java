@@ -0,0 +1,39 @@
+package com.alejandro.habitjourney.backend.common.security;
+
+import com.alejandro.habitjourney.backend.user.model.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la actualización del principal compartido entre las operaciones de una misma autenticación.
+ */
+class UserDetailsImplTest {
+
+    @Test
+    void givenLoadedUser_whenRefreshed_thenEmailVersionAndUserReplacedTogether() {
+        // Arrange
+        UserDetailsImpl details = UserDetailsImpl.buildUserDetails(user(1));
+        User updated = user(2);
+
+        // Act
+        details.refresh(updated);
+
+        // Assert
+        assertEquals("user-2@example.com", details.getEmail());
+        assertEquals("user-2@example.com", details.getUsername());
+        assertEquals(2L, details.getVersion());
+        assertSame(updated, details.getUser());
+        assertEquals(7L, details.getId());
+    }
+
+    private static User user(long version) {
+        User user = new User();
+        user.setId(7L);
+        user.setName("Snapshot User");
+        user.setEmail("user-" + version + "@example.com");
+        user.setPasswordHash("hash");
+        user.setVersion(version);
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package com.alejandro.habitjourney.backend.common.util;
+
+import com.alejandro.habitjourney.backend.common.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreSerializedErrorResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PreSerializedErrorResponse response =
+            new PreSerializedErrorResponse(objectMapper, 401, "Acceso no autorizado", "Se requiere autenticación.");
+
+    @Test
+    void givenSecond_whenRendered_thenMatchesJacksonSerialization() throws Exception {
+        // Arrange
+        long epochSecond = 1_700_000_000L;
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+
+        // Act
+        byte[] body = response.body(epochSecond);
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(
+                new ErrorResponse(401, "Acceso no autorizado", "Se requiere autenticación.", timestamp)), body);
+    }
+
+    @Test
+    void givenSameSecond_whenRenderedTwice_thenBodyReused() {
+        // Act & Assert
+        assertSame(response.body(1_700_000_000L), response.body(1_700_000_000L));
+        assertNotSame(response.body(1_700_000_000L), response.body(1_700_000_001L));
+    }
+
+    @Test
+    void givenResponse_whenWritten_thenStatusHeadersAndBodySet() throws Exception {
+        // Arrange
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // Act
+        response.writeTo(servletResponse);
+
+        // Assert
+        assertEquals(401, servletResponse.getStatus());
+        assertEquals("application/json", servletResponse.getContentType());
+        assertEquals(servletResponse.getContentAsByteArray().length, servletResponse.getContentLength());
+        assertEquals(401, objectMapper.readTree(servletResponse.getContentAsByteArray()).get("status").asInt());
+    }
+}
@@ -1,9 +1,15 @@
 package com.alejandro.habitjourney.backend.common.util;
 
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordIndex;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class ValidationUtilsTest {
 
@@ -50,6 +56,22 @@ class ValidationUtilsTest {
         assertEquals(ErrorMessages.VALIDATION_PASSWORD_SPECIAL_CHAR, ValidationUtils.validatePassword("Valid123Password"));
     }
 
+    @Test
+    void validatePassword_WhenBreached_ShouldReturnErrorMessage() {
+        BreachedPasswordIndex breachedPasswords = mock(BreachedPasswordIndex.class);
+        when(breachedPasswords.contains("Valid1Password!")).thenReturn(true);
+        assertEquals(ErrorMessages.VALIDATION_PASSWORD_BREACHED,
+                ValidationUtils.validatePassword("Valid1Password!", breachedPasswords));
+    }
+
+    @Test
+    void validatePassword_WhenInvalidFormat_ShouldNotLookUpBreachedIndex() {
+        BreachedPasswordIndex breachedPasswords = mock(BreachedPasswordIndex.class);
+        assertEquals(ErrorMessages.VALIDATION_PASSWORD_DIGIT,
+                ValidationUtils.validatePassword("ValidPassword!", breachedPasswords));
+        verifyNoInteractions(breachedPasswords);
+    }
+
     // ---- EMAIL ----
     @Test
     void validateEmail_WhenValid_ShouldReturnNull() {
@@ -91,4 +113,32 @@ class ValidationUtilsTest {
     void validateName_WhenTooShort_ShouldReturnErrorMessage() {
         assertEquals("El nombre debe tener al menos 2 caracteres", ValidationUtils.validateName("A"));
     }
-}
\ No newline at end of file
+
+    // ---- POLÍTICA DE CONTRASEÑAS DE LOS DTOs ----
+    private static final Pattern LEGACY_PASSWORD_PATTERN = Pattern.compile(
+            "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?]).{6,32}$");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Pass123!", "weak", "Abcdef1~", "Abcde f1!", "ABCDEF1!", "abcdef1!", "Abcdefg!",
+            "Ab1!\nxyz", "Ñandú12!", "Aa1!x", "A1!aaaaaaaaaaaaaaaaaaaaaaaaaaaaa",
+            "A1!aaaaaaaaaaaaaaaaaaaaaaaaaaaaaa", "Aa1\\ok", "Aa1[]ok"})
+    void meetsPasswordPolicy_WhenCompared_ShouldMatchLegacyPattern(String password) {
+        assertEquals(LEGACY_PASSWORD_PATTERN.matcher(password).matches(), ValidationUtils.meetsPasswordPolicy(password));
+    }
+
+    // ---- SINTAXIS DE EMAIL ----
+    @ParameterizedTest
+    @ValueSource(strings = {"user@example.com", "first.last+tag@sub.example.co", "o'brien@example.org",
+            "a@b-c.io", "x_y@123.example.com"})
+    void isValidEmailAddress_WhenValid_ShouldReturnTrue(String email) {
+        assertTrue(ValidationUtils.isValidEmailAddress(email));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"invalid-email", "@example.com", "user@", "user@localhost", ".user@example.com",
+            "user.@example.com", "us..er@example.com", "user@-example.com", "user@example-.com", "user@example.c",
+            "user@example.c0m", "user@exa mple.com", "user@@example.com", "user@example..com", "úser@example.com"})
+    void isValidEmailAddress_WhenInvalid_ShouldReturnFalse(String email) {
+        assertFalse(ValidationUtils.isValidEmailAddress(email));
+    }
+}
@@ -0,0 +1,413 @@
+package com.alejandro.habitjourney.backend.loadtest;
+
+import com.alejandro.habitjourney.backend.HabitjourneyBackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Utilidades compartidas por las pruebas de carga: arranque de la aplicación completa en un puerto
+ * aleatorio, alta de un usuario de prueba y generación de carga cerrada con N clientes concurrentes,
+ * repitiendo una petición o eligiendo cada vez una operación de una mezcla ponderada.
+ * Las pruebas de carga no se ejecutan por defecto; se activan con {@code -Dloadtest=true}.
+ */
+final class LoadTestSupport {
+
+    static final String PASSWORD = "Passw0rd!";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private LoadTestSupport() {
+    }
+
+    /**
+     * Arranca la aplicación con el perfil de test, un puerto aleatorio y una base H2 propia.
+     *
+     * @param name Nombre de la base de datos en memoria.
+     * @param properties Propiedades adicionales, con prioridad sobre las de los ficheros de configuración.
+     * @return El contexto arrancado.
+     */
+    static ConfigurableApplicationContext start(String name, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "logging.level.root=WARN",
+                "logging.level.org.springframework.security=WARN",
+                "logging.level.org.springframework.web=WARN",
+                "logging.level.com.alejandro.habitjourney=WARN",
+                "logging.level.com.alejandro.habitjourney.backend.loadtest=INFO"));
+        all.addAll(Arrays.asList(properties));
+        // Como argumentos de línea de comandos, que prevalecen sobre application*.properties;
+        // SpringApplicationBuilder.properties() solo fija valores por defecto
+        return new SpringApplicationBuilder(HabitjourneyBackendApplication.class)
+                .profiles("test")
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    /**
+     * URL base de la aplicación arrancada.
+     */
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    /**
+     * Registra un usuario e inicia sesión con él.
+     *
+     * @param client Cliente HTTP.
+     * @param baseUrl URL base de la aplicación.
+     * @param email Email del usuario.
+     * @return El token JWT obtenido.
+     */
+    static String registerAndLogin(HttpClient client, String baseUrl, String email) throws Exception {
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"";
+        client.send(json(baseUrl + "/api/auth/register", credentials + ",\"name\":\"Load Test\"}"),
+                HttpResponse.BodyHandlers.discarding());
+        HttpResponse<String> login = client.send(json(baseUrl + "/api/auth/login", credentials + "}"),
+                HttpResponse.BodyHandlers.ofString());
+        return token(login);
+    }
+
+    /**
+     * Token JWT de una respuesta de login.
+     */
+    static String token(HttpResponse<String> login) throws Exception {
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login fallido con estado " + login.statusCode() + ": " + login.body());
+        }
+        return MAPPER.readTree(login.body()).get("token").asText();
+    }
+
+    /**
+     * Petición POST con cuerpo JSON.
+     */
+    static HttpRequest json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Lanza {@code clients} clientes que repiten la petición sin pausa durante {@code duration}.
+     *
+     * @param client Cliente HTTP compartido.
+     * @param clients Número de clientes concurrentes.
+     * @param duration Duración de la medición.
+     * @param request Generador de la petición de cada iteración.
+     * @return Resultado agregado.
+     */
+    static Result run(HttpClient client, int clients, Duration duration, Supplier<HttpRequest> request) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> workers = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request.get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                errors++;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    long[] result = Arrays.copyOf(latencies, count + 1);
+                    result[count] = errors;
+                    return result;
+                }));
+            }
+            long[] all = new long[0];
+            long errors = 0;
+            for (Future<long[]> worker : workers) {
+                long[] partial = worker.get();
+                errors += partial[partial.length - 1];
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + partial.length - 1);
+                System.arraycopy(partial, 0, all, offset, partial.length - 1);
+            }
+            Arrays.sort(all);
+            return new Result(all.length, errors, all.length / (duration.toMillis() / 1000.0),
+                    percentile(all, 0.50), percentile(all, 0.99));
+        }
+    }
+
+    /**
+     * Lanza un cliente por cada estado; cada uno elige en cada iteración una operación de la mezcla
+     * según su peso y la ejecuta sin pausa durante {@code duration}. Las operaciones de un cliente son
+     * secuenciales, así que pueden leer y actualizar su estado (token, contraseña) sin sincronizar.
+     * La elección usa una semilla por cliente para que la secuencia de operaciones sea reproducible.
+     *
+     * @param client Cliente HTTP compartido.
+     * @param states Estado de cada cliente concurrente.
+     * @param duration Duración de la medición.
+     * @param seed Semilla de la elección de operaciones.
+     * @param operations Mezcla de operaciones.
+     * @return Resultado por operación y agregado.
+     */
+    static <S> MixResult runMix(HttpClient client, List<S> states, Duration duration, long seed,
+                                List<Operation<S>> operations) throws Exception {
+        int[] cumulative = new int[operations.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            totalWeight += operations.get(i).weight();
+            cumulative[i] = totalWeight;
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso positivo");
+        }
+        int weights = totalWeight;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+        long cpuBefore = os.getProcessCpuTime();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+
+        List<Recorder[]> partials = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Recorder[]>> workers = new ArrayList<>();
+            for (int i = 0; i < states.size(); i++) {
+                S state = states.get(i);
+                SplittableRandom random = new SplittableRandom(seed + i);
+                workers.add(executor.submit(() -> {
+                    Recorder[] recorders = new Recorder[operations.size()];
+                    Arrays.setAll(recorders, op -> new Recorder());
+                    while (System.nanoTime() < deadline) {
+                        int pick = random.nextInt(weights);
+                        int op = 0;
+                        while (cumulative[op] <= pick) {
+                            op++;
+                        }
+                        long start = System.nanoTime();
+                        int status;
+                        String queries;
+                        try {
+                            HttpResponse<String> response = operations.get(op).call().send(client, state);
+                            status = response.statusCode();
+                            queries = response.headers().firstValue(QUERY_COUNT_HEADER).orElse(null);
+                        } catch (Exception e) {
+                            status = -1;
+                            queries = null;
+                        }
+                        recorders[op].record(System.nanoTime() - start, status, queries);
+                    }
+                    return recorders;
+                }));
+            }
+            for (Future<Recorder[]> worker : workers) {
+                partials.add(worker.get());
+            }
+        }
+        // Incluye las peticiones que seguían en curso al vencer el plazo
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+        long cpu = os.getProcessCpuTime() - cpuBefore;
+
+        List<OperationResult> results = new ArrayList<>();
+        Recorder total = new Recorder();
+        for (int op = 0; op < operations.size(); op++) {
+            Recorder merged = new Recorder();
+            for (Recorder[] partial : partials) {
+                merged.merge(partial[op]);
+            }
+            total.merge(merged);
+            results.add(merged.result(operations.get(op).name(), seconds));
+        }
+        OperationResult all = total.result("total", seconds);
+        return new MixResult(results, all, allocated / seconds,
+                all.requests() == 0 ? 0 : (double) allocated / all.requests(),
+                all.requests() == 0 ? 0 : cpu / 1e6 / all.requests(),
+                os.getAvailableProcessors());
+    }
+
+    private static Duration percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)]);
+    }
+
+    /**
+     * Resultado de una ejecución de carga.
+     *
+     * @param requests Peticiones completadas.
+     * @param errors Peticiones fallidas (error de red o estado >= 400).
+     * @param throughput Peticiones por segundo.
+     * @param p50 Mediana de latencia.
+     * @param p99 Percentil 99 de latencia.
+     */
+    record Result(long requests, long errors, double throughput, Duration p50, Duration p99) {
+
+        @Override
+        public String toString() {
+            return String.format("%d peticiones, %d errores, %.0f req/s, p50=%.1f ms, p99=%.1f ms",
+                    requests, errors, throughput, p50.toNanos() / 1e6, p99.toNanos() / 1e6);
+        }
+    }
+
+    /**
+     * Operación de una carga mixta.
+     *
+     * @param name Nombre con el que aparece en el informe.
+     * @param weight Peso relativo dentro de la mezcla.
+     * @param call Envía la petición con el estado del cliente y lo actualiza con la respuesta.
+     */
+    record Operation<S>(String name, int weight, Call<S> call) {
+    }
+
+    /**
+     * Petición de una operación de la mezcla.
+     */
+    @FunctionalInterface
+    interface Call<S> {
+
+        HttpResponse<String> send(HttpClient client, S state) throws Exception;
+    }
+
+    /**
+     * Resultado de una operación, o del total, en una carga mixta.
+     *
+     * @param name Operación.
+     * @param requests Peticiones completadas.
+     * @param errors Peticiones fallidas (error de red o estado >= 400).
+     * @param errorsByStatus Peticiones fallidas por código de estado; -1 si no hubo respuesta.
+     * @param throughput Peticiones por segundo.
+     * @param p50 Mediana de latencia.
+     * @param p90 Percentil 90 de latencia.
+     * @param p99 Percentil 99 de latencia.
+     * @param max Latencia máxima.
+     * @param queriesPerRequest Media de sentencias SQL por petición según {@code X-Query-Count},
+     *                          o NaN si ninguna respuesta trajo la cabecera.
+     */
+    record OperationResult(String name, long requests, long errors, Map<Integer, Long> errorsByStatus,
+                           double throughput, Duration p50, Duration p90, Duration p99, Duration max,
+                           double queriesPerRequest) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-16s %10d %8d %9.1f %9.1f %9.1f %9.1f %9.1f %10.2f",
+                    name, requests, errors, throughput, millis(p50), millis(p90), millis(p99), millis(max),
+                    queriesPerRequest);
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+
+    /**
+     * Resultado de una carga mixta. La memoria reservada y el CPU son de todo el proceso, que incluye
+     * también el cliente HTTP de la prueba.
+     *
+     * @param operations Resultado por operación.
+     * @param total Resultado agregado.
+     * @param allocationRate Bytes reservados en el heap por segundo.
+     * @param allocatedPerRequest Bytes reservados por petición.
+     * @param cpuMillisPerRequest Milisegundos de CPU del proceso por petición.
+     * @param processors Procesadores disponibles.
+     */
+    record MixResult(List<OperationResult> operations, OperationResult total, double allocationRate,
+                     double allocatedPerRequest, double cpuMillisPerRequest, int processors) {
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                    "%-16s %10s %8s %9s %9s %9s %9s %9s %10s%n", "Operación", "Peticiones", "Errores",
+                    "req/s", "p50 ms", "p90 ms", "p99 ms", "máx ms", "SQL/pet."));
+            for (OperationResult operation : operations) {
+                report.append(operation).append(System.lineSeparator());
+            }
+            report.append(total).append(System.lineSeparator());
+            report.append(String.format(Locale.ROOT,
+                    "Memoria reservada: %.1f MB/s, %.1f KB/petición; CPU: %.2f ms/petición con %d procesadores"
+                            + " (proceso completo, incluye el cliente HTTP)%n",
+                    allocationRate / (1024 * 1024), allocatedPerRequest / 1024, cpuMillisPerRequest, processors));
+            for (OperationResult operation : operations) {
+                if (!operation.errorsByStatus().isEmpty()) {
+                    report.append(String.format("Errores de %s por estado: %s%n",
+                            operation.name(), operation.errorsByStatus()));
+                }
+            }
+            return report.toString();
+        }
+    }
+
+    /**
+     * Acumulador de un cliente para una operación; se combinan al terminar la medición.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+        private final Map<Integer, Long> errorsByStatus = new TreeMap<>();
+        private long queries;
+        private long queryResponses;
+
+        void record(long nanos, int status, String queryCount) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status < 0 || status >= 400) {
+                errors++;
+                errorsByStatus.merge(status, 1L, Long::sum);
+            }
+            if (queryCount != null) {
+                queries += Long.parseLong(queryCount);
+                queryResponses++;
+            }
+        }
+
+        void merge(Recorder other) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length, count + other.count));
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            other.errorsByStatus.forEach((status, n) -> errorsByStatus.merge(status, n, Long::sum));
+            queries += other.queries;
+            queryResponses += other.queryResponses;
+        }
+
+        OperationResult result(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new OperationResult(name, count, errors, new TreeMap<>(errorsByStatus), count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    count == 0 ? Duration.ZERO : Duration.ofNanos(sorted[count - 1]),
+                    queryResponses == 0 ? Double.NaN : (double) queries / queryResponses);
+        }
+    }
+}
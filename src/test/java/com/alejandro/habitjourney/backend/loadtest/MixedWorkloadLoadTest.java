@@ -0,0 +1,196 @@
+package com.alejandro.habitjourney.backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga de extremo a extremo con una mezcla de operaciones como la del uso real: registro,
+ * login, consulta y actualización del perfil y cambio de contraseña. Arranca la aplicación completa
+ * contra H2 en memoria, sin red ni servicios externos, para estimar la capacidad de una máquina antes
+ * de desplegar: {@code mvn test -Dtest=MixedWorkloadLoadTest -Dloadtest=true}.
+ * <p>
+ * Cada cliente concurrente tiene su propio usuario y encadena operaciones sin pausa. Parámetros:
+ * {@code -Dloadtest.clients}, {@code -Dloadtest.seconds}, {@code -Dloadtest.warmup-seconds},
+ * {@code -Dloadtest.seed} y {@code -Dloadtest.mix} con los pesos de cada operación (por defecto
+ * {@value #DEFAULT_MIX}). Las propiedades {@code -Dloadtest.app.<propiedad>=<valor>} se pasan a la
+ * aplicación, por ejemplo {@code -Dloadtest.app.app.concurrency-limit.enabled=true} para medir con el
+ * límite de concurrencia de producción.
+ * <p>
+ * El informe da, por operación, el rendimiento, los percentiles de latencia y las sentencias SQL por
+ * petición (cabecera {@code X-Query-Count}), y para el conjunto la memoria reservada y el CPU.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class MixedWorkloadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MixedWorkloadLoadTest.class);
+
+    static final String DEFAULT_MIX = "register=5,login=10,me-get=65,me-put=15,change-password=5";
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 50);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+    private static final String MIX = System.getProperty("loadtest.mix", DEFAULT_MIX);
+    private static final String APP_PROPERTY_PREFIX = "loadtest.app.";
+    private static final String OTHER_PASSWORD = "Otr0Passw0rd!";
+
+    /**
+     * Estado de un cliente: su usuario, la contraseña vigente y el último token.
+     */
+    private static final class Session {
+
+        private final int index;
+        private final String email;
+        private String password = LoadTestSupport.PASSWORD;
+        private String token;
+        private int registrations;
+        private int updates;
+
+        private Session(int index, String email, String token) {
+            this.index = index;
+            this.email = email;
+            this.token = token;
+        }
+    }
+
+    @Test
+    void givenRealisticMix_whenRunningAgainstEmbeddedDatabase_thenReportsCapacityWithoutErrors() throws Exception {
+        // Arrange
+        List<String> properties = new ArrayList<>(List.of(
+                "app.concurrency-limit.enabled=false",
+                "app.query-count.strict=false"));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PROPERTY_PREFIX))
+                .forEach(name -> properties.add(name.substring(APP_PROPERTY_PREFIX.length()) + "="
+                        + System.getProperty(name)));
+
+        try (ConfigurableApplicationContext context = LoadTestSupport.start("loadtest-mixed",
+                properties.toArray(String[]::new))) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String baseUrl = LoadTestSupport.baseUrl(context);
+            List<Session> sessions = sessions(client, baseUrl);
+            List<LoadTestSupport.Operation<Session>> operations = operations(baseUrl, weights(MIX));
+            // Calentamiento para que JIT, pools y cachés no distorsionen la medición
+            LoadTestSupport.runMix(client, sessions, WARMUP, SEED, operations);
+
+            // Act
+            LoadTestSupport.MixResult result = LoadTestSupport.runMix(client, sessions, DURATION, SEED + CLIENTS,
+                    operations);
+
+            // Assert
+            logger.info("Carga mixta ({}) con {} clientes durante {} s:", MIX, CLIENTS, DURATION.toSeconds());
+            result.toString().lines().forEach(logger::info);
+            assertEquals(0, result.total().errors(), result.toString());
+            assertTrue(result.total().requests() > 0);
+        }
+    }
+
+    /**
+     * Registra e inicia sesión con un usuario por cliente, en paralelo.
+     */
+    private List<Session> sessions(HttpClient client, String baseUrl) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Session>> pending = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                int index = i;
+                pending.add(executor.submit(() -> {
+                    String email = "mix-" + index + "@example.com";
+                    return new Session(index, email, LoadTestSupport.registerAndLogin(client, baseUrl, email));
+                }));
+            }
+            List<Session> sessions = new ArrayList<>();
+            for (Future<Session> session : pending) {
+                sessions.add(session.get());
+            }
+            return sessions;
+        }
+    }
+
+    /**
+     * Interpreta los pesos {@code operación=peso} separados por comas.
+     */
+    private static Map<String, Integer> weights(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Peso no válido en loadtest.mix: " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static List<LoadTestSupport.Operation<Session>> operations(String baseUrl, Map<String, Integer> weights) {
+        Map<String, LoadTestSupport.Call<Session>> calls = new LinkedHashMap<>();
+        calls.put("register", (client, session) -> client.send(LoadTestSupport.json(baseUrl + "/api/auth/register",
+                "{\"name\":\"Load Test\",\"email\":\"mix-" + session.index + "-" + ++session.registrations
+                        + "@example.com\",\"password\":\"" + LoadTestSupport.PASSWORD + "\"}"),
+                HttpResponse.BodyHandlers.ofString()));
+        calls.put("login", (client, session) -> {
+            HttpResponse<String> response = client.send(LoadTestSupport.json(baseUrl + "/api/auth/login",
+                    "{\"email\":\"" + session.email + "\",\"password\":\"" + session.password + "\"}"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                session.token = LoadTestSupport.token(response);
+            }
+            return response;
+        });
+        calls.put("me-get", (client, session) -> client.send(authorized(baseUrl + "/api/users/me", session)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString()));
+        calls.put("me-put", (client, session) -> client.send(authorized(baseUrl + "/api/users/me", session)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load Test " + ++session.updates
+                        + "\",\"email\":\"" + session.email + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString()));
+        calls.put("change-password", (client, session) -> {
+            String newPassword = session.password.equals(LoadTestSupport.PASSWORD)
+                    ? OTHER_PASSWORD : LoadTestSupport.PASSWORD;
+            HttpResponse<String> response = client.send(authorized(baseUrl + "/api/users/me/change-password", session)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"currentPassword\":\"" + session.password
+                            + "\",\"newPassword\":\"" + newPassword + "\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                session.password = newPassword;
+            }
+            return response;
+        });
+
+        List<LoadTestSupport.Operation<Session>> operations = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            LoadTestSupport.Call<Session> call = calls.get(name);
+            if (call == null) {
+                throw new IllegalArgumentException("Operación desconocida en loadtest.mix: " + name
+                        + "; disponibles: " + calls.keySet());
+            }
+            if (weight > 0) {
+                operations.add(new LoadTestSupport.Operation<>(name, weight, call));
+            }
+        });
+        return operations;
+    }
+
+    private static HttpRequest.Builder authorized(String url, Session session) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + session.token);
+    }
+}
@@ -0,0 +1,123 @@
+package com.alejandro.habitjourney.backend.loadtest;
+
+import com.alejandro.habitjourney.backend.common.security.ScopedValueSecurityContextHolderStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide la memoria retenida por petición en curso con cada estrategia del contexto de seguridad.
+ * Simula {@code loadtest.inflight} peticiones concurrentes como hilos virtuales que fijan una autenticación
+ * y quedan bloqueados, y compara el heap ocupado con la estrategia ThreadLocal de Spring Security
+ * y con la basada en ScopedValue. Se ejecuta con {@code -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class SecurityContextMemoryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityContextMemoryTest.class);
+
+    private static final int IN_FLIGHT = Integer.getInteger("loadtest.inflight", 50_000);
+
+    @Test
+    void givenManyInFlightRequests_whenHoldingContext_thenReportBytesPerRequest() throws Exception {
+        // Arrange
+        SecurityContextHolderStrategy threadLocal = SecurityContextHolder.getContextHolderStrategy();
+        ScopedValueSecurityContextHolderStrategy scoped = new ScopedValueSecurityContextHolderStrategy(threadLocal);
+
+        // Act - cada variante usa hilos nuevos que limpian su estado antes de terminar
+        double baseline = bytesPerRequest(bound -> {
+            bound.run();
+            block();
+        });
+        double threadLocalBytes = bytesPerRequest(bound -> {
+            threadLocal.setContext(context());
+            try {
+                bound.run();
+                block();
+            } finally {
+                threadLocal.clearContext();
+            }
+        });
+        double scopedBytes = bytesPerRequest(bound -> ScopedValueSecurityContextHolderStrategy.callWithNewContext(() -> {
+            scoped.setContext(context());
+            bound.run();
+            block();
+            return null;
+        }));
+
+        // Assert
+        logger.info("Bytes por petición en curso ({} peticiones): hilo vacío={}, ThreadLocal={} ({}), ScopedValue={} ({})",
+                IN_FLIGHT, Math.round(baseline), Math.round(threadLocalBytes), Math.round(threadLocalBytes - baseline),
+                Math.round(scopedBytes), Math.round(scopedBytes - baseline));
+        assertTrue(scopedBytes > 0 && threadLocalBytes > 0);
+    }
+
+    private static final ThreadLocal<CountDownLatch> RELEASE = new ThreadLocal<>();
+
+    /**
+     * Lanza {@code IN_FLIGHT} hilos virtuales nuevos y mide el heap cuando todos han fijado su contexto.
+     */
+    private double bytesPerRequest(Request request) throws Exception {
+        CountDownLatch bound = new CountDownLatch(IN_FLIGHT);
+        CountDownLatch release = new CountDownLatch(1);
+        long before = usedHeap();
+        List<Thread> threads = new ArrayList<>(IN_FLIGHT);
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                RELEASE.set(release);
+                try {
+                    request.handle(bound::countDown);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    RELEASE.remove();
+                }
+            }));
+        }
+        bound.await();
+        long during = usedHeap();
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (during - before) / (double) IN_FLIGHT;
+    }
+
+    private static void block() throws InterruptedException {
+        RELEASE.get().await();
+    }
+
+    private static SecurityContextImpl context() {
+        return new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+                "user@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Petición simulada: fija su contexto, avisa con {@code bound} y se bloquea hasta la liberación.
+     */
+    @FunctionalInterface
+    private interface Request {
+        void handle(Runnable bound) throws Exception;
+    }
+}
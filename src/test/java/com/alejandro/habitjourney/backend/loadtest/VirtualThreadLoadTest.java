@@ -0,0 +1,59 @@
+package com.alejandro.habitjourney.backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga que compara el rendimiento de {@code GET /api/users/me} sirviendo las peticiones
+ * con el pool de hilos de plataforma de Tomcat y con hilos virtuales.
+ * Se ejecuta con {@code mvn test -Dtest=VirtualThreadLoadTest -Dloadtest=true}; los clientes y la
+ * duración se ajustan con {@code -Dloadtest.clients} y {@code -Dloadtest.seconds}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 15));
+
+    @Test
+    void givenHighConcurrency_whenComparingThreadModels_thenVirtualThreadsServeWithoutErrors() throws Exception {
+        // Act
+        LoadTestSupport.Result platform = measure("platform", false);
+        LoadTestSupport.Result virtual = measure("virtual", true);
+
+        // Assert
+        logger.info("Hilos de plataforma: {}", platform);
+        logger.info("Hilos virtuales:     {}", virtual);
+        assertEquals(0, virtual.errors());
+        assertTrue(virtual.requests() > 0);
+    }
+
+    private LoadTestSupport.Result measure(String name, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = LoadTestSupport.start("loadtest-" + name,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=50",
+                "app.concurrency-limit.enabled=false")) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String baseUrl = LoadTestSupport.baseUrl(context);
+            String token = LoadTestSupport.registerAndLogin(client, baseUrl, "load@example.com");
+            HttpRequest me = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/me"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            // Calentamiento para que JIT y pools no distorsionen la medición
+            LoadTestSupport.run(client, CLIENTS, Duration.ofSeconds(3), () -> me);
+            return LoadTestSupport.run(client, CLIENTS, DURATION, () -> me);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.alejandro.habitjourney.backend.user.controller;
 
+import com.alejandro.habitjourney.backend.batch.service.BatchService;
 import com.alejandro.habitjourney.backend.auth.service.AuthService;
 import com.alejandro.habitjourney.backend.common.config.SecurityTestConfig;
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -58,6 +60,12 @@ class UserControllerTest extends TestConfig {
     @MockitoBean
     private JwtUtil jwtUtil;
 
+    @MockitoBean
+    private AuthenticationEntryPoint authenticationEntryPoint;
+
+    @MockitoBean
+    private BatchService batchService;
+
     private User testUser;
     private UserDTO testUserDTO;
     private PasswordChangeDTO validPasswordChangeDTO;
@@ -100,7 +108,7 @@ class UserControllerTest extends TestConfig {
     void givenAuthenticatedUserAndValidUpdateData_whenUpdateUser_thenReturnsOkAndUpdatedUser() throws Exception {
         // Arrange
         when(authService.getAuthenticatedUser()).thenReturn(testUser);
-        when(userService.updateUser(eq(testUser.getId()), eq(updatedUserDTO))).thenReturn(updatedUserEntity);
+        when(userService.updateUser(eq(testUser.getId()), eq(updatedUserDTO), isNull())).thenReturn(updatedUserEntity);
         when(userMapper.userToUserDTO(updatedUserEntity)).thenReturn(updatedUserDTO);
 
         // Act & Assert
@@ -115,7 +123,7 @@ class UserControllerTest extends TestConfig {
                 .andExpect(jsonPath("$.user.email").value(updatedUserDTO.getEmail()));
 
         verify(authService).getAuthenticatedUser();
-        verify(userService).updateUser(eq(testUser.getId()), eq(updatedUserDTO));
+        verify(userService).updateUser(eq(testUser.getId()), eq(updatedUserDTO), isNull());
         verify(userMapper).userToUserDTO(updatedUserEntity);
         verify(userService, never()).getUserByEmail(anyString());
     }
@@ -165,7 +173,7 @@ class UserControllerTest extends TestConfig {
         updateRequestDTO.setEmail("test@example.com");
 
         when(authService.getAuthenticatedUser()).thenReturn(testUser);
-        when(userService.updateUser(anyLong(), any(UserDTO.class)))
+        when(userService.updateUser(anyLong(), any(UserDTO.class), isNull()))
                 .thenThrow(new EmailAlreadyExistsException(ErrorMessages.EMAIL_EXISTS));
 
         // Act & Assert
@@ -180,7 +188,7 @@ class UserControllerTest extends TestConfig {
                 .andExpect(jsonPath("$.timestamp").exists());
 
         verify(authService).getAuthenticatedUser();
-        verify(userService).updateUser(eq(testUser.getId()), any(UserDTO.class));
+        verify(userService).updateUser(eq(testUser.getId()), any(UserDTO.class), isNull());
         verify(userMapper, never()).userToUserDTO(any());
     }
 
@@ -207,6 +215,27 @@ class UserControllerTest extends TestConfig {
         verify(userMapper, never()).userToUserDTO(any());
     }
 
+    @Test
+    void givenAuthenticatedUserAndBreachedNewPassword_whenChangePassword_thenReturnsBadRequestWithBreachedMessage() throws Exception {
+        // Arrange
+        when(authService.getAuthenticatedUser()).thenReturn(testUser);
+        doThrow(new InvalidPasswordException(ErrorMessages.VALIDATION_PASSWORD_BREACHED))
+                .when(userService).changePassword(anyLong(), anyString(), anyString());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/me/change-password")
+                        .with(authentication(createTestAuthentication("test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validPasswordChangeDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.title").value(ErrorMessages.TITLE_BAD_REQUEST))
+                .andExpect(jsonPath("$.detail").value(ErrorMessages.VALIDATION_PASSWORD_BREACHED))
+                .andExpect(jsonPath("$.timestamp").exists());
+
+        verify(userService).changePassword(eq(testUser.getId()), anyString(), anyString());
+    }
+
     @Test
     void givenAuthenticatedUserAndInvalidNewPasswordFormat_whenChangePassword_thenReturnsBadRequestAndInvalidPasswordError() throws Exception {
         // Arrange
@@ -0,0 +1,157 @@
+package com.alejandro.habitjourney.backend.user.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración de los ETags y las peticiones condicionales sobre /api/users/me.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-etag;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserETagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - cada prueba trabaja con un usuario nuevo
+        String email = "etag-" + System.nanoTime() + "@example.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + ",\"name\":\"ETag User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        bearer = "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+
+    @Test
+    void givenMatchingIfNoneMatch_whenGetMe_thenNotModifiedWithoutBody() throws Exception {
+        // Arrange
+        String etag = currentETag();
+
+        // Act & Assert
+        String body = mockMvc.perform(get("/api/users/me").header("Authorization", bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.isEmpty());
+    }
+
+    @Test
+    void givenCurrentIfMatch_whenUpdateMe_thenUpdatedWithNewETag() throws Exception {
+        // Arrange
+        String etag = currentETag();
+
+        // Act
+        String newETag = mockMvc.perform(put("/api/users/me").header("Authorization", bearer)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"email\":\"" + currentEmail() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.name").value("Renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert - el ETag anterior ya no vale para If-None-Match
+        assertNotNull(newETag);
+        assertNotEquals(etag, newETag);
+        assertEquals(newETag, currentETag());
+        mockMvc.perform(get("/api/users/me").header("Authorization", bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void givenStaleIfMatch_whenUpdateMe_thenPreconditionFailed() throws Exception {
+        // Arrange
+        String staleETag = currentETag();
+        mockMvc.perform(put("/api/users/me").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"First Writer\",\"email\":\"" + currentEmail() + "\"}"))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(put("/api/users/me").header("Authorization", bearer)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Second Writer\",\"email\":\"" + currentEmail() + "\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+        mockMvc.perform(get("/api/users/me").header("Authorization", bearer))
+                .andExpect(jsonPath("$.user.name").value("First Writer"));
+    }
+
+    @Test
+    void givenBinaryFormatWithLowQuality_whenGetMe_thenJsonETagWithoutVariant() throws Exception {
+        // Arrange
+        String accept = "application/cbor;q=0.1, application/json";
+
+        // Act
+        String etag = mockMvc.perform(get("/api/users/me").header("Authorization", bearer)
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert - el ETag corresponde a la representación JSON que se ha enviado
+        assertEquals(currentETag(), etag);
+        mockMvc.perform(get("/api/users/me").header("Authorization", bearer)
+                        .header(HttpHeaders.ACCEPT, accept)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void givenCborAccept_whenGetMe_thenETagCarriesCborVariant() throws Exception {
+        // Act
+        String etag = mockMvc.perform(get("/api/users/me").header("Authorization", bearer)
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert - la variante CBOR no valida la copia JSON en caché
+        assertNotNull(etag);
+        assertTrue(etag.endsWith("-cbor\""), etag);
+        mockMvc.perform(get("/api/users/me").header("Authorization", bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String currentETag() throws Exception {
+        return mockMvc.perform(get("/api/users/me").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String currentEmail() throws Exception {
+        String me = mockMvc.perform(get("/api/users/me").header("Authorization", bearer))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(me).get("user").get("email").asText();
+    }
+}
@@ -0,0 +1,162 @@
+package com.alejandro.habitjourney.backend.user.controller;
+
+import com.alejandro.habitjourney.backend.common.security.UserDetailsImpl;
+import com.alejandro.habitjourney.backend.user.model.User;
+import com.alejandro.habitjourney.backend.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración de la API GraphQL de usuarios: autenticación JWT, agrupación de accesos
+ * mediante DataLoader, límites de profundidad y de tamaño de listas y métricas por resolver.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:graphql;DB_CLOSE_DELAY=-1",
+        "app.graphql.max-depth=2",
+        "app.graphql.max-list-size=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserGraphQlControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange
+        first = userRepository.save(new User(null, "First", "first-" + System.nanoTime() + "@example.com", "hash", LocalDateTime.now(), null, null, null));
+        second = userRepository.save(new User(null, "Second", "second-" + System.nanoTime() + "@example.com", "hash", LocalDateTime.now(), null, null, null));
+        clearInvocations(userRepository);
+    }
+
+    @Test
+    void givenJwt_whenQueryMe_thenAuthenticatedUserReturned() throws Exception {
+        // Arrange
+        String credentials = "{\"email\":\"graphql@example.com\",\"password\":\"Passw0rd!\"";
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON).content(credentials + ",\"name\":\"GraphQL User\"}"))
+                .andExpect(status().isCreated());
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials + "}"))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(login).get("token").asText();
+
+        // Act & Assert
+        graphql("{ me { name email } }", request -> {
+            request.addHeader("Authorization", "Bearer " + token);
+            return request;
+        })
+                .andExpect(jsonPath("$.data.me.email").value("graphql@example.com"))
+                .andExpect(jsonPath("$.data.me.name").value("GraphQL User"));
+    }
+
+    @Test
+    void givenSeveralUserFields_whenQuery_thenSingleBatchedRepositoryCall() throws Exception {
+        // Act
+        graphql("{ a: user(id: " + first.getId() + ") { name } b: user(id: " + second.getId() + ") { name } "
+                + "c: user(id: " + first.getId() + ") { email } me { name } "
+                + "all: users(ids: [" + second.getId() + ", 999999]) { name } }", admin(first))
+                .andExpect(jsonPath("$.data.a.name").value("First"))
+                .andExpect(jsonPath("$.data.b.name").value("Second"))
+                .andExpect(jsonPath("$.data.me.name").value("First"))
+                .andExpect(jsonPath("$.data.all[0].name").value("Second"))
+                .andExpect(jsonPath("$.data.all[1]").isEmpty());
+
+        // Assert
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(anyLong());
+        assertNotNull(meterRegistry.find("graphql.datafetcher").tag("graphql.field.name", "user").timer());
+    }
+
+    @Test
+    void givenNonAdmin_whenQueryUserById_thenForbiddenError() throws Exception {
+        // Act & Assert
+        graphql("{ user(id: " + second.getId() + ") { name } }", user(first, "ROLE_USER"))
+                .andExpect(jsonPath("$.data.user").isEmpty())
+                .andExpect(jsonPath("$.errors[0].extensions.classification").value("FORBIDDEN"));
+    }
+
+    @Test
+    void givenTooDeepQuery_whenExecuted_thenRejectedBeforeResolvers() throws Exception {
+        // Act & Assert
+        graphql("{ me { name } __schema { types { fields { name } } } }", admin(first))
+                .andExpect(jsonPath("$.errors[0].message").exists())
+                .andExpect(jsonPath("$.data").doesNotExist());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void givenTooManyIds_whenQueryUsers_thenValidationErrorBeforeResolvers() throws Exception {
+        // Act & Assert
+        graphql("{ all: users(ids: [" + first.getId() + ", " + second.getId() + ", 1, 2]) { name } }", admin(first))
+                .andExpect(jsonPath("$.errors[0].extensions.classification").value("ValidationError"))
+                .andExpect(jsonPath("$.errors[0].message").value(containsString("ids")))
+                .andExpect(jsonPath("$.data").doesNotExist());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    private ResultActions graphql(String query, RequestPostProcessor postProcessor) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("query", query));
+        ResultActions actions = mockMvc.perform(post("/graphql").contentType(MediaType.APPLICATION_JSON)
+                .content(body).with(postProcessor));
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    private static RequestPostProcessor admin(User user) {
+        return user(user, "ROLE_USER", "ROLE_ADMIN");
+    }
+
+    private static RequestPostProcessor user(User user, String... roles) {
+        List<GrantedAuthority> authorities = Arrays.stream(roles)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+        UserDetailsImpl principal = new UserDetailsImpl(user.getId(), user.getEmail(), "hash", authorities);
+        return authentication(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
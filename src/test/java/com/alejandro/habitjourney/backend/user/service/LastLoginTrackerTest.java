@@ -0,0 +1,138 @@
+package com.alejandro.habitjourney.backend.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del registro diferido de último login sobre una base de datos H2 en memoria.
+ */
+class LastLoginTrackerTest {
+
+    private static final String SCHEMA = "CREATE TABLE users (id BIGINT PRIMARY KEY, "
+            + "last_login_at TIMESTAMP(6), login_count BIGINT DEFAULT 0 NOT NULL)";
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:last-login;DB_CLOSE_DELAY=-1", "sa", "password"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LastLoginTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute(SCHEMA);
+        jdbc.update("INSERT INTO users (id) VALUES (1), (2)");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (tracker != null) {
+            tracker.close();
+        }
+    }
+
+    @Test
+    void givenRepeatedLogins_whenFlush_thenCoalescedIntoOneRowPerUser() {
+        // Arrange
+        tracker = tracker(Duration.ofHours(1), 100);
+        LocalDateTime first = LocalDateTime.of(2026, 1, 1, 10, 0);
+        tracker.recordLogin(1, first.plusMinutes(5));
+        tracker.recordLogin(1, first);
+        tracker.recordLogin(1, first.plusMinutes(2));
+        tracker.recordLogin(2, first);
+
+        // Act
+        tracker.flush();
+
+        // Assert
+        Map<String, Object> user = jdbc.queryForMap("SELECT * FROM users WHERE id = 1");
+        assertEquals(3L, ((Number) user.get("LOGIN_COUNT")).longValue());
+        assertEquals(first.plusMinutes(5), ((Timestamp) user.get("LAST_LOGIN_AT")).toLocalDateTime());
+        assertEquals(1L, jdbc.queryForObject("SELECT login_count FROM users WHERE id = 2", Long.class));
+        assertEquals(0, tracker.pendingUsers());
+        assertEquals(2, meterRegistry.counter("users.last-login.flushed").count());
+    }
+
+    @Test
+    void givenFailingFlush_whenRetried_thenNoLoginLost() {
+        // Arrange
+        tracker = tracker(Duration.ofHours(1), 100);
+        tracker.recordLogin(1, LocalDateTime.now());
+        jdbc.execute("DROP TABLE users");
+
+        // Act
+        tracker.flush();
+        tracker.recordLogin(1, LocalDateTime.now());
+        jdbc.execute(SCHEMA);
+        jdbc.update("INSERT INTO users (id) VALUES (1)");
+        tracker.flush();
+
+        // Assert
+        assertEquals(1, meterRegistry.counter("users.last-login.flush.failures").count());
+        assertEquals(2L, jdbc.queryForObject("SELECT login_count FROM users WHERE id = 1", Long.class));
+    }
+
+    @Test
+    void givenFailingFlushAboveMaxRetained_whenFlush_thenOldestDroppedAndCounted() {
+        // Arrange
+        tracker = tracker(Duration.ofHours(1), 100, 2);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 10, 0);
+        tracker.recordLogin(1, base);
+        tracker.recordLogin(2, base.plusMinutes(2));
+        tracker.recordLogin(3, base.plusMinutes(1));
+        jdbc.execute("DROP TABLE users");
+
+        // Act
+        tracker.flush();
+        jdbc.execute(SCHEMA);
+        jdbc.update("INSERT INTO users (id) VALUES (1), (2), (3)");
+        tracker.flush();
+
+        // Assert - el usuario 1 tenía el login más antiguo
+        assertEquals(1, meterRegistry.counter("users.last-login.dropped").count());
+        assertEquals(0L, jdbc.queryForObject("SELECT login_count FROM users WHERE id = 1", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT login_count FROM users WHERE id = 2", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT login_count FROM users WHERE id = 3", Long.class));
+    }
+
+    @Test
+    void givenMaxPendingReached_whenRecordLogin_thenFlushedEarly() throws Exception {
+        // Arrange
+        tracker = tracker(Duration.ofHours(1), 2);
+
+        // Act
+        tracker.recordLogin(1, LocalDateTime.now());
+        tracker.recordLogin(2, LocalDateTime.now());
+
+        // Assert
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.counter("users.last-login.flushed").count() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2L, jdbc.queryForObject("SELECT SUM(login_count) FROM users", Long.class));
+    }
+
+    private LastLoginTracker tracker(Duration flushInterval, int maxPending) {
+        return tracker(flushInterval, maxPending, new LastLoginProperties().getMaxRetained());
+    }
+
+    private LastLoginTracker tracker(Duration flushInterval, int maxPending, int maxRetained) {
+        LastLoginProperties properties = new LastLoginProperties();
+        properties.setFlushInterval(flushInterval);
+        properties.setMaxPending(maxPending);
+        properties.setMaxRetained(maxRetained);
+        return new LastLoginTracker(List.of(jdbc), properties, meterRegistry);
+    }
+}
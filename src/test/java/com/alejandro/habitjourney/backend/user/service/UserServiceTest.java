@@ -1,7 +1,12 @@
 package com.alejandro.habitjourney.backend.user.service;
 
+import com.alejandro.habitjourney.backend.common.audit.AuditEventType;
+import com.alejandro.habitjourney.backend.common.audit.SecurityAuditEvent;
 import com.alejandro.habitjourney.backend.common.constant.ErrorMessages;
 import com.alejandro.habitjourney.backend.common.exception.UserNotFoundException;
+import com.alejandro.habitjourney.backend.common.exception.InvalidPasswordException;
+import com.alejandro.habitjourney.backend.common.exception.PreconditionFailedException;
+import com.alejandro.habitjourney.backend.common.security.BreachedPasswordIndex;
 import com.alejandro.habitjourney.backend.user.dto.UserDTO;
 import com.alejandro.habitjourney.backend.user.model.User;
 import com.alejandro.habitjourney.backend.user.repository.UserRepository;
@@ -14,6 +19,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -41,6 +47,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BreachedPasswordIndex breachedPasswords;
+
     @InjectMocks
     private UserService userService;
 
@@ -151,6 +163,20 @@ class UserServiceTest {
         verifyNoMoreInteractions(userRepository);
     }
 
+    @Test
+    void givenStaleExpectedVersion_whenUpdateUser_thenThrowsPreconditionFailedException() {
+        // Arrange
+        testUser.setVersion(3L);
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class, () ->
+                userService.updateUser(testUser.getId(), TestDataFactory.createUpdatedUserDTO(), 2L));
+
+        assertEquals(ErrorMessages.MESSAGE_VERSION_MISMATCH, exception.getMessage());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void givenExistingUserId_whenDeleteUser_thenDeletesUser() {
         // Arrange
@@ -163,6 +189,8 @@ class UserServiceTest {
         // Assert
         verify(userRepository).existsById(1L);
         verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SecurityAuditEvent audit
+                && audit.type() == AuditEventType.USER_DELETED && audit.userId() == 1L));
     }
 
     @Test
@@ -195,6 +223,8 @@ class UserServiceTest {
         verify(passwordEncoder).matches(eq("currentPassword"), eq("hashedPassword"));
         verify(passwordEncoder).encode(eq("newValidPassword123!"));
         verify(userRepository).save(any(User.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SecurityAuditEvent audit
+                && audit.type() == AuditEventType.PASSWORD_CHANGED && audit.userId() == 1L));
     }
 
     @Test
@@ -213,4 +243,21 @@ class UserServiceTest {
         verify(passwordEncoder).matches("wrongPassword", testUser.getPasswordHash());
         verify(userRepository, never()).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenBreachedNewPassword_whenChangePassword_thenThrowsInvalidPasswordException() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(eq("currentPassword"), eq("hashedPassword"))).thenReturn(true);
+        when(breachedPasswords.contains("Password123!")).thenReturn(true);
+
+        // Act & Assert
+        InvalidPasswordException exception = assertThrows(InvalidPasswordException.class, () -> {
+            userService.changePassword(1L, "currentPassword", "Password123!");
+        });
+
+        assertEquals(ErrorMessages.VALIDATION_PASSWORD_BREACHED, exception.getMessage());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+}